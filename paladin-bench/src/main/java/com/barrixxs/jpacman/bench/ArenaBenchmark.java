@@ -0,0 +1,60 @@
+package com.barrixxs.jpacman.bench;
+
+import com.barrixxs.jpacman.entities.TileMapMaze;
+import com.barrixxs.jpacman.sim.GameSnapshot;
+import com.barrixxs.jpacman.sim.GhostSpec;
+import com.barrixxs.jpacman.sim.PacManGame;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * PacManGame.update with the maze full of ghosts (GhostSpec.arena).
+ *
+ * reported as time per tick, a 60 Hz game has about 16.6ms for the
+ * whole frame. Pac doesn't last long against hundreds of ghosts, while
+ * he's dying nothing moves, so the game is put back to the start of
+ * the arena instead of measuring those cheap ticks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArenaBenchmark {
+
+  private static final long SEED = 42L;
+
+  @Param({ "64", "512", "2048" })
+  public int ghosts;
+
+  private PacManGame game;
+  private GameSnapshot start;
+
+  @Setup(Level.Trial)
+  public void buildGame() {
+    TileMapMaze maze = new TileMapMaze();
+    game = new PacManGame(maze, SEED, GhostSpec.arena(maze, ghosts));
+    game.setPacDirection(-1f, 0f);
+    while (game.isStarting()) game.update(Scenario.STEP);
+    start = game.snapshot();
+  }
+
+  @Benchmark
+  public PacManGame update() {
+    if (game.pacDying() || game.isGameOver()) game.restore(start);
+    game.update(Scenario.STEP);
+    return game;
+  }
+}
@@ -0,0 +1,52 @@
+package com.barrixxs.jpacman.bench;
+
+import com.barrixxs.jpacman.entities.Ghost;
+import com.barrixxs.jpacman.entities.TileMapMaze;
+import com.barrixxs.jpacman.sim.PacManGame;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Ghost movement.
+ *
+ * Ghost.findNextVelocity is private and only reached through
+ * Ghost.logic, so we measure logic on blinky (already out of the pen).
+ * outside of a game nothing changes his state, so he keeps
+ * wandering the maze in whatever state the scenario left him in.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GhostBenchmark {
+
+  @Param({ "EARLY", "FRIGHT", "LATE" })
+  public Scenario scenario;
+
+  private Ghost blinky;
+
+  @Setup(Level.Iteration)
+  public void buildGame() {
+    PacManGame game = scenario.build(new TileMapMaze());
+    blinky = game.getGhosts()[0];
+  }
+
+  @Benchmark
+  public Ghost logic() {
+    blinky.logic(Scenario.STEP);
+    return blinky;
+  }
+}
@@ -0,0 +1,137 @@
+package com.barrixxs.jpacman.bench;
+
+import com.badlogic.gdx.math.Vector2;
+import com.barrixxs.jpacman.entities.EntityStore;
+import com.barrixxs.jpacman.entities.Ghost;
+import com.barrixxs.jpacman.entities.TileMapMaze;
+import com.barrixxs.jpacman.sim.GameState;
+import com.barrixxs.jpacman.sim.LevelData;
+import com.barrixxs.jpacman.sim.PacManGame;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Maze queries the simulation makes several times per entity per step.
+ *
+ * probe points are every walkable tile plus a quarter tile offset
+ * in each direction, so we hit both the 'free' and 'touching a wall' paths.
+ * a single op walks over all probe points.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MazeBenchmark {
+
+  @Param({ "EARLY", "FRIGHT", "LATE" })
+  public Scenario scenario;
+
+  private TileMapMaze template;
+  private TileMapMaze maze;
+  private Vector2[] probes;
+  private long[] candies; //the scenario's candies, see checkAndEatCandy.
+
+  private GameState gameState;
+  private EntityStore ghostStore;
+  private int firstGhost;
+  private boolean[] angry;
+
+  @Setup(Level.Trial)
+  public void loadMaze() {
+    template = new TileMapMaze();
+    probes = buildProbes(template);
+  }
+
+  @Setup(Level.Iteration)
+  public void buildMaze() {
+    maze = scenario.buildMaze(template);
+    candies = maze.writeCandyState(null);
+    PacManGame game = scenario.build(template);
+    Ghost[] ghosts = game.getGhosts();
+    ghostStore = ghosts[0].getStore();
+    firstGhost = ghosts[0].getId();
+    angry = new boolean[ghosts.length];
+    for (int i = 0; i < ghosts.length; i++) angry[i] = game.getGhostSpec(i).isAngry();
+    gameState = new GameState(new LevelData.LevelBuilder().buildLevelOne());
+    if (scenario == Scenario.FRIGHT) gameState.setFrightState();
+  }
+
+  /**
+   * one pass over the probes, starting from the scenario's candies.
+   *
+   * every invocation puts the candies back first, so each pass eats
+   * the same candies (and more of them in EARLY than in LATE).
+   * restoreCandies on its own is the part of the score that's setup.
+   */
+  @Benchmark
+  public int checkAndEatCandy() {
+    maze.readCandyState(candies);
+    int eaten = 0;
+    for (Vector2 p : probes) if (maze.checkAndEatCandy(p)) eaten++;
+    return eaten;
+  }
+
+  @Benchmark
+  public TileMapMaze restoreCandies() {
+    maze.readCandyState(candies);
+    return maze;
+  }
+
+  @Benchmark
+  public int overlapsWall() {
+    int hits = 0;
+    for (Vector2 p : probes) if (maze.overlapsWall(p)) hits++;
+    return hits;
+  }
+
+  @Benchmark
+  public int getCurrentCandyCount() {
+    return maze.getCurrentCandyCount();
+  }
+
+  /**
+   * the ghost speed rules PacManGame runs every step.
+   */
+  @Benchmark
+  public EntityStore updateGhostSpeeds() {
+    gameState.updateGhostSpeeds(ghostStore, firstGhost, angry, maze);
+    return ghostStore;
+  }
+
+  private static Vector2[] buildProbes(TileMapMaze maze) {
+    float[][] offsets = {
+      { 0f, 0f },
+      { 0.25f, 0f },
+      { -0.25f, 0f },
+      { 0f, 0.25f },
+      { 0f, -0.25f },
+    };
+    int walkable = 0;
+    for (int i = 0; i < 28; i++) {
+      for (int j = 0; j < 31; j++) if (!maze.isWall(i, j)) walkable++;
+    }
+
+    Vector2[] probes = new Vector2[walkable * offsets.length];
+    int n = 0;
+    for (int i = 0; i < 28; i++) {
+      for (int j = 0; j < 31; j++) {
+        if (maze.isWall(i, j)) continue;
+        for (float[] o : offsets) probes[n++] = new Vector2(i + o[0], j + o[1]);
+      }
+    }
+    return probes;
+  }
+}
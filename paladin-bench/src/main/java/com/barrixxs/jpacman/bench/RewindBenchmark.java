@@ -0,0 +1,77 @@
+package com.barrixxs.jpacman.bench;
+
+import com.barrixxs.jpacman.entities.TileMapMaze;
+import com.barrixxs.jpacman.sim.GameSnapshot;
+import com.barrixxs.jpacman.sim.PacManGame;
+import com.barrixxs.jpacman.sim.RewindBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of the rewind buffer.
+ *
+ * update is SimulationBenchmark.update with a buffer attached, compare
+ * the two scores for the recording overhead. Like there, the scenario
+ * is built once per trial and every invocation restores a snapshot of
+ * it, the buffer then starts over from a keyframe as it would after
+ * any jump.
+ *
+ * rewind goes back to the tick right before the newest keyframe, the
+ * worst case (most steps re-run). Rewinding forgets the newer ticks but
+ * keeps the ones up to the target, so rewinding to the same tick again
+ * does exactly the same work every invocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RewindBenchmark {
+
+  private static final int STEPS = 60;
+  private static final int CAPACITY = 60 * 10;
+
+  @Param({ "EARLY", "FRIGHT", "LATE" })
+  public Scenario scenario;
+
+  private PacManGame game;
+  private RewindBuffer rewind;
+  private GameSnapshot start;
+  private long target;
+
+  @Setup(Level.Trial)
+  public void buildGame() {
+    game = scenario.build(new TileMapMaze());
+    rewind = new RewindBuffer(CAPACITY);
+    game.setRewindBuffer(rewind);
+    start = game.snapshot();
+    for (int i = 0; i < STEPS; i++) game.update(Scenario.STEP);
+    target = rewind.getNewestTick() - 1;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(STEPS)
+  public PacManGame update() {
+    game.restore(start);
+    for (int i = 0; i < STEPS; i++) game.update(Scenario.STEP);
+    return game;
+  }
+
+  @Benchmark
+  public boolean rewind() {
+    return rewind.rewindTo(game, target);
+  }
+}
@@ -0,0 +1,85 @@
+package com.barrixxs.jpacman.bench;
+
+import com.badlogic.gdx.math.Vector2;
+import com.barrixxs.jpacman.entities.TileMapMaze;
+import com.barrixxs.jpacman.sim.PacManGame;
+
+/**
+ * Canned game situations the benchmarks run against.
+ *
+ * every scenario starts from a fresh game that is already past
+ * the 'ready' screen with pac heading left. Games are seeded with SEED
+ * so every fork and trial plays the same frightened ghost moves.
+ */
+public enum Scenario {
+  /**
+   * Full board, ghosts just started leaving the pen.
+   */
+  EARLY,
+
+  /**
+   * Pac just ate a super candy, ghosts are frightened.
+   */
+  FRIGHT,
+
+  /**
+   * Only a handful of candies left on the board.
+   */
+  LATE;
+
+  public static final float STEP = 1 / 60f;
+  public static final long SEED = 42L;
+  public static final int LATE_CANDIES_LEFT = 10;
+
+  /**
+   * Builds a game in this scenario on a copy of template.
+   *
+   * @param template maze to copy (so we only read the .tmx file once).
+   * @return game ready to be updated.
+   */
+  public PacManGame build(TileMapMaze template) {
+    TileMapMaze maze = new TileMapMaze(template);
+    if (this == LATE) eatAllBut(maze, LATE_CANDIES_LEFT);
+
+    PacManGame game = new PacManGame(maze, SEED);
+    game.setPacDirection(-1f, 0f);
+    while (game.isStarting()) game.update(STEP);
+
+    if (this == FRIGHT) {
+      Vector2 superCandy = findSuperCandy(maze);
+      game.getPac().setPos(superCandy);
+      game.update(STEP);
+    }
+    return game;
+  }
+
+  /**
+   * Builds the maze that goes along with this scenario.
+   */
+  public TileMapMaze buildMaze(TileMapMaze template) {
+    TileMapMaze maze = new TileMapMaze(template);
+    if (this == LATE) eatAllBut(maze, LATE_CANDIES_LEFT);
+    return maze;
+  }
+
+  private static void eatAllBut(TileMapMaze maze, int left) {
+    Vector2 point = new Vector2();
+    for (int i = 0; i < 28; i++) {
+      for (int j = 0; j < 31; j++) {
+        if (maze.getCurrentCandyCount() <= left) return;
+        point.set(i, j);
+        if (maze.isSuperCandy(i, j)) maze.checkAndEatSuperCandy(point);
+        else if (maze.isCandy(i, j)) maze.checkAndEatCandy(point);
+      }
+    }
+  }
+
+  private static Vector2 findSuperCandy(TileMapMaze maze) {
+    for (int i = 0; i < 28; i++) {
+      for (int j = 0; j < 31; j++) {
+        if (maze.isSuperCandy(i, j)) return new Vector2(i, j);
+      }
+    }
+    throw new IllegalStateException("maze has no super candies");
+  }
+}
@@ -0,0 +1,67 @@
+package com.barrixxs.jpacman.bench;
+
+import com.barrixxs.jpacman.entities.Movement;
+import com.barrixxs.jpacman.entities.TileMapMaze;
+import com.barrixxs.jpacman.sim.GameSnapshot;
+import com.barrixxs.jpacman.sim.PacManGame;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Whole simulation step, PacManGame.update.
+ *
+ * the scenario is built once per trial (reached in the default
+ * movement, then switched to the one measured) and snapshotted. Each
+ * invocation restores that snapshot and plays one second of game time
+ * (60 steps), so the game can't drift into a game over and turn update
+ * into a no-op. score is per step, the restore (a copy of a few
+ * hundred longs, no allocation) is spread over the 60 steps. Nothing
+ * is built between invocations, so -prof gc's alloc.rate.norm is what
+ * update itself allocates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SimulationBenchmark {
+
+  private static final int STEPS = 60;
+
+  @Param({ "EARLY", "FRIGHT", "LATE" })
+  public Scenario scenario;
+
+  @Param({ "FLOAT", "TILE" })
+  public Movement movement;
+
+  private PacManGame game;
+  private GameSnapshot start;
+
+  @Setup(Level.Trial)
+  public void buildGame() {
+    game = scenario.build(new TileMapMaze());
+    game.setMovement(movement);
+    start = game.snapshot();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(STEPS)
+  public PacManGame update() {
+    game.restore(start);
+    for (int i = 0; i < STEPS; i++) game.update(Scenario.STEP);
+    return game;
+  }
+}
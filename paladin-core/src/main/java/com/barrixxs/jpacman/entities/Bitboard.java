@@ -0,0 +1,121 @@
+package com.barrixxs.jpacman.entities;
+
+/**
+ * One bit per maze tile packed into longs.
+ *
+ * tile (x, y) lives at bit index y * width + x, so a whole 28x31 maze
+ * layer is 14 longs. lookups outside the board are always false.
+ */
+public final class Bitboard {
+
+  private final int width;
+  private final int height;
+  private final long[] words;
+
+  public Bitboard(int width, int height) {
+    this.width = width;
+    this.height = height;
+    this.words = new long[(width * height + 63) >>> 6];
+  }
+
+  /**
+   * Constructs a copy of another bitboard.
+   *
+   * @param other bitboard to copy.
+   */
+  public Bitboard(Bitboard other) {
+    this.width = other.width;
+    this.height = other.height;
+    this.words = other.words.clone();
+  }
+
+  /**
+   * @return number of longs backing this board.
+   */
+  public int getWordCount() {
+    return words.length;
+  }
+
+  /**
+   * Copies the raw words out, for snapshots.
+   */
+  public void copyWordsTo(long[] dst, int offset) {
+    System.arraycopy(words, 0, dst, offset, words.length);
+  }
+
+  /**
+   * Overwrites this board with raw words copied out earlier.
+   */
+  public void copyWordsFrom(long[] src, int offset) {
+    System.arraycopy(src, offset, words, 0, words.length);
+  }
+
+  public int getWidth() {
+    return this.width;
+  }
+
+  public int getHeight() {
+    return this.height;
+  }
+
+  public boolean inBounds(int x, int y) {
+    return x >= 0 && y >= 0 && x < width && y < height;
+  }
+
+  /**
+   * @return true if tile (x, y) is set, false if not or out of bounds.
+   */
+  public boolean get(int x, int y) {
+    if (!inBounds(x, y)) return false;
+    int index = y * width + x;
+    return (words[index >>> 6] & (1L << index)) != 0L;
+  }
+
+  public void set(int x, int y) {
+    int index = y * width + x;
+    words[index >>> 6] |= 1L << index;
+  }
+
+  public void set(int x, int y, boolean value) {
+    if (value) set(x, y);
+    else clear(x, y);
+  }
+
+  public void clear(int x, int y) {
+    int index = y * width + x;
+    words[index >>> 6] &= ~(1L << index);
+  }
+
+  /**
+   * Clears tile (x, y) and tells us if it was set.
+   *
+   * @return true if the tile was set before this call.
+   */
+  public boolean testAndClear(int x, int y) {
+    if (!inBounds(x, y)) return false;
+    int index = y * width + x;
+    long mask = 1L << index;
+    long word = words[index >>> 6];
+    words[index >>> 6] = word & ~mask;
+    return (word & mask) != 0L;
+  }
+
+  /**
+   * @return number of set tiles.
+   */
+  public int count() {
+    int count = 0;
+    for (long word : words) count += Long.bitCount(word);
+    return count;
+  }
+
+  /**
+   * Returns a new bitboard with the tiles set in this one
+   * but not in other.
+   */
+  public Bitboard andNot(Bitboard other) {
+    Bitboard result = new Bitboard(this);
+    for (int i = 0; i < words.length; i++) result.words[i] &= ~other.words[i];
+    return result;
+  }
+}
@@ -0,0 +1,65 @@
+package com.barrixxs.jpacman.entities;
+
+/**
+ * The four directions an entity can move in.
+ *
+ * declared in the arcade tie break order (up, left, down, right),
+ * when two moves are equally good the one declared first wins.
+ */
+public enum Direction {
+  UP(0, 1),
+  LEFT(-1, 0),
+  DOWN(0, -1),
+  RIGHT(1, 0);
+
+  /**
+   * All directions in tie break order.
+   * use this instead of values() which copies the array every call.
+   */
+  public static final Direction[] ALL = values();
+
+  /**
+   * unit offset on the x axis.
+   */
+  public final int dx;
+
+  /**
+   * unit offset on the y axis.
+   */
+  public final int dy;
+
+  Direction(int dx, int dy) {
+    this.dx = dx;
+    this.dy = dy;
+  }
+
+  public Direction opposite() {
+    switch (this) {
+      case UP:
+        return DOWN;
+      case LEFT:
+        return RIGHT;
+      case DOWN:
+        return UP;
+      default:
+        return LEFT;
+    }
+  }
+
+  /**
+   * Returns the direction a velocity is heading in.
+   *
+   * velocities are always axis aligned so we only look at the signs.
+   *
+   * @param vx x component of the velocity.
+   * @param vy y component of the velocity.
+   * @return direction of the velocity or null if it isn't moving.
+   */
+  public static Direction of(float vx, float vy) {
+    if (vx > 0f) return RIGHT;
+    if (vx < 0f) return LEFT;
+    if (vy > 0f) return UP;
+    if (vy < 0f) return DOWN;
+    return null;
+  }
+}
@@ -0,0 +1,474 @@
+package com.barrixxs.jpacman.entities;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.barrixxs.jpacman.nav.MazeGraph;
+import com.barrixxs.jpacman.util.StateBuffer;
+import com.barrixxs.jpacman.util.Point;
+import java.util.List;
+
+public abstract class Entity {
+
+  /**
+   * Fixed point sub steps per tile in Movement.TILE, a position is
+   * (tile << TILE_SHIFT) | offset into the tile.
+   */
+  public static final int TILE_SHIFT = 12;
+  public static final int TILE_ONE = 1 << TILE_SHIFT;
+  private static final int TILE_MASK = TILE_ONE - 1;
+  private static final float TILE_SCALE = 1f / TILE_ONE;
+
+  /**
+   * Where this entities position, velocity, speed, state time and
+   * spawn point live, see EntityStore.
+   */
+  protected final EntityStore store;
+
+  /**
+   * This entities slot in the store.
+   */
+  protected final int id;
+
+  /**
+   * How this entity moves, see Movement.
+   */
+  protected Movement movement = Movement.FLOAT;
+
+  /**
+   * Constructs an entity with an x and y value and default speed (1f).
+   *
+   * @param x x position of entity.
+   * @param y y posiition of entity.
+   */
+  public Entity(float x, float y) {
+    this(x, y, 1f);
+  }
+
+  /**
+   * Constructs an entity with an x, y and speed.
+   *
+   * @param x x position of entity.
+   * @param y y position of entity.
+   * @param speed float representing pixel per second speed of entity.
+   */
+  public Entity(float x, float y, float speed) {
+    this(new EntityStore(1), x, y, speed);
+  }
+
+  /**
+   * Constructs an entity in a slot of a shared store.
+   *
+   * @param store store to take a slot in.
+   * @param x x position of entity.
+   * @param y y position of entity.
+   * @param speed float representing pixel per second speed of entity.
+   */
+  public Entity(EntityStore store, float x, float y, float speed) {
+    this.store = store;
+    this.id = store.add(x, y, speed);
+  }
+
+  /**
+   * General logic update for this entity.
+   *
+   * @param delta used for any physics update that are framerate independent.
+   */
+  public abstract void logic(float delta);
+
+  /**
+   * Gets the vector of entity's position.
+   * @return vector2 representing this entities position.
+   */
+  public Vector2 getPos() {
+    return new Vector2(store.x[id], store.y[id]);
+  }
+
+  /**
+   * Gets the x position of entity without copying the vector.
+   */
+  public float getX() {
+    return store.x[id];
+  }
+
+  /**
+   * Gets the y position of entity without copying the vector.
+   */
+  public float getY() {
+    return store.y[id];
+  }
+
+  public EntityStore getStore() {
+    return this.store;
+  }
+
+  /**
+   * @return this entities slot in its store.
+   */
+  public int getId() {
+    return this.id;
+  }
+
+  /**
+   * Copies entity's position into out.
+   *
+   * @param out vector to write the position into.
+   * @return out, for chaining.
+   */
+  public Vector2 writePosTo(Vector2 out) {
+    return out.set(store.x[id], store.y[id]);
+  }
+
+  /**
+   * Writes everything about this entity that changes while playing.
+   *
+   * used by PacManGame.snapshot(), subclasses add their own state after
+   * calling super.
+   *
+   * @param out buffer to write to.
+   */
+  public void saveState(StateBuffer out) {
+    out.putFloat(store.x[id]);
+    out.putFloat(store.y[id]);
+    out.putFloat(store.prevX[id]);
+    out.putFloat(store.prevY[id]);
+    out.putFloat(store.vx[id]);
+    out.putFloat(store.vy[id]);
+    out.putFloat(store.speed[id]);
+    out.putFloat(store.stateTime[id]);
+  }
+
+  /**
+   * Reads back what saveState wrote.
+   *
+   * @param in buffer to read from.
+   */
+  public void loadState(StateBuffer in) {
+    store.x[id] = in.getFloat();
+    store.y[id] = in.getFloat();
+    store.prevX[id] = in.getFloat();
+    store.prevY[id] = in.getFloat();
+    store.vx[id] = in.getFloat();
+    store.vy[id] = in.getFloat();
+    store.speed[id] = in.getFloat();
+    store.stateTime[id] = in.getFloat();
+    store.fx[id] = toFixed(store.x[id]);
+    store.fy[id] = toFixed(store.y[id]);
+  }
+
+  /**
+   * Remembers the current position as the previous position.
+   *
+   * the game does this for all its entities at once at the start of
+   * every simulation step (EntityStore.storePrevPositions).
+   */
+  public void storePrevPos() {
+    store.prevX[id] = store.x[id];
+    store.prevY[id] = store.y[id];
+  }
+
+  /**
+   * Gets the x position at the start of the step.
+   */
+  public float getPrevX() {
+    return store.prevX[id];
+  }
+
+  /**
+   * Gets the y position at the start of the step.
+   */
+  public float getPrevY() {
+    return store.prevY[id];
+  }
+
+  /**
+   * Gets the position blended between the previous and current
+   * simulation step.
+   *
+   * if the entity jumped (tunnel teleport, respawn) we don't blend
+   * across the jump and just return the current position.
+   *
+   * renderers call this for every entity every frame, so it writes
+   * into a vector the caller keeps instead of allocating one.
+   *
+   * @param alpha how far between the previous and current step [0, 1].
+   * @param out vector to write the position to draw this entity at to.
+   * @return out.
+   */
+  public Vector2 getInterpolatedPos(float alpha, Vector2 out) {
+    float x = store.x[id];
+    float y = store.y[id];
+    float px = store.prevX[id];
+    float py = store.prevY[id];
+    if (Vector2.dst2(px, py, x, y) > 1f) return out.set(x, y);
+    float invAlpha = 1f - alpha;
+    return out.set(px * invAlpha + x * alpha, py * invAlpha + y * alpha);
+  }
+
+  /**
+   * Sets the vector of entitys position.
+   *
+   * use carefully!
+   */
+  public void setPos(Vector2 pPos) {
+    setPos(pPos.x, pPos.y);
+  }
+
+  /**
+   * Sets entitys position.
+   *
+   * use carefully!
+   */
+  public void setPos(float x, float y) {
+    store.x[id] = x;
+    store.y[id] = y;
+    store.fx[id] = toFixed(x);
+    store.fy[id] = toFixed(y);
+  }
+
+  /**
+   * Gets the vector of entity's velocity.
+   * @return vector2 representing this entities position.
+   */
+  public Vector2 getVel() {
+    return new Vector2(store.vx[id], store.vy[id]);
+  }
+
+  /**
+   * Sets the vector of entitys velocity.
+   *
+   * use carefully!
+   */
+  public void setVel(Vector2 pVel) {
+    setVel(pVel.x, pVel.y);
+  }
+
+  /**
+   * Sets entitys velocity.
+   *
+   * use carefully!
+   */
+  public void setVel(float x, float y) {
+    store.vx[id] = x;
+    store.vy[id] = y;
+  }
+
+  /**
+   * Gets the x velocity of entity without copying the vector.
+   */
+  public float getVelX() {
+    return store.vx[id];
+  }
+
+  /**
+   * Gets the y velocity of entity without copying the vector.
+   */
+  public float getVelY() {
+    return store.vy[id];
+  }
+
+  /**
+   * Copies entity's velocity into out.
+   *
+   * @param out vector to write the velocity into.
+   * @return out, for chaining.
+   */
+  public Vector2 writeVelTo(Vector2 out) {
+    return out.set(store.vx[id], store.vy[id]);
+  }
+
+  /**
+   * Gets the spawn point of entity.
+   * @return vector2 representing this entities spawn position.
+   */
+  public Vector2 getSpawn() {
+    return new Vector2(store.spawnX[id], store.spawnY[id]);
+  }
+
+  /**
+   * Sets the spawn point of entity.
+   * @param pos vector2 representing entitys new spawn point.
+   */
+  public void setSpawn(Vector2 pos) {
+    store.spawnX[id] = pos.x;
+    store.spawnY[id] = pos.y;
+  }
+
+  /**
+   * Copies entity's spawn point into out.
+   *
+   * @param out vector to write the spawn point into.
+   * @return out, for chaining.
+   */
+  public Vector2 writeSpawnTo(Vector2 out) {
+    return out.set(store.spawnX[id], store.spawnY[id]);
+  }
+
+  /**
+   * Gets the current speed of entity.
+   * speed is represented in pixels per second.
+   *
+   * @return float, entity's speed in pixels per second.
+   */
+  public float getSpeed() {
+    return store.speed[id];
+  }
+
+  /**
+   * Sets a new speed for entity.
+   * speed is represented in pixels per second.
+   * @param pSpeed representing new speed for entity.
+   */
+  public void setSpeed(float pSpeed) {
+    store.speed[id] = pSpeed;
+  }
+
+  /**
+   * Gets the state time for entity.
+   * @return float, time entity has spent in it's current state.
+   */
+  public float getStateTime() {
+    return store.stateTime[id];
+  }
+
+  /**
+   * Set the state time for entity.
+   * use this carefully!
+   * only made it to zero out state times.
+   * @param time new state time for entity.
+   */
+  public void setStateTime(float time) {
+    store.stateTime[id] = time;
+  }
+
+  /**
+   * Switches how this entity moves.
+   *
+   * switching to TILE puts the entity on the nearest tile centre.
+   */
+  public void setMovement(Movement movement) {
+    this.movement = movement;
+    if (movement == Movement.TILE) {
+      snapPos();
+      setPos(store.x[id], store.y[id]);
+    }
+  }
+
+  public Movement getMovement() {
+    return this.movement;
+  }
+
+  /**
+   * Converts a position to fixed point (exact for positions that came
+   * out of Movement.TILE).
+   */
+  static int toFixed(float v) {
+    return Math.round(v * TILE_ONE);
+  }
+
+  /**
+   * Moves along the tile grid for one step (Movement.TILE).
+   *
+   * the entity keeps going in the direction of its velocity, each
+   * time it lands exactly on a tile centre turnAt picks where to go
+   * next. A step that passes more than one centre turns at every one
+   * of them. Only integer math, the float position and velocity are
+   * written from the result.
+   *
+   * @param delta time the step covers.
+   */
+  protected void moveOnTiles(float delta) {
+    float speed = store.speed[id];
+    int remaining = Math.round(speed * delta * TILE_ONE);
+    int fx = store.fx[id];
+    int fy = store.fy[id];
+    Direction dir = Direction.of(store.vx[id], store.vy[id]);
+
+    if (dir == null && ((fx | fy) & TILE_MASK) != 0) {
+      //standing between tiles (shouldn't happen), back onto the grid.
+      fx = (fx + TILE_ONE / 2) & ~TILE_MASK;
+      fy = (fy + TILE_ONE / 2) & ~TILE_MASK;
+    }
+
+    while (remaining > 0) {
+      if (((fx | fy) & TILE_MASK) == 0) {
+        dir = turnAt(fx >> TILE_SHIFT, fy >> TILE_SHIFT, dir);
+        if (dir == null) break;
+      }
+      //distance to the next centre along dir.
+      int offset = (dir.dx != 0 ? fx : fy) & TILE_MASK;
+      int toCentre = dir.dx + dir.dy > 0
+        ? TILE_ONE - offset
+        : (offset == 0 ? TILE_ONE : offset);
+      int move = Math.min(remaining, toCentre);
+      fx += dir.dx * move;
+      fy += dir.dy * move;
+      remaining -= move;
+    }
+
+    store.fx[id] = fx;
+    store.fy[id] = fy;
+    store.x[id] = fx * TILE_SCALE;
+    store.y[id] = fy * TILE_SCALE;
+    if (dir == null) setVel(0f, 0f);
+    else setVel(dir.dx * speed, dir.dy * speed);
+  }
+
+  /**
+   * Picks the direction to leave a tile centre in (Movement.TILE).
+   *
+   * @param tileX x of the tile the entity is centred on.
+   * @param tileY y of the tile the entity is centred on.
+   * @param current direction it arrived in, null if it was standing.
+   * @return direction to move in, null to stop here.
+   */
+  protected Direction turnAt(int tileX, int tileY, Direction current) {
+    return current;
+  }
+
+  /**
+   * Returns true if a tile can be walked onto in a graph, tiles off
+   * the maze are open (only reachable through the tunnels).
+   */
+  protected static boolean isOpen(MazeGraph graph, int x, int y) {
+    if (x < 0 || y < 0 || x >= graph.getWidth() || y >= graph.getHeight()) {
+      return true;
+    }
+    return graph.isWalkable(x, y);
+  }
+
+  /**
+   * Returns the vector rounded to the nearest int.
+   *
+   * uses Math.round()
+   * position's x and y are rounded to nearest integer.
+   *
+   * @param posisiton the vector you want to round.
+   * @return Vector2 with rounded x and y values.
+   */
+  public static Vector2 snap(Vector2 position) {
+    Vector2 pos = position.cpy();
+    pos.x = Math.round(pos.x);
+    pos.y = Math.round(pos.y);
+    return pos;
+  }
+
+  /**
+   * Rounds this entities position to the nearest int in place.
+   *
+   * same as setPos(snap(getPos())) without the copies.
+   */
+  protected void snapPos() {
+    store.x[id] = Math.round(store.x[id]);
+    store.y[id] = Math.round(store.y[id]);
+  }
+
+  /*MAKE STATIC*/
+  protected boolean canSnap(float threshold) {
+    float x = store.x[id];
+    float y = store.y[id];
+    return (
+      (Math.abs(x - Math.round(x)) < threshold) &&
+      (Math.abs(y - Math.round(y)) < threshold)
+    );
+  }
+}
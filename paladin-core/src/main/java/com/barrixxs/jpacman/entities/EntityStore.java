@@ -0,0 +1,169 @@
+package com.barrixxs.jpacman.entities;
+
+/**
+ * Flat storage for the moving parts of many entities.
+ *
+ * every entity is a slot in a set of parallel arrays (structure of
+ * arrays) instead of a handful of Vector2 objects each, Entity and
+ * its subclasses are views that read and write their slot. Work
+ * that touches every entity the same way (remembering the previous
+ * position, bucketing by tile, ...) runs as a plain loop over the
+ * arrays without going through the entity objects at all.
+ *
+ * a game puts all of its entities in one store, an entity created
+ * on its own gets a store with a single slot.
+ */
+public final class EntityStore {
+
+  //what the state slot holds is up to the entity (ghosts keep their
+  //GhostState ordinal there).
+  final float[] x;
+  final float[] y;
+  final float[] prevX;
+  final float[] prevY;
+  final float[] vx;
+  final float[] vy;
+  final float[] speed;
+  final float[] stateTime;
+  final float[] spawnX;
+  final float[] spawnY;
+  //fixed point positions, only kept up to date in Movement.TILE.
+  final int[] fx;
+  final int[] fy;
+  final byte[] state;
+  final int[] tile;
+
+  private int size;
+
+  /**
+   * @param capacity most entities the store will hold.
+   */
+  public EntityStore(int capacity) {
+    if (capacity < 1) throw new IllegalArgumentException(
+      "capacity must be at least 1: " + capacity
+    );
+    x = new float[capacity];
+    y = new float[capacity];
+    prevX = new float[capacity];
+    prevY = new float[capacity];
+    vx = new float[capacity];
+    vy = new float[capacity];
+    speed = new float[capacity];
+    stateTime = new float[capacity];
+    spawnX = new float[capacity];
+    spawnY = new float[capacity];
+    fx = new int[capacity];
+    fy = new int[capacity];
+    state = new byte[capacity];
+    tile = new int[capacity];
+  }
+
+  /**
+   * Takes the next free slot.
+   *
+   * @return index of the slot.
+   */
+  int add(float px, float py, float pSpeed) {
+    if (size == x.length) throw new IllegalStateException(
+      "entity store is full (" + x.length + ")"
+    );
+    int id = size++;
+    x[id] = px;
+    y[id] = py;
+    prevX[id] = px;
+    prevY[id] = py;
+    spawnX[id] = px;
+    spawnY[id] = py;
+    fx[id] = Entity.toFixed(px);
+    fy[id] = Entity.toFixed(py);
+    speed[id] = pSpeed;
+    return id;
+  }
+
+  /**
+   * Remembers every entities position as its previous position.
+   */
+  public void storePrevPositions() {
+    System.arraycopy(x, 0, prevX, 0, size);
+    System.arraycopy(y, 0, prevY, 0, size);
+  }
+
+  /**
+   * Works out which tile every entity is on, see getTile.
+   *
+   * tiles are y * width + x of the tile the position is in (rounded
+   * down), positions outside the maze count as the nearest edge tile.
+   *
+   * @param width width of the maze in tiles.
+   * @param height height of the maze in tiles.
+   */
+  public void updateTiles(int width, int height) {
+    for (int i = 0; i < size; i++) {
+      int tx = (int) Math.floor(x[i]);
+      int ty = (int) Math.floor(y[i]);
+      tx = tx < 0 ? 0 : Math.min(tx, width - 1);
+      ty = ty < 0 ? 0 : Math.min(ty, height - 1);
+      tile[i] = ty * width + tx;
+    }
+  }
+
+  /**
+   * @return longest x distance any entity in [from, to) moved this step.
+   */
+  public float maxStepX(int from, int to) {
+    float max = 0f;
+    for (int i = from; i < to; i++) max = Math.max(max, Math.abs(x[i] - prevX[i]));
+    return max;
+  }
+
+  /**
+   * @return longest y distance any entity in [from, to) moved this step.
+   */
+  public float maxStepY(int from, int to) {
+    float max = 0f;
+    for (int i = from; i < to; i++) max = Math.max(max, Math.abs(y[i] - prevY[i]));
+    return max;
+  }
+
+  public float getX(int id) {
+    return x[id];
+  }
+
+  public float getY(int id) {
+    return y[id];
+  }
+
+  public float getPrevX(int id) {
+    return prevX[id];
+  }
+
+  public float getPrevY(int id) {
+    return prevY[id];
+  }
+
+  public byte getState(int id) {
+    return state[id];
+  }
+
+  /**
+   * @return tile from the last updateTiles.
+   */
+  public int getTile(int id) {
+    return tile[id];
+  }
+
+  public void setSpeed(int id, float pSpeed) {
+    speed[id] = pSpeed;
+  }
+
+  /**
+   * @return number of slots in use.
+   */
+  public int size() {
+    return this.size;
+  }
+
+  public int getCapacity() {
+    return x.length;
+  }
+}
@@ -0,0 +1,594 @@
+package com.barrixxs.jpacman.entities;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.barrixxs.jpacman.jfr.GhostStateEvent;
+import com.barrixxs.jpacman.nav.MazeGraph;
+import com.barrixxs.jpacman.util.GameRandom;
+import com.barrixxs.jpacman.util.Point;
+import com.barrixxs.jpacman.util.StateBuffer;
+
+public class Ghost extends Entity {
+
+  public enum GhostState {
+    ENTERINGPEN,
+    INPEN,
+    LEAVINGPEN,
+    SCATTER,
+    CHASE,
+    FRIGHT,
+    ATE,
+  }
+
+  /**
+   * How a ghost picks its chase target, named after the arcade
+   * nicknames (blinky, pinky, inky and clyde).
+   */
+  public enum Personality {
+    SHADOW, //straight at pac.
+    SPEEDY, //ahead of pac.
+    BASHFUL, //flanks pac from its partner.
+    POKEY, //chases until close, then heads home.
+  }
+
+  private static final GhostState[] GHOST_STATES = GhostState.values();
+
+  /**
+   * Tile just outside the gate, where eaten ghosts head to and ghosts
+   * leaving the pen come out.
+   */
+  public static final float ATE_TARGET_X = 13f;
+  public static final float ATE_TARGET_Y = 30f - (11f);
+
+  /**
+   * Per ghost copy of the ate target, a shared static vector would be
+   * mutable state shared between every game running in the jvm.
+   */
+  private final Vector2 ateTarget;
+
+  /**
+   * Current target tile.
+   */
+  private Vector2 target;
+
+  /**
+   * Target used when in chase state.
+   */
+  private Vector2 chaseTarget;
+
+  private final Vector2 enteringPenTarget;
+
+  private final Vector2 scatterTarget;
+
+  /**
+   * State ghost should be in at start of each level.
+   */
+  private GhostState startState;
+
+  /**
+   * State of the ghosts in game.
+   *
+   * Since we sometimes cannot transition to
+   * scatter or chase we always keep the scatter
+   * or chase reference here to refer to it.
+   */
+  private GhostState gameState; //always scatter or chase.
+
+  private Personality personality;
+
+  private Maze maze;
+
+  /**
+   * Optional navigation graph, lets us skip deciding in corridors.
+   */
+  private MazeGraph graph;
+
+  /**
+   * Same graph with the gate open, for Movement.TILE while going
+   * through the gate (built on first use if not handed one).
+   */
+  private MazeGraph gateGraph;
+
+  /**
+   * Where the random fright targets come from, the game hands every
+   * ghost a split of its own generator so runs can be reproduced.
+   */
+  private GameRandom random;
+
+  /**
+   * Constructs a ghost entity with an x, y, speed,
+   * initial state, the initial game state, a final scatter and
+   * entering pen target.
+   *
+   * if game state provided isn't scatter or chase we choose SCATTER
+   *
+   */
+  public Ghost(
+    float x,
+    float y,
+    Maze maze,
+    GhostState initialState,
+    GhostState initialGameState,
+    Vector2 scatterTarget,
+    Vector2 enteringPenTarget
+  ) {
+    this(
+      new EntityStore(1),
+      x,
+      y,
+      maze,
+      initialState,
+      initialGameState,
+      scatterTarget,
+      enteringPenTarget
+    );
+  }
+
+  /**
+   * Constructs a ghost in a slot of a shared store, the store holds
+   * its position, velocity and state.
+   */
+  public Ghost(
+    EntityStore store,
+    float x,
+    float y,
+    Maze maze,
+    GhostState initialState,
+    GhostState initialGameState,
+    Vector2 scatterTarget,
+    Vector2 enteringPenTarget
+  ) {
+    super(store, x, y, 1f);
+    //these fields should be updated.
+    target = new Vector2(0f, 0f); //this class chooses a target based on state.
+    chaseTarget = new Vector2(0f, 0f); //should be set by game.
+    ateTarget = new Vector2(ATE_TARGET_X, ATE_TARGET_Y);
+    random = new GameRandom(0L);
+    personality = Personality.SHADOW;
+
+    store.state[id] = (byte) initialState.ordinal();
+    this.startState = initialState;
+    this.gameState = initialGameState;
+    this.scatterTarget = scatterTarget;
+    this.enteringPenTarget = enteringPenTarget;
+    this.maze = maze;
+  }
+
+  /**
+   * Sets the navigation graph of the maze this ghost is in.
+   *
+   * with a graph the ghost only picks a new direction where it could
+   * actually turn, in straight corridors it just keeps going.
+   *
+   * @param graph graph built from this ghosts maze, or null to always decide.
+   */
+  public void setGraph(MazeGraph graph) {
+    this.graph = graph;
+  }
+
+  /**
+   * Sets the graph used while going through the gate in Movement.TILE.
+   *
+   * @param gateGraph graph built from this ghosts maze with the gate open.
+   */
+  public void setGateGraph(MazeGraph gateGraph) {
+    this.gateGraph = gateGraph;
+  }
+
+  /**
+   * Sets the generator used for the random fright targets.
+   *
+   * @param random generator only this ghost uses (not thread safe).
+   */
+  public void setRandom(GameRandom random) {
+    this.random = random;
+  }
+
+  /**
+   * Sets how the game picks this ghosts chase target.
+   */
+  public void setPersonality(Personality personality) {
+    this.personality = personality;
+  }
+
+  public Personality getPersonality() {
+    return this.personality;
+  }
+
+  @Override
+  public void saveState(StateBuffer out) {
+    super.saveState(out);
+    out.putFloat(target.x);
+    out.putFloat(target.y);
+    out.putFloat(chaseTarget.x);
+    out.putFloat(chaseTarget.y);
+    out.putInt(store.state[id]);
+    out.putInt(gameState.ordinal());
+    out.putLong(random.getState());
+  }
+
+  @Override
+  public void loadState(StateBuffer in) {
+    super.loadState(in);
+    target.set(in.getFloat(), in.getFloat());
+    chaseTarget.set(in.getFloat(), in.getFloat());
+    store.state[id] = (byte) in.getInt();
+    gameState = GHOST_STATES[in.getInt()];
+    random.setState(in.getLong());
+  }
+
+  public void setChaseTarget(Vector2 target) {
+    this.chaseTarget.set(target);
+  }
+
+  /**
+   * General logic update for a ghost.
+   *
+   * - update the ghosts target.
+   * - move towards target.
+   * - update the ghosts state.
+   *
+   * @param delta used for any physics update that are framerate independent.
+   */
+  @Override
+  public void logic(float delta) {
+    updateTarget();
+    if (movement == Movement.TILE) {
+      moveOnTiles(delta);
+      store.stateTime[id] += delta;
+      updateState();
+      return;
+    }
+
+    float speed = store.speed[id];
+
+    //determine threshold based on speed.
+    float threshold = 0.05f;
+    if (speed >= (7.5f * 1.25f)) threshold = 0.1f;
+
+    if (canSnap(threshold)) snapPos();
+
+    boolean ignoreGate =
+      (state() == GhostState.LEAVINGPEN || state() == GhostState.ENTERINGPEN);
+    Direction current = Direction.of(store.vx[id], store.vy[id]);
+    boolean inCorridor =
+      graph != null &&
+      !ignoreGate &&
+      current != null &&
+      graph.isStraight(Math.round(store.x[id]), Math.round(store.y[id]), current);
+
+    //in a corridor the only legal move is forward.
+    if (inCorridor) setVel(current.dx * speed, current.dy * speed);
+    else findNextVelocity(delta);
+
+    //if move is invalid we snap back.
+    store.x[id] += store.vx[id] * delta;
+    store.y[id] += store.vy[id] * delta;
+    if (maze.overlapsWall(store.x[id], store.y[id], ignoreGate)) snapPos();
+
+    store.stateTime[id] += delta;
+    updateState();
+  }
+
+  private void updateTarget() {
+    switch (state()) {
+      case ENTERINGPEN:
+        target.set(enteringPenTarget);
+        break;
+      case INPEN:
+        //game is responsible for moving ghost from
+        //in pen to leaving pen.
+        break;
+      case LEAVINGPEN:
+        target.set(ateTarget);
+        break;
+      case SCATTER:
+        target.set(scatterTarget);
+        break;
+      case CHASE:
+        //game is responsible for updating the
+        //chase target.
+        target.set(chaseTarget);
+        break;
+      case FRIGHT:
+        //the random fright target is a lil nasty
+        //but it works.
+        float randX = random.nextFloat() * 27 + 1;
+        float randY = random.nextFloat() * 30 + 1;
+        target.set(randX, randY);
+        break;
+      case ATE:
+        target.set(ateTarget);
+        break;
+    }
+  }
+
+  private void updateState() {
+    boolean reachedTarget = reachedTarget();
+    switch (state()) {
+      case ENTERINGPEN:
+        if (reachedTarget) {
+          setState(GhostState.INPEN);
+          store.stateTime[id] = 0f;
+        }
+        break;
+      case INPEN:
+        //game is responsible for moving ghost from
+        //in pen to leaving pen.
+        break;
+      case LEAVINGPEN:
+        if (reachedTarget) {
+          setPos(ateTarget);
+          setState(gameState);
+          store.stateTime[id] = 0f;
+        }
+        break;
+      case SCATTER:
+        if (gameState != GhostState.SCATTER) {
+          reverse();
+          setState(gameState);
+          store.stateTime[id] = 0f;
+        }
+        break;
+      case CHASE:
+        if (gameState != GhostState.CHASE) {
+          reverse();
+          setState(gameState);
+          store.stateTime[id] = 0f;
+        }
+        break;
+      case FRIGHT:
+        //game is responsible for setting and unsetting
+        //the frightened mode on ghosts.
+        break;
+      case ATE:
+        if (reachedTarget) {
+          setPos(ateTarget);
+          setState(GhostState.ENTERINGPEN);
+          store.stateTime[id] = 0f;
+        }
+        break;
+    }
+  }
+
+  private boolean reachedTarget() {
+    return Vector2.dst(store.x[id], store.y[id], target.x, target.y) < 1f;
+  }
+
+  /**
+   * Will first calculate the next valid moves and then determine
+   * which one is the closest to our target and sets the velocity
+   * that will bring us there (or keeps the old velocity).
+   *
+   * ties are broken in Direction order (up, left, down, right).
+   * this runs every step for every ghost so it must not allocate.
+   *
+   * @param delta used to scale the movement applied to our position.
+   */
+  private void findNextVelocity(float delta) {
+    boolean ignoreGate =
+      (state() == GhostState.LEAVINGPEN || state() == GhostState.ENTERINGPEN);
+    Direction current = Direction.of(store.vx[id], store.vy[id]);
+    Direction backwards = current == null ? null : current.opposite();
+    float speed = store.speed[id];
+    float step = speed * delta;
+
+    Direction best = null;
+    float shortest = Float.MAX_VALUE;
+    for (Direction dir : Direction.ALL) {
+      if (dir == backwards) continue;
+
+      float nx = store.x[id] + dir.dx * step;
+      float ny = store.y[id] + dir.dy * step;
+      if (maze.overlapsWall(nx, ny, ignoreGate)) continue;
+
+      float dist = Vector2.dst2(nx, ny, target.x, target.y);
+      if (dist < shortest) {
+        shortest = dist;
+        best = dir;
+      }
+    }
+
+    if (best != null) setVel(best.dx * speed, best.dy * speed);
+  }
+
+  /**
+   * State of ghost, kept in the store.
+   */
+  private GhostState state() {
+    return GHOST_STATES[store.state[id]];
+  }
+
+  private void setState(GhostState state) {
+    GhostState from = state();
+    store.state[id] = (byte) state.ordinal();
+    if (from != state) {
+      GhostStateEvent.emit(id, personality.name(), from.name(), state.name());
+    }
+  }
+
+  /**
+   * Turns the ghost around.
+   */
+  private void reverse() {
+    store.vx[id] *= -1;
+    store.vy[id] *= -1;
+  }
+
+  /**
+   * Picks the neighbouring tile closest to the target (Movement.TILE).
+   *
+   * same rules as findNextVelocity: no turning back, ties broken in
+   * Direction order. Only in a dead end (the pen) does it turn back.
+   */
+  @Override
+  protected Direction turnAt(int tileX, int tileY, Direction current) {
+    boolean ignoreGate =
+      (state() == GhostState.LEAVINGPEN || state() == GhostState.ENTERINGPEN);
+    MazeGraph tiles;
+    if (ignoreGate) {
+      if (gateGraph == null) gateGraph = new MazeGraph(maze, true);
+      tiles = gateGraph;
+    } else {
+      if (graph == null) graph = new MazeGraph(maze);
+      tiles = graph;
+    }
+    Direction backwards = current == null ? null : current.opposite();
+
+    Direction best = null;
+    float shortest = Float.MAX_VALUE;
+    for (Direction dir : Direction.ALL) {
+      if (dir == backwards) continue;
+      int nx = tileX + dir.dx;
+      int ny = tileY + dir.dy;
+      if (!isOpen(tiles, nx, ny)) continue;
+
+      float dist = Vector2.dst2(nx, ny, target.x, target.y);
+      if (dist < shortest) {
+        shortest = dist;
+        best = dir;
+      }
+    }
+    if (best == null && backwards != null) {
+      if (isOpen(tiles, tileX + backwards.dx, tileY + backwards.dy)) return backwards;
+    }
+    return best;
+  }
+
+  /**
+   * Sets the ghost state to frightened if passed
+   * true and ghost can be frightened.
+   *
+   * we also need to use the function for turning off frightened
+   * mode, since the ghosts cannot tell on their own when they
+   * should or shouldn't be frightened.
+   *
+   * @param fright true if you are attempting to set a frightened state.
+   */
+  public void setFrightened(boolean fright) {
+    if (!fright && isFrightened()) {
+      setState(gameState);
+      store.stateTime[id] = 0f;
+      return;
+    }
+
+    boolean canBeFrightened =
+      (state() == GhostState.SCATTER || state() == GhostState.CHASE) &&
+      state() != GhostState.FRIGHT;
+
+    if (fright && canBeFrightened) {
+      reverse();
+      setState(GhostState.FRIGHT);
+      store.stateTime[id] = 0f;
+    }
+  }
+
+  /**
+   * Sets the ghost state to ate if possible.
+   */
+  public void setAte() {
+    if (isFrightened()) {
+      setState(GhostState.ATE);
+      store.stateTime[id] = 0f;
+    }
+  }
+
+  /**
+   * Sets the ghost state to leaving pen if possible.
+   */
+  public void setLeavingPen() {
+    if (inPen()) {
+      setState(GhostState.LEAVINGPEN);
+      store.stateTime[id] = 0f;
+    }
+  }
+
+  /**
+   * Ghost sets up for a start of a level.
+   */
+  public void setStart() {
+    setState(startState);
+    store.stateTime[id] = 0f;
+    setPos(store.spawnX[id], store.spawnY[id]);
+    updateTarget();
+  }
+
+  /**
+   * Returns true if ghost state is INPEN
+   *
+   * @return true if this.state == GhostState.INPEN
+   */
+  public boolean inPen() {
+    return state() == GhostState.INPEN;
+  }
+
+  /**
+   * Returns true if ghost state is FRIGHT
+   *
+   * @return true if this.state == GhostState.FRIGHT
+   */
+  public boolean isFrightened() {
+    return state() == GhostState.FRIGHT;
+  }
+
+  /**
+   * Returns true if ghost state is LEAVINGPEN
+   * @return true if this.state == GhostState.LEAVINGPEN
+   */
+  public boolean isLeavingPen() {
+    return state() == GhostState.LEAVINGPEN;
+  }
+
+  /**
+   * Returns true if ghost state is ATE
+   *
+   * @return true if this.state == GhostState.ATE
+   */
+  public boolean isAte() {
+    return state() == GhostState.ATE;
+  }
+
+  /**
+   * Returns the vector 2 representing this ghosts current
+   * target.
+   *
+   * @return vector2 representing current target.
+   */
+  public Vector2 getTarget() {
+    return this.target.cpy();
+  }
+
+  public Vector2 getScatterTarget() {
+    return this.scatterTarget.cpy();
+  }
+
+  /**
+   * Copies this ghosts scatter target into out.
+   *
+   * @param out vector to write the scatter target into.
+   * @return out, for chaining.
+   */
+  public Vector2 writeScatterTargetTo(Vector2 out) {
+    return out.set(this.scatterTarget);
+  }
+
+  /**
+   * Sets the game state that the ghosts use as a reference.
+   *
+   * the game state should only ever be scatter or chase.
+   * the ghost takes extra precaution to make sure it's only
+   * set as such.
+   *
+   * @param pState the scatter or chase state you want the ghosts to be in.
+   */
+  public void setGameState(GhostState pState) {
+    if (pState == GhostState.SCATTER || pState == GhostState.CHASE) {
+      gameState = pState;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "Ghost Target: " + target + " Ghost State: " + state();
+  }
+}
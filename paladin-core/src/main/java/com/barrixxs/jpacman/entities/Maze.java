@@ -0,0 +1,108 @@
+package com.barrixxs.jpacman.entities;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+
+public interface Maze {
+
+  /**
+   * Callback for walking over the candies left in a maze.
+   */
+  interface CandyVisitor {
+    void visit(int x, int y, boolean superCandy);
+  }
+
+  default boolean overlapsWall(Vector2 point) {
+    return overlapsWall(point, false);
+  }
+
+  //for COLLISIONS
+  default boolean overlapsWall(Vector2 point, boolean ignoreGate) {
+    return overlapsWall(point.x, point.y, ignoreGate);
+  }
+
+  boolean overlapsWall(float x, float y, boolean ignoreGate);
+  default boolean checkAndEatCandy(Vector2 point) {
+    return checkAndEatCandy(point.x, point.y);
+  }
+
+  default boolean checkAndEatSuperCandy(Vector2 point) {
+    return checkAndEatSuperCandy(point.x, point.y);
+  }
+
+  default boolean inTunnel(Vector2 point) {
+    return inTunnel(point.x, point.y);
+  }
+
+  boolean checkAndEatCandy(float x, float y);
+  boolean checkAndEatSuperCandy(float x, float y);
+
+  /**
+   * Eats every candy an entity touched moving from (x0, y0) to (x1, y1).
+   *
+   * the whole path is checked, not just where it ended up, so a big
+   * step can't skip over candies.
+   *
+   * @return number of candies eaten.
+   */
+  int eatCandiesAlong(float x0, float y0, float x1, float y1);
+
+  /**
+   * Same as eatCandiesAlong, for super candies.
+   */
+  int eatSuperCandiesAlong(float x0, float y0, float x1, float y1);
+  boolean inTunnel(float x, float y);
+
+  //for use outside of COLLISIONS
+  boolean isWall(int x, int y);
+  boolean isCandy(int x, int y);
+  boolean isSuperCandy(int x, int y);
+
+  //regular and super pelets.
+  int getCurrentCandyCount();
+  int getInitialCandyCount();
+
+  /**
+   * Calls visitor once for every candy (regular and super) left.
+   *
+   * order is unspecified. costs the number of candies left, not
+   * the size of the maze.
+   */
+  void forEachCandy(CandyVisitor visitor);
+
+  /**
+   * Copies which candies are left into out (for game snapshots).
+   *
+   * @param out array to write into, reallocated if null or too small.
+   * @return out, or the new array.
+   */
+  long[] writeCandyState(long[] out);
+
+  /**
+   * Puts the candies back the way writeCandyState saw them.
+   *
+   * @param in array written by writeCandyState on a maze of the same layout.
+   */
+  void readCandyState(long[] in);
+
+  /**
+   * Finds the candy (regular or super) closest to a point.
+   *
+   * @param x x position to measure from.
+   * @param y y position to measure from.
+   * @param out set to the tile of the nearest candy.
+   * @return false if there are no candies left (out is untouched).
+   */
+  boolean nearestCandy(float x, float y, Vector2 out);
+
+  //size of the maze in tiles.
+  int getWidth();
+  int getHeight();
+
+  default float getUnitScale() {
+    return 1f;
+  }
+
+  Rectangle getLeftTunnel();
+  Rectangle getRightTunnel();
+}
@@ -0,0 +1,20 @@
+package com.barrixxs.jpacman.entities;
+
+/**
+ * How entities move through the maze.
+ */
+public enum Movement {
+  /**
+   * Float positions moved by velocity * delta, pulled back onto the
+   * grid by snapping near tile centres and when a move hits a wall.
+   */
+  FLOAT,
+
+  /**
+   * Fixed point positions (whole tiles plus Entity.TILE_ONE sub steps)
+   * moved along the tile graph. Turns only happen exactly on tile
+   * centres and a move never ends up inside a wall, so nothing has to
+   * be rounded or snapped back.
+   */
+  TILE,
+}
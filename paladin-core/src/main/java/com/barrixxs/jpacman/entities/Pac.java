@@ -0,0 +1,158 @@
+package com.barrixxs.jpacman.entities;
+
+import com.badlogic.gdx.math.Vector2;
+import com.barrixxs.jpacman.nav.MazeGraph;
+import com.barrixxs.jpacman.util.StateBuffer;
+
+public class Pac extends Entity {
+
+  /**
+   * Vector used to track the next direction of pac.
+   */
+  private Vector2 nextPos;
+
+  private Maze maze;
+
+  /**
+   * Walkable tiles, used by Movement.TILE (built on first use if
+   * nobody hands us one).
+   */
+  private MazeGraph graph;
+
+  /**
+   * Constructs a pac entity with an x, y, speed,
+   * and it's sprite sheets.
+   */
+  public Pac(float x, float y, Maze maze) {
+    this(new EntityStore(1), x, y, maze);
+  }
+
+  /**
+   * Constructs a pac in a slot of a shared store.
+   */
+  public Pac(EntityStore store, float x, float y, Maze maze) {
+    super(store, x, y, 1f);
+    this.nextPos = new Vector2(0f, 0f);
+    this.maze = maze;
+  }
+
+  /**
+   * Sets the direction pac wants to move in next.
+   *
+   * pac doesn't read any input device himself, whoever drives the
+   * game (keyboard, scripts, ...) tells him where to go.
+   * The position doesn't update here since we need to calculate
+   * if it's a valid move.
+   *
+   * @param x x component of the unit direction.
+   * @param y y component of the unit direction.
+   */
+  public void setNextDirection(float x, float y) {
+    nextPos.set(x, y);
+  }
+
+  /**
+   * Sets the navigation graph (gate closed) of the maze pac is in.
+   */
+  public void setGraph(MazeGraph graph) {
+    this.graph = graph;
+  }
+
+  public float getNextDirX() {
+    return this.nextPos.x;
+  }
+
+  public float getNextDirY() {
+    return this.nextPos.y;
+  }
+
+  @Override
+  public void saveState(StateBuffer out) {
+    super.saveState(out);
+    out.putFloat(nextPos.x);
+    out.putFloat(nextPos.y);
+  }
+
+  @Override
+  public void loadState(StateBuffer in) {
+    super.loadState(in);
+    nextPos.set(in.getFloat(), in.getFloat());
+  }
+
+  /**
+   * General logic update for pac.
+   *
+   * - update pacs velocity.
+   * - update pacs position. (stopping on collisions)
+   *
+   * @param delta used for any physics update that are framerate independent.
+   */
+  @Override
+  public void logic(float delta) {
+    if (movement == Movement.TILE) {
+      tileLogic(delta);
+      return;
+    }
+    store.stateTime[id] += delta;
+    float speed = store.speed[id];
+
+    //velocities are axis aligned so the direction is just the sign.
+    Direction current = Direction.of(store.vx[id], store.vy[id]);
+    float dirX = current == null ? 0f : current.dx;
+    float dirY = current == null ? 0f : current.dy;
+
+    boolean isNewVelocity = !nextPos.epsilonEquals(dirX, dirY);
+    boolean wontHitWall = !maze.overlapsWall(
+      Math.round(store.x[id]) + nextPos.x * speed * delta,
+      Math.round(store.y[id]) + nextPos.y * speed * delta,
+      false
+    );
+
+    if (isNewVelocity && wontHitWall) {
+      setVel(nextPos.x * speed, nextPos.y * speed);
+      store.stateTime[id] = 0f;
+    }
+
+    store.x[id] += store.vx[id] * delta;
+    store.y[id] += store.vy[id] * delta;
+    if (maze.overlapsWall(store.x[id], store.y[id], false)) {
+      snapPos();
+      setVel(0f, 0f);
+    }
+  }
+
+  /**
+   * logic for Movement.TILE, pac can turn around any time but only
+   * turns a corner on a tile centre.
+   */
+  private void tileLogic(float delta) {
+    store.stateTime[id] += delta;
+    if (graph == null) graph = new MazeGraph(maze);
+
+    Direction current = Direction.of(store.vx[id], store.vy[id]);
+    Direction next = Direction.of(nextPos.x, nextPos.y);
+    if (current != null && next == current.opposite()) {
+      float speed = store.speed[id];
+      setVel(next.dx * speed, next.dy * speed);
+      store.stateTime[id] = 0f;
+    }
+    moveOnTiles(delta);
+  }
+
+  @Override
+  protected Direction turnAt(int tileX, int tileY, Direction current) {
+    Direction next = Direction.of(nextPos.x, nextPos.y);
+    if (
+      next != null &&
+      next != current &&
+      isOpen(graph, tileX + next.dx, tileY + next.dy)
+    ) {
+      store.stateTime[id] = 0f;
+      return next;
+    }
+    if (current != null && isOpen(graph, tileX + current.dx, tileY + current.dy)) {
+      return current;
+    }
+    return null;
+  }
+}
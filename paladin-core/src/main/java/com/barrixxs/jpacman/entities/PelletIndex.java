@@ -0,0 +1,119 @@
+package com.barrixxs.jpacman.entities;
+
+import java.util.Arrays;
+
+/**
+ * Index of the candies still left in a maze.
+ *
+ * candies live in a dense array of tile indices (y * width + x) so
+ * walking the remaining ones costs the number left, not the size of the
+ * board. removing swaps the last candy into the hole so every operation
+ * here is O(1) except iteration and nearest.
+ */
+public final class PelletIndex {
+
+  private final int width;
+  private final int[] tiles; //dense, first size entries are valid.
+  private final int[] slotOf; //tile index -> slot in tiles or -1.
+  private int size;
+
+  public PelletIndex(int width, int height) {
+    this.width = width;
+    this.tiles = new int[width * height];
+    this.slotOf = new int[width * height];
+    Arrays.fill(slotOf, -1);
+    this.size = 0;
+  }
+
+  /**
+   * Constructs a copy of another index.
+   *
+   * @param other index to copy.
+   */
+  public PelletIndex(PelletIndex other) {
+    this.width = other.width;
+    this.tiles = other.tiles.clone();
+    this.slotOf = other.slotOf.clone();
+    this.size = other.size;
+  }
+
+  public void clear() {
+    for (int slot = 0; slot < size; slot++) slotOf[tiles[slot]] = -1;
+    size = 0;
+  }
+
+  public void add(int x, int y) {
+    int tile = y * width + x;
+    if (slotOf[tile] != -1) return;
+    slotOf[tile] = size;
+    tiles[size++] = tile;
+  }
+
+  /**
+   * Removes the candy at (x, y) if there is one.
+   *
+   * @return true if a candy was removed.
+   */
+  public boolean remove(int x, int y) {
+    int tile = y * width + x;
+    int slot = slotOf[tile];
+    if (slot == -1) return false;
+
+    int last = tiles[--size];
+    tiles[slot] = last;
+    slotOf[last] = slot;
+    slotOf[tile] = -1;
+    return true;
+  }
+
+  public boolean contains(int x, int y) {
+    return slotOf[y * width + x] != -1;
+  }
+
+  /**
+   * @return number of candies left.
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * x of the candy in slot (0 until size), order is arbitrary.
+   */
+  public int getX(int slot) {
+    return tiles[slot] % width;
+  }
+
+  /**
+   * y of the candy in slot (0 until size), order is arbitrary.
+   */
+  public int getY(int slot) {
+    return tiles[slot] / width;
+  }
+
+  /**
+   * Finds the slot of the candy closest to (x, y).
+   *
+   * ties go to the lowest tile index (bottom row first, then left most)
+   * so the answer doesn't depend on the order candies were eaten in.
+   *
+   * @return slot of the nearest candy or -1 if there are none left.
+   */
+  public int nearest(float x, float y) {
+    int best = -1;
+    int bestTile = Integer.MAX_VALUE;
+    float bestDist = Float.MAX_VALUE;
+    for (int slot = 0; slot < size; slot++) {
+      int tile = tiles[slot];
+      float dx = tile % width - x;
+      float dy = tile / width - y;
+      float dist = dx * dx + dy * dy;
+      if (dist < bestDist || (dist == bestDist && tile < bestTile)) {
+        best = slot;
+        bestTile = tile;
+        bestDist = dist;
+      }
+    }
+    return best;
+  }
+}
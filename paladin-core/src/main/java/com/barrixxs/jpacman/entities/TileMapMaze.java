@@ -0,0 +1,491 @@
+package com.barrixxs.jpacman.entities;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.barrixxs.jpacman.util.Sweep;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Base64;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+import javax.xml.parsers.DocumentBuilderFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+/**
+ * Class representing a maze from Tiled.
+ *
+ * The .tmx file is read straight from the classpath with plain xml
+ * parsing so we never need a gdx backend (or keep a TiledMap around)
+ * just to run the simulation. The desktop module loads its own
+ * TiledMap for drawing.
+ *
+ * Once loaded the maze is compiled into bitboards (walls, gate, tunnel
+ * zone, pen zone, candy and super candy) and every collision query is
+ * answered with a few tile lookups instead of rectangle tests.
+ */
+public class TileMapMaze implements Maze {
+
+  public static final String DEFAULT_MAZE = "map/maze.tmx";
+
+  public static final int WIDTH = 28;
+  public static final int HEIGHT = 31;
+
+  //ghost gate tiles.
+  private static final int GATE_Y = 30 - 12;
+  private static final int GATE_LEFT_X = 13;
+  private static final int GATE_RIGHT_X = 14;
+
+  private final Bitboard wall;
+  private final Bitboard wallNoGate; //walls when ghosts can pass the gate.
+  private final Bitboard gate;
+  private final Bitboard tunnel;
+  private final Bitboard pen;
+  private final Bitboard candy;
+  private final Bitboard superCandy;
+  private final PelletIndex pellets; //regular and super.
+
+  private final Rectangle leftTunnel;
+  private final Rectangle rightTunnel;
+
+  private int initialCandyCount;
+
+  private float unitScale;
+
+  public TileMapMaze() {
+    this(DEFAULT_MAZE);
+  }
+
+  /**
+   * Constructs a maze from a .tmx file on the classpath.
+   *
+   * @param path classpath location of the .tmx file.
+   */
+  public TileMapMaze(String path) {
+    // 20px by 20px = 1 game world unit.
+    unitScale = 1 / 20f;
+
+    wall = new Bitboard(WIDTH, HEIGHT);
+    candy = new Bitboard(WIDTH, HEIGHT);
+    superCandy = new Bitboard(WIDTH, HEIGHT);
+    leftTunnel = new Rectangle(0f, (30f - 15f), 5f, 3f);
+    rightTunnel = new Rectangle(23f, (30f - 15f), 5f, 3f);
+    pellets = new PelletIndex(WIDTH, HEIGHT);
+    initialCandyCount = 0;
+    fillArrays(path);
+
+    gate = new Bitboard(WIDTH, HEIGHT);
+    gate.set(GATE_LEFT_X, GATE_Y);
+    gate.set(GATE_RIGHT_X, GATE_Y);
+    wallNoGate = wall.andNot(gate);
+    tunnel = compileZone(leftTunnel, rightTunnel);
+    pen = compilePen();
+  }
+
+  /**
+   * Constructs a copy of another maze.
+   *
+   * walls are shared layout so only the candies really matter here,
+   * the copy starts with whatever candies are left in other.
+   * handy for running many games without re-reading the .tmx file.
+   *
+   * @param other maze to copy.
+   */
+  public TileMapMaze(TileMapMaze other) {
+    unitScale = other.unitScale;
+
+    //layout never changes so it can be shared.
+    wall = other.wall;
+    wallNoGate = other.wallNoGate;
+    gate = other.gate;
+    tunnel = other.tunnel;
+    pen = other.pen;
+    leftTunnel = other.leftTunnel;
+    rightTunnel = other.rightTunnel;
+
+    candy = new Bitboard(other.candy);
+    superCandy = new Bitboard(other.superCandy);
+    pellets = new PelletIndex(other.pellets);
+    initialCandyCount = other.initialCandyCount;
+  }
+
+  private void fillArrays(String path) {
+    Document doc = readTmx(path);
+    int[] layer = readLayer(doc, "walls");
+    int[] layer2 = readLayer(doc, "candies");
+    int[] layer3 = readLayer(doc, "super candies");
+
+    for (int i = 0; i < WIDTH; i++) {
+      for (int j = 0; j < HEIGHT; j++) {
+        //tiled stores rows top down, our y axis goes bottom up.
+        int index = (HEIGHT - 1 - j) * WIDTH + i;
+        wall.set(i, j, layer[index] != 0);
+        candy.set(i, j, layer2[index] != 0);
+        superCandy.set(i, j, layer3[index] != 0);
+        if (layer2[index] != 0 || layer3[index] != 0) pellets.add(i, j);
+      }
+    }
+    initialCandyCount = pellets.size();
+  }
+
+  /**
+   * Marks every tile whose closed square [x, x+1] x [y, y+1] lies
+   * inside one of the (integer aligned) rectangles.
+   */
+  private static Bitboard compileZone(Rectangle... rects) {
+    Bitboard zone = new Bitboard(WIDTH, HEIGHT);
+    for (Rectangle r : rects) {
+      for (int i = (int) r.x; i < (int) (r.x + r.width); i++) {
+        for (int j = (int) r.y; j < (int) (r.y + r.height); j++) {
+          if (zone.inBounds(i, j)) zone.set(i, j);
+        }
+      }
+    }
+    return zone;
+  }
+
+  /**
+   * The pen is everything we can walk to from just under the gate
+   * without going through a wall (or the gate).
+   */
+  private Bitboard compilePen() {
+    Bitboard zone = new Bitboard(WIDTH, HEIGHT);
+    int[] stack = new int[WIDTH * HEIGHT];
+    int size = 0;
+    stack[size++] = (GATE_Y - 1) * WIDTH + GATE_LEFT_X;
+    while (size > 0) {
+      int index = stack[--size];
+      int x = index % WIDTH;
+      int y = index / WIDTH;
+      if (!zone.inBounds(x, y) || wall.get(x, y) || zone.get(x, y)) continue;
+      zone.set(x, y);
+      if (x > 0) stack[size++] = index - 1;
+      if (x < WIDTH - 1) stack[size++] = index + 1;
+      if (y > 0) stack[size++] = index - WIDTH;
+      if (y < HEIGHT - 1) stack[size++] = index + WIDTH;
+    }
+    return zone;
+  }
+
+  /**
+   * Point lookup into a zone compiled by compileZone.
+   *
+   * matches Rectangle.contains (edges included): a point sitting exactly
+   * on a tile edge also belongs to the tile before it.
+   */
+  private static boolean inZone(Bitboard zone, float x, float y) {
+    int ix = (int) Math.floor(x);
+    int iy = (int) Math.floor(y);
+    boolean onX = x == ix;
+    boolean onY = y == iy;
+    return (
+      zone.get(ix, iy) ||
+      (onX && zone.get(ix - 1, iy)) ||
+      (onY && zone.get(ix, iy - 1)) ||
+      (onX && onY && zone.get(ix - 1, iy - 1))
+    );
+  }
+
+  private static Document readTmx(String path) {
+    ClassLoader loader = TileMapMaze.class.getClassLoader();
+    try (InputStream in = loader.getResourceAsStream(path)) {
+      if (in == null) throw new IllegalArgumentException(
+        "maze not found on classpath: " + path
+      );
+      return DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(in);
+    } catch (IllegalArgumentException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new IllegalStateException("could not read maze: " + path, e);
+    }
+  }
+
+  /**
+   * Reads the global tile ids of a tile layer (row major, top row first).
+   *
+   * a gid of 0 means the cell is empty.
+   * supports csv and base64 (uncompressed, gzip or zlib) encoded data.
+   */
+  private static int[] readLayer(Document doc, String name) {
+    NodeList layers = doc.getElementsByTagName("layer");
+    for (int l = 0; l < layers.getLength(); l++) {
+      Element layer = (Element) layers.item(l);
+      if (!name.equals(layer.getAttribute("name"))) continue;
+
+      Element data = (Element) layer.getElementsByTagName("data").item(0);
+      String encoding = data.getAttribute("encoding");
+      String compression = data.getAttribute("compression");
+      String text = data.getTextContent().trim();
+      int[] gids = new int[28 * 31];
+
+      if (encoding.equals("csv")) {
+        String[] values = text.split("\\s*,\\s*");
+        for (int i = 0; i < gids.length; i++) {
+          gids[i] = (int) Long.parseLong(values[i].trim());
+        }
+        return gids;
+      }
+
+      if (!encoding.equals("base64")) throw new IllegalStateException(
+        "unsupported layer encoding: " + encoding
+      );
+
+      byte[] bytes = Base64.getMimeDecoder().decode(text);
+      try {
+        if (compression.equals("gzip")) bytes = new GZIPInputStream(
+          new ByteArrayInputStream(bytes)
+        ).readAllBytes();
+        else if (compression.equals("zlib")) bytes = new InflaterInputStream(
+          new ByteArrayInputStream(bytes)
+        ).readAllBytes();
+      } catch (IOException e) {
+        throw new IllegalStateException("could not inflate layer: " + name, e);
+      }
+
+      ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+      for (int i = 0; i < gids.length; i++) gids[i] = buffer.getInt();
+      return gids;
+    }
+    throw new IllegalStateException("maze is missing layer: " + name);
+  }
+
+  @Override
+  public int getWidth() {
+    return WIDTH;
+  }
+
+  @Override
+  public int getHeight() {
+    return HEIGHT;
+  }
+
+  @Override
+  public float getUnitScale() {
+    return this.unitScale;
+  }
+
+  /*
+   * how many canides the maze started with.
+   * includes super and regular.
+   */
+  @Override
+  public int getInitialCandyCount() {
+    return this.initialCandyCount;
+  }
+
+  /*
+   * how many candies are "left"
+   *
+   * includes super and regular.
+   * kept up to date as candies are eaten so this is O(1).
+   */
+  @Override
+  public int getCurrentCandyCount() {
+    return pellets.size();
+  }
+
+  @Override
+  public void forEachCandy(CandyVisitor visitor) {
+    for (int slot = 0; slot < pellets.size(); slot++) {
+      int x = pellets.getX(slot);
+      int y = pellets.getY(slot);
+      visitor.visit(x, y, superCandy.get(x, y));
+    }
+  }
+
+  @Override
+  public long[] writeCandyState(long[] out) {
+    int words = candy.getWordCount();
+    if (out == null || out.length < words * 2) out = new long[words * 2];
+    candy.copyWordsTo(out, 0);
+    superCandy.copyWordsTo(out, words);
+    return out;
+  }
+
+  @Override
+  public void readCandyState(long[] in) {
+    int words = candy.getWordCount();
+    if (in.length < words * 2) throw new IllegalArgumentException(
+      "candy state has " + in.length + " words, need " + words * 2
+    );
+    candy.copyWordsFrom(in, 0);
+    superCandy.copyWordsFrom(in, words);
+
+    //rebuild the index from the bits, it only matters which tiles
+    //are in it (nearest breaks ties on tile index, not slot order).
+    pellets.clear();
+    for (int w = 0; w < words; w++) {
+      long bits = in[w] | in[words + w];
+      while (bits != 0L) {
+        int tile = (w << 6) + Long.numberOfTrailingZeros(bits);
+        pellets.add(tile % WIDTH, tile / WIDTH);
+        bits &= bits - 1;
+      }
+    }
+  }
+
+  @Override
+  public boolean nearestCandy(float x, float y, Vector2 out) {
+    int slot = pellets.nearest(x, y);
+    if (slot == -1) return false;
+    out.set(pellets.getX(slot), pellets.getY(slot));
+    return true;
+  }
+
+  /**
+   * Check if point overlaps a maze wall.
+   *
+   * the point is treated as a 1x1 box with its corner at (px, py),
+   * it can only ever overlap the (up to) four tiles around its corner
+   * so we check those directly. edges touching don't count as overlap
+   * (same as Rectangle.overlaps).
+   *
+   * @param px x position to check if overlapping maze wall.
+   * @param py y position to check if overlapping maze wall.
+   * @param ignoreGate if true we dont count the ghost gate as a wall.
+   * @return true if point overlaps a maze wall.
+   */
+  @Override
+  public boolean overlapsWall(float px, float py, boolean ignoreGate) {
+    Bitboard walls = ignoreGate ? wallNoGate : wall;
+    int x = (int) Math.floor(px);
+    int y = (int) Math.floor(py);
+    for (int i = x; i <= x + 1; i++) {
+      if (!(px < i + 1f && px + 1f > i)) continue;
+      for (int j = y; j <= y + 1; j++) {
+        if (!(py < j + 1f && py + 1f > j)) continue;
+        if (walls.get(i, j)) return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Checks if point is touching a candy and eats it.
+   *
+   * a candy is touched when its center (i + 0.5, j + 0.5) is inside
+   * the 1x1 box at (px, py), edges included.
+   *
+   * @param px entitys x position that will check and eat the candy.
+   * @param py entitys y position that will check and eat the candy.
+   * @return true if point is touching candy.
+   */
+  @Override
+  public boolean checkAndEatCandy(float px, float py) {
+    return eatTouching(candy, px, py);
+  }
+
+  /**
+   * Checks if point is touching a super candy and eats it.
+   *
+   * @param px entitys x position that will check and eat the candy.
+   * @param py entitys y position that will check and eat the candy.
+   * @return true if point is touching super candy.
+   */
+  @Override
+  public boolean checkAndEatSuperCandy(float px, float py) {
+    return eatTouching(superCandy, px, py);
+  }
+
+  @Override
+  public int eatCandiesAlong(float x0, float y0, float x1, float y1) {
+    return eatAlong(candy, x0, y0, x1, y1);
+  }
+
+  @Override
+  public int eatSuperCandiesAlong(float x0, float y0, float x1, float y1) {
+    return eatAlong(superCandy, x0, y0, x1, y1);
+  }
+
+  private int eatAlong(
+    Bitboard candies,
+    float x0,
+    float y0,
+    float x1,
+    float y1
+  ) {
+    //every tile whose center the moving box could reach.
+    int minX = (int) Math.floor(Math.min(x0, x1) - 0.5f);
+    int maxX = (int) Math.floor(Math.max(x0, x1) + 0.5f);
+    int minY = (int) Math.floor(Math.min(y0, y1) - 0.5f);
+    int maxY = (int) Math.floor(Math.max(y0, y1) + 0.5f);
+
+    int eaten = 0;
+    for (int i = minX; i <= maxX; i++) {
+      for (int j = minY; j <= maxY; j++) {
+        if (!candies.get(i, j)) continue;
+        if (!Sweep.boxPoint(x0, y0, x1, y1, 1f, 1f, i + 0.5f, j + 0.5f)) {
+          continue;
+        }
+        candies.clear(i, j);
+        pellets.remove(i, j);
+        eaten++;
+      }
+    }
+    return eaten;
+  }
+
+  private boolean eatTouching(Bitboard candies, float px, float py) {
+    int x = (int) Math.floor(px - 0.5f);
+    int y = (int) Math.floor(py - 0.5f);
+    for (int i = x; i <= x + 1; i++) {
+      if (!(px <= i + 0.5f && px + 1f >= i + 0.5f)) continue;
+      for (int j = y; j <= y + 1; j++) {
+        if (!(py <= j + 0.5f && py + 1f >= j + 0.5f)) continue;
+        if (candies.testAndClear(i, j)) {
+          pellets.remove(i, j);
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public boolean inTunnel(float x, float y) {
+    return inZone(tunnel, x, y);
+  }
+
+  /**
+   * @return true if the point is inside the ghost pen (edges included).
+   */
+  public boolean inPen(float x, float y) {
+    return inZone(pen, x, y);
+  }
+
+  /*
+   * we should refactor logic so we don't need this
+   */
+  @Override
+  public Rectangle getLeftTunnel() {
+    return leftTunnel;
+  }
+
+  @Override
+  public Rectangle getRightTunnel() {
+    return rightTunnel;
+  }
+
+  public boolean isGate(int x, int y) {
+    return gate.get(x, y);
+  }
+
+  @Override
+  public boolean isWall(int x, int y) {
+    return wall.get(x, y);
+  }
+
+  @Override
+  public boolean isCandy(int x, int y) {
+    return candy.get(x, y);
+  }
+
+  @Override
+  public boolean isSuperCandy(int x, int y) {
+    return superCandy.get(x, y);
+  }
+}
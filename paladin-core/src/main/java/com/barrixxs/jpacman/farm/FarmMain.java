@@ -0,0 +1,95 @@
+package com.barrixxs.jpacman.farm;
+
+import com.barrixxs.jpacman.entities.TileMapMaze;
+import com.barrixxs.jpacman.metrics.GameMetrics;
+import com.barrixxs.jpacman.metrics.PrometheusServer;
+import java.io.IOException;
+
+/**
+ * Command line entry point for the simulation farm.
+ *
+ * <pre>
+ *   mvn exec:java -pl paladin-core \
+ *     -Dexec.args="--games 10000 --seed 42 --ticks 36000 --threads 8"
+ * </pre>
+ *
+ * --games   number of games to play (default 1000).
+ * --seed    seed the games inputs are derived from (default 0).
+ * --ticks   tick budget per game (default 60 * 60 * 10, ten minutes).
+ * --threads worker threads (default every core).
+ * --maze    classpath path of the .tmx maze (default map/maze.tmx).
+ * --metrics-port serve live metrics for prometheus on this localhost
+ *           port while the farm runs (default off).
+ */
+public class FarmMain {
+
+  private static final String USAGE =
+    "usage: FarmMain [--games n] [--seed n] [--ticks n] [--threads n]" +
+    " [--maze path] [--metrics-port n]";
+
+  public static void main(String[] args) {
+    int games = 1000;
+    long seed = 0L;
+    long ticks = 60L * 60L * 10L;
+    int threads = Runtime.getRuntime().availableProcessors();
+    String maze = TileMapMaze.DEFAULT_MAZE;
+    int metricsPort = -1;
+
+    try {
+      for (int i = 0; i < args.length; i++) {
+        String arg = args[i];
+        if (arg.equals("--help") || arg.equals("-h")) {
+          System.out.println(USAGE);
+          return;
+        }
+        if (i + 1 >= args.length) throw new IllegalArgumentException(
+          "missing value for " + arg
+        );
+        String value = args[++i];
+        switch (arg) {
+          case "--games" -> games = Integer.parseInt(value);
+          case "--seed" -> seed = Long.parseLong(value);
+          case "--ticks" -> ticks = Long.parseLong(value);
+          case "--threads" -> threads = Integer.parseInt(value);
+          case "--maze" -> maze = value;
+          case "--metrics-port" -> metricsPort = Integer.parseInt(value);
+          default -> throw new IllegalArgumentException(
+            "unknown option " + arg
+          );
+        }
+      }
+    } catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      System.err.println(USAGE);
+      System.exit(2);
+      return;
+    }
+
+    System.out.printf(
+      "playing %d games on %d threads (seed %d, %d tick budget)%n",
+      games,
+      threads,
+      seed,
+      ticks
+    );
+    SimulationFarm farm = new SimulationFarm(new TileMapMaze(maze), ticks);
+    PrometheusServer server = null;
+    if (metricsPort >= 0) {
+      GameMetrics metrics = new GameMetrics();
+      farm.setMetrics(metrics);
+      try {
+        server = PrometheusServer.start(metrics.getRegistry(), metricsPort);
+        System.out.printf(
+          "metrics on http://localhost:%d%s%n",
+          server.getPort(),
+          PrometheusServer.PATH
+        );
+      } catch (IOException e) {
+        System.err.println("couldn't serve metrics: " + e.getMessage());
+      }
+    }
+    FarmResult result = farm.run(games, seed, threads);
+    System.out.println(result);
+    if (server != null) server.close();
+  }
+}
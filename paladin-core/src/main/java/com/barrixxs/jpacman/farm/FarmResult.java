@@ -0,0 +1,100 @@
+package com.barrixxs.jpacman.farm;
+
+/**
+ * Totals from one SimulationFarm run.
+ */
+public final class FarmResult {
+
+  private final long games;
+  private final long ticks;
+  private final long wins;
+  private final long losses;
+  private final long timeouts;
+  private final long candiesEaten;
+  private final long elapsedNanos;
+
+  /**
+   * @param games games played.
+   * @param ticks simulation steps run across all games.
+   * @param wins games where pac ate every candy.
+   * @param losses games where pac ran out of lives.
+   * @param timeouts games that hit the tick budget first.
+   * @param candiesEaten candies eaten across all games.
+   * @param elapsedNanos wall clock time the run took.
+   */
+  public FarmResult(
+    long games,
+    long ticks,
+    long wins,
+    long losses,
+    long timeouts,
+    long candiesEaten,
+    long elapsedNanos
+  ) {
+    this.games = games;
+    this.ticks = ticks;
+    this.wins = wins;
+    this.losses = losses;
+    this.timeouts = timeouts;
+    this.candiesEaten = candiesEaten;
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  public long getGames() {
+    return this.games;
+  }
+
+  public long getTicks() {
+    return this.ticks;
+  }
+
+  public long getWins() {
+    return this.wins;
+  }
+
+  public long getLosses() {
+    return this.losses;
+  }
+
+  public long getTimeouts() {
+    return this.timeouts;
+  }
+
+  public long getCandiesEaten() {
+    return this.candiesEaten;
+  }
+
+  public long getElapsedNanos() {
+    return this.elapsedNanos;
+  }
+
+  public double getSeconds() {
+    return elapsedNanos / 1e9;
+  }
+
+  public double getGamesPerSecond() {
+    return elapsedNanos == 0 ? 0 : games / getSeconds();
+  }
+
+  public double getTicksPerSecond() {
+    return elapsedNanos == 0 ? 0 : ticks / getSeconds();
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+      "games: %d (won %d, lost %d, timed out %d)%n" +
+      "ticks: %d, candies eaten: %d%n" +
+      "time: %.3fs, %.1f games/s, %.0f ticks/s",
+      games,
+      wins,
+      losses,
+      timeouts,
+      ticks,
+      candiesEaten,
+      getSeconds(),
+      getGamesPerSecond(),
+      getTicksPerSecond()
+    );
+  }
+}
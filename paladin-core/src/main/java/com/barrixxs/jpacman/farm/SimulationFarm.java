@@ -0,0 +1,152 @@
+package com.barrixxs.jpacman.farm;
+
+import com.barrixxs.jpacman.entities.TileMapMaze;
+import com.barrixxs.jpacman.metrics.GameMetrics;
+import com.barrixxs.jpacman.sim.PacManGame;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Runs lots of independent headless games across all cores.
+ *
+ * every game gets its own copy of the maze and its own pac driver, the
+ * only thing games share is the (read only) maze template and the
+ * result counters. The counters are LongAdders and are only bumped
+ * once per game, so threads don't contend on them while playing.
+ *
+ * Each game and the random walker driving pac are seeded from the farm
+ * seed and the games index, so the same seed plays the same games no
+ * matter how many threads they are spread over.
+ */
+public class SimulationFarm {
+
+  public static final float STEP = 1 / 60f;
+
+  //pac picks a new direction every MIN_TURN..MAX_TURN ticks.
+  private static final int MIN_TURN = 15;
+  private static final int MAX_TURN = 120;
+
+  private final TileMapMaze template;
+  private final long tickBudget;
+
+  private final LongAdder games = new LongAdder();
+  private final LongAdder ticks = new LongAdder();
+  private final LongAdder wins = new LongAdder();
+  private final LongAdder losses = new LongAdder();
+  private final LongAdder timeouts = new LongAdder();
+  private final LongAdder candies = new LongAdder();
+
+  //shared by every game, null to not report.
+  private GameMetrics metrics;
+
+  /**
+   * @param template maze every game starts from (copied per game).
+   * @param tickBudget most ticks a single game may run for.
+   */
+  public SimulationFarm(TileMapMaze template, long tickBudget) {
+    if (tickBudget < 1) throw new IllegalArgumentException(
+      "tick budget must be at least 1: " + tickBudget
+    );
+    this.template = template;
+    this.tickBudget = tickBudget;
+  }
+
+  /**
+   * Reports every game the farm plays to one set of metrics.
+   *
+   * @param metrics metrics to report to, or null to stop reporting.
+   */
+  public void setMetrics(GameMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  /**
+   * Plays a batch of games and waits for them to finish.
+   *
+   * @param count number of games to play.
+   * @param seed seed every games seed is derived from.
+   * @param parallelism number of worker threads.
+   * @return totals for this batch.
+   */
+  public FarmResult run(int count, long seed, int parallelism) {
+    if (count < 0) throw new IllegalArgumentException(
+      "game count can't be negative: " + count
+    );
+    if (parallelism < 1) throw new IllegalArgumentException(
+      "parallelism must be at least 1: " + parallelism
+    );
+    reset();
+
+    long start = System.nanoTime();
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    try {
+      pool
+        .submit(() ->
+          IntStream.range(0, count).parallel().forEach(i -> play(i, seed))
+        )
+        .join();
+    } finally {
+      pool.shutdown();
+    }
+    long elapsed = System.nanoTime() - start;
+
+    return new FarmResult(
+      games.sum(),
+      ticks.sum(),
+      wins.sum(),
+      losses.sum(),
+      timeouts.sum(),
+      candies.sum(),
+      elapsed
+    );
+  }
+
+  private void reset() {
+    games.reset();
+    ticks.reset();
+    wins.reset();
+    losses.reset();
+    timeouts.reset();
+    candies.reset();
+  }
+
+  private void play(int index, long seed) {
+    SplittableRandom random = new SplittableRandom(gameSeed(seed, index));
+    PacManGame game =
+      new PacManGame(new TileMapMaze(template), random.nextLong());
+    game.setMetrics(metrics);
+
+    long tick = 0;
+    long nextTurn = 0;
+    while (!game.isGameOver() && tick < tickBudget) {
+      if (tick == nextTurn) {
+        switch (random.nextInt(4)) {
+          case 0 -> game.setPacDirection(0f, 1f);
+          case 1 -> game.setPacDirection(-1f, 0f);
+          case 2 -> game.setPacDirection(0f, -1f);
+          default -> game.setPacDirection(1f, 0f);
+        }
+        nextTurn += random.nextInt(MIN_TURN, MAX_TURN + 1);
+      }
+      game.update(STEP);
+      tick++;
+    }
+
+    games.increment();
+    ticks.add(tick);
+    candies.add(game.getCandiesEaten());
+    if (!game.isGameOver()) timeouts.increment();
+    else if (game.isWon()) wins.increment();
+    else losses.increment();
+  }
+
+  /**
+   * Seed of a single game, mixed so neighbouring indices don't get
+   * correlated streams.
+   */
+  static long gameSeed(long seed, int index) {
+    return seed + 0x9E3779B97F4A7C15L * (index + 1);
+  }
+}
@@ -0,0 +1,37 @@
+package com.barrixxs.jpacman.input;
+
+import com.badlogic.gdx.math.Vector2;
+import com.barrixxs.jpacman.entities.Direction;
+import com.barrixxs.jpacman.entities.Maze;
+import com.barrixxs.jpacman.nav.DistanceField;
+import com.barrixxs.jpacman.nav.MazeGraph;
+import com.barrixxs.jpacman.sim.PacManGame;
+
+/**
+ * A simple bot, heads for the closest candy along the maze.
+ *
+ * it only looks at candies, ghosts are ignored, which makes it a
+ * decent stand in for a player that clears the board but not much of
+ * a survivor. Uses the games distance field so each tick is a couple
+ * of table lookups.
+ */
+public class CandyBotInput implements InputSource {
+
+  private final Vector2 candy = new Vector2();
+
+  @Override
+  public Direction next(PacManGame game, long tick) {
+    Maze maze = game.getMaze();
+    float x = game.getPac().getX();
+    float y = game.getPac().getY();
+    if (!maze.nearestCandy(x, y, candy)) return null;
+
+    DistanceField field = game.getDistanceField();
+    MazeGraph graph = field.getGraph();
+    //off the grid (halfway through the tunnel) there's nothing to decide,
+    //nextStep gives null and pac keeps going.
+    int from = graph.tile(Math.round(x), Math.round(y));
+    int to = graph.tile(Math.round(candy.x), Math.round(candy.y));
+    return field.nextStep(from, to);
+  }
+}
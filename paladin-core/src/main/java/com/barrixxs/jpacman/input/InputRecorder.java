@@ -0,0 +1,65 @@
+package com.barrixxs.jpacman.input;
+
+import com.barrixxs.jpacman.entities.Direction;
+import com.barrixxs.jpacman.sim.PacManGame;
+import com.barrixxs.jpacman.util.ByteWriter;
+
+/**
+ * Records what another input source does.
+ *
+ * sits between the game and the real source (keyboard, bot..) and
+ * passes every direction through, writing down only the ticks where
+ * the direction actually changed.
+ */
+public class InputRecorder implements InputSource {
+
+  private final InputSource source;
+  private final float step;
+  private final ByteWriter events;
+  private int changes;
+  private long lastTick;
+  private Direction last;
+  private PacManGame game;
+
+  /**
+   * @param source input source being recorded.
+   * @param step step delta the game is updated with.
+   */
+  public InputRecorder(InputSource source, float step) {
+    this.source = source;
+    this.step = step;
+    this.events = new ByteWriter(256);
+  }
+
+  @Override
+  public Direction next(PacManGame game, long tick) {
+    if (this.game == null) this.game = game;
+    else if (this.game != game) throw new IllegalStateException(
+      "recorder is already recording another game"
+    );
+
+    Direction dir = source.next(game, tick);
+    if (dir != null && dir != last) {
+      InputRecording.writeChange(events, tick - lastTick, dir);
+      changes++;
+      lastTick = tick;
+      last = dir;
+    }
+    return dir;
+  }
+
+  /**
+   * @return everything recorded so far.
+   * @throws IllegalStateException if nothing has been recorded yet.
+   */
+  public InputRecording getRecording() {
+    if (game == null) throw new IllegalStateException("nothing recorded");
+    return new InputRecording(
+      game.getSeed(),
+      step,
+      game.getTick(),
+      changes,
+      events.toByteArray()
+    );
+  }
+}
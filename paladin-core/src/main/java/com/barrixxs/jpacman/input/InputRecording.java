@@ -0,0 +1,152 @@
+package com.barrixxs.jpacman.input;
+
+import com.barrixxs.jpacman.entities.Direction;
+import com.barrixxs.jpacman.sim.PacManGame;
+import com.barrixxs.jpacman.util.ByteReader;
+import com.barrixxs.jpacman.util.ByteWriter;
+
+/**
+ * A recorded session: the games seed, how long it ran and every
+ * direction change pac was given.
+ *
+ * changes are stored as one varint each, (ticks since the last change
+ * &lt;&lt; 2) | direction, so a few minutes of play fit in a few
+ * hundred bytes. Replaying it (see Replayer) with the same maze plays
+ * the exact same game.
+ *
+ * byte layout: varint VERSION, zig zag varint seed, step delta (float
+ * bits as a varint), varint ticks, varint change count, then the changes.
+ */
+public final class InputRecording {
+
+  public static final int VERSION = 1;
+
+  private final long seed;
+  private final float step;
+  private final long ticks;
+  private final int changes;
+  private final byte[] events; //just the changes.
+
+  InputRecording(
+    long seed,
+    float step,
+    long ticks,
+    int changes,
+    byte[] events
+  ) {
+    this.seed = seed;
+    this.step = step;
+    this.ticks = ticks;
+    this.changes = changes;
+    this.events = events;
+  }
+
+  public long getSeed() {
+    return this.seed;
+  }
+
+  /**
+   * @return step delta the recorded game was updated with.
+   */
+  public float getStep() {
+    return this.step;
+  }
+
+  /**
+   * @return number of ticks the recorded game ran for.
+   */
+  public long getTicks() {
+    return this.ticks;
+  }
+
+  /**
+   * @return number of direction changes recorded.
+   */
+  public int getChanges() {
+    return this.changes;
+  }
+
+  /**
+   * @return an input source that plays the changes back.
+   */
+  public InputSource playback() {
+    return new Playback(events, changes);
+  }
+
+  public byte[] toByteArray() {
+    ByteWriter out = new ByteWriter(events.length + 24);
+    out.writeVarLong(VERSION);
+    out.writeZigZagLong(seed);
+    out.writeVarLong(Float.floatToIntBits(step) & 0xFFFFFFFFL);
+    out.writeVarLong(ticks);
+    out.writeVarLong(changes);
+    out.writeBytes(events, 0, events.length);
+    return out.toByteArray();
+  }
+
+  /**
+   * Reads a recording written by toByteArray().
+   *
+   * @throws IllegalArgumentException if the bytes aren't a recording.
+   */
+  public static InputRecording fromByteArray(byte[] bytes) {
+    try {
+      ByteReader in = new ByteReader(bytes);
+      long version = in.readVarLong();
+      if (version != VERSION) throw new IllegalArgumentException(
+        "unsupported recording version: " + version
+      );
+      long seed = in.readZigZagLong();
+      float step = Float.intBitsToFloat((int) in.readVarLong());
+      long ticks = in.readVarLong();
+      int changes = (int) in.readVarLong();
+      int start = in.position();
+      byte[] events = new byte[bytes.length - start];
+      System.arraycopy(bytes, start, events, 0, events.length);
+      return new InputRecording(seed, step, ticks, changes, events);
+    } catch (IllegalStateException e) {
+      throw new IllegalArgumentException("truncated recording", e);
+    }
+  }
+
+  /**
+   * Encodes one change.
+   */
+  static void writeChange(ByteWriter out, long ticksSinceLast, Direction dir) {
+    out.writeVarLong((ticksSinceLast << 2) | dir.ordinal());
+  }
+
+  private static final class Playback implements InputSource {
+
+    private final ByteReader in;
+    private int left;
+    private long nextTick;
+    private Direction nextDir;
+
+    Playback(byte[] events, int changes) {
+      this.in = new ByteReader(events);
+      this.left = changes;
+      this.nextTick = -1L;
+      advance(0L);
+    }
+
+    private void advance(long from) {
+      if (left == 0) {
+        nextDir = null;
+        return;
+      }
+      long change = in.readVarLong();
+      nextTick = from + (change >>> 2);
+      nextDir = Direction.ALL[(int) (change & 3)];
+      left--;
+    }
+
+    @Override
+    public Direction next(PacManGame game, long tick) {
+      if (nextDir == null || tick != nextTick) return null;
+      Direction dir = nextDir;
+      advance(nextTick);
+      return dir;
+    }
+  }
+}
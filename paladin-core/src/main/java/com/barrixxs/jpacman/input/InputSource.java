@@ -0,0 +1,25 @@
+package com.barrixxs.jpacman.input;
+
+import com.barrixxs.jpacman.entities.Direction;
+import com.barrixxs.jpacman.sim.PacManGame;
+
+/**
+ * Where pacs directions come from.
+ *
+ * the game asks its input source once at the start of every tick
+ * (see PacManGame.setInput), so a keyboard, a script, a recording and
+ * a bot all drive the simulation the same way.
+ */
+public interface InputSource {
+  /**
+   * Returns the direction pac should try to move in from this tick on.
+   *
+   * pac remembers the last direction he was given, so returning null
+   * (no change) and returning the same direction again do the same thing.
+   *
+   * @param game game being updated.
+   * @param tick index of the tick about to run, starting at 0.
+   * @return direction or null to leave pacs direction as it is.
+   */
+  Direction next(PacManGame game, long tick);
+}
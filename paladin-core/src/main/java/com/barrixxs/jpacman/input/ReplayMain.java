@@ -0,0 +1,94 @@
+package com.barrixxs.jpacman.input;
+
+import com.barrixxs.jpacman.entities.TileMapMaze;
+import com.barrixxs.jpacman.replay.ReplayFile;
+import com.barrixxs.jpacman.sim.PacManGame;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Replays a recorded session headless and prints how it ended.
+ *
+ * takes either a replay file (ReplayFile) or a bare input recording.
+ *
+ * <pre>
+ *   mvn exec:java -pl paladin-core \
+ *     -Dexec.mainClass=com.barrixxs.jpacman.input.ReplayMain \
+ *     -Dexec.args="session.replay [times]"
+ * </pre>
+ *
+ * times replays the session that many times and reports the speed,
+ * turning a recording into a quick benchmark.
+ */
+public class ReplayMain {
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 1) {
+      System.err.println("usage: ReplayMain <recording> [times]");
+      System.exit(2);
+      return;
+    }
+    Path file = Path.of(args[0]);
+    int times = args.length > 1 ? Math.max(1, Integer.parseInt(args[1])) : 1;
+    TileMapMaze template = new TileMapMaze();
+    if (ReplayFile.isReplayFile(file)) {
+      replayFile(ReplayFile.open(file), template, times);
+      return;
+    }
+
+    InputRecording recording =
+      InputRecording.fromByteArray(Files.readAllBytes(file));
+    PacManGame game = null;
+    long start = System.nanoTime();
+    for (int i = 0; i < times; i++) {
+      game = Replayer.replay(template, recording);
+    }
+    double seconds = (System.nanoTime() - start) / 1e9;
+
+    System.out.printf(
+      "seed %d, %d ticks, %d direction changes%n",
+      recording.getSeed(),
+      recording.getTicks(),
+      recording.getChanges()
+    );
+    report(game, times, seconds);
+  }
+
+  private static void replayFile(
+    ReplayFile replay,
+    TileMapMaze template,
+    int times
+  ) {
+    PacManGame game = null;
+    long start = System.nanoTime();
+    for (int i = 0; i < times; i++) game = replay.play(template);
+    double seconds = (System.nanoTime() - start) / 1e9;
+
+    System.out.printf(
+      "seed %d, level %d, %d ticks, %d keyframes, %d bytes%n",
+      replay.getSeed(),
+      replay.getLevel(),
+      replay.getTicks(),
+      replay.getKeyframeCount(),
+      replay.size()
+    );
+    report(game, times, seconds);
+  }
+
+  private static void report(PacManGame game, int times, double seconds) {
+    System.out.printf(
+      "ended on tick %d: %s, %d lives, %d candies eaten%n",
+      game.getTick(),
+      game.isWon() ? "won" : game.isGameOver() ? "lost" : "still playing",
+      game.getLives(),
+      game.getCandiesEaten()
+    );
+    System.out.printf(
+      "%d replays in %.3fs (%.0f ticks/s)%n",
+      times,
+      seconds,
+      times * (double) game.getTick() / seconds
+    );
+  }
+}
@@ -0,0 +1,33 @@
+package com.barrixxs.jpacman.input;
+
+import com.barrixxs.jpacman.entities.TileMapMaze;
+import com.barrixxs.jpacman.sim.PacManGame;
+
+/**
+ * Plays recordings back headless, as fast as the cpu allows.
+ */
+public class Replayer {
+
+  private Replayer() {}
+
+  /**
+   * Replays a recording on a fresh copy of template.
+   *
+   * @param template maze the recording was made in.
+   * @param recording the recording.
+   * @return the game, in the state the recorded game ended in.
+   */
+  public static PacManGame replay(
+    TileMapMaze template,
+    InputRecording recording
+  ) {
+    float step = recording.getStep();
+    PacManGame game =
+      new PacManGame(new TileMapMaze(template), recording.getSeed());
+    game.setInput(recording.playback());
+    while (game.getTick() < recording.getTicks() && !game.isGameOver()) {
+      game.update(step);
+    }
+    return game;
+  }
+}
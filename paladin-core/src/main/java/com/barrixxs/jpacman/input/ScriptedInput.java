@@ -0,0 +1,64 @@
+package com.barrixxs.jpacman.input;
+
+import com.barrixxs.jpacman.entities.Direction;
+import com.barrixxs.jpacman.sim.PacManGame;
+import java.util.Arrays;
+
+/**
+ * Input that turns pac on given ticks.
+ *
+ * <pre>
+ *   new ScriptedInput()
+ *     .at(0, Direction.LEFT)
+ *     .at(120, Direction.UP);
+ * </pre>
+ */
+public class ScriptedInput implements InputSource {
+
+  private long[] ticks;
+  private Direction[] directions;
+  private int size;
+  private int next;
+
+  public ScriptedInput() {
+    this.ticks = new long[8];
+    this.directions = new Direction[8];
+  }
+
+  /**
+   * Turns pac to dir on tick, ticks must be added in increasing order.
+   *
+   * @return this script, for chaining.
+   */
+  public ScriptedInput at(long tick, Direction dir) {
+    if (dir == null) throw new IllegalArgumentException("direction is null");
+    if (size > 0 && tick <= ticks[size - 1]) {
+      throw new IllegalArgumentException(
+        "tick " + tick + " isn't after " + ticks[size - 1]
+      );
+    }
+    if (size == ticks.length) {
+      ticks = Arrays.copyOf(ticks, size * 2);
+      directions = Arrays.copyOf(directions, size * 2);
+    }
+    ticks[size] = tick;
+    directions[size] = dir;
+    size++;
+    return this;
+  }
+
+  @Override
+  public Direction next(PacManGame game, long tick) {
+    //skip anything we missed (input set after the game started).
+    while (next < size && ticks[next] < tick) next++;
+    if (next < size && ticks[next] == tick) return directions[next++];
+    return null;
+  }
+
+  /**
+   * Starts the script over from the first entry.
+   */
+  public void rewind() {
+    next = 0;
+  }
+}
@@ -0,0 +1,52 @@
+package com.barrixxs.jpacman.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A ghost going from one GhostState to another.
+ */
+@Name("paladin.GhostState")
+@Label("Ghost State Change")
+@Category({ "Paladin", "Simulation" })
+@Description("Ghost changed state (scatter, chase, fright, ate, pen ...)")
+@StackTrace(false)
+public final class GhostStateEvent extends Event {
+
+  private static final EventType TYPE = EventType.getEventType(GhostStateEvent.class);
+
+  @Label("Ghost")
+  @Description("Slot of the ghost in the games entity store")
+  int ghost;
+
+  @Label("Personality")
+  String personality;
+
+  @Label("From")
+  String from;
+
+  @Label("To")
+  String to;
+
+  private GhostStateEvent() {}
+
+  /**
+   * Commits a state change, does nothing if no recording wants it.
+   *
+   * names are passed as the enum constant names, which aren't copied.
+   */
+  public static void emit(int ghost, String personality, String from, String to) {
+    if (!TYPE.isEnabled()) return;
+    GhostStateEvent event = new GhostStateEvent();
+    event.ghost = ghost;
+    event.personality = personality;
+    event.from = from;
+    event.to = to;
+    event.commit();
+  }
+}
@@ -0,0 +1,53 @@
+package com.barrixxs.jpacman.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A frame that took longer than it should have.
+ *
+ * emitted when the frame is noticed, at the start of the frame after
+ * it, so it lines up with whatever stalled (gc, safepoints, io ...) just
+ * before it in the recording.
+ */
+@Name("paladin.Hitch")
+@Label("Frame Hitch")
+@Category({ "Paladin", "Rendering" })
+@Description("Frame time went over the hitch threshold")
+@StackTrace(false)
+public final class HitchEvent extends Event {
+
+  private static final EventType TYPE = EventType.getEventType(HitchEvent.class);
+
+  @Label("Frame Time")
+  @Timespan(Timespan.NANOSECONDS)
+  long frameTime;
+
+  @Label("Threshold")
+  @Timespan(Timespan.NANOSECONDS)
+  long threshold;
+
+  @Label("Steps")
+  @Description("Simulation steps the frame ran to catch up")
+  int steps;
+
+  private HitchEvent() {}
+
+  /**
+   * Commits a hitch, does nothing if no recording wants it.
+   */
+  public static void emit(long frameNanos, long thresholdNanos, int steps) {
+    if (!TYPE.isEnabled()) return;
+    HitchEvent event = new HitchEvent();
+    event.frameTime = frameNanos;
+    event.threshold = thresholdNanos;
+    event.steps = steps;
+    event.commit();
+  }
+}
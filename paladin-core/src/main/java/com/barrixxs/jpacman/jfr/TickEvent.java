@@ -0,0 +1,61 @@
+package com.barrixxs.jpacman.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One simulation tick (PacManGame.update), its duration is the tick.
+ *
+ * nothing is allocated unless a recording has the event turned on:
+ * <pre>
+ *   TickEvent event = TickEvent.start();
+ *   step();
+ *   if (event != null) event.end(tick, entities, pellets);
+ * </pre>
+ */
+@Name("paladin.Tick")
+@Label("Simulation Tick")
+@Category({ "Paladin", "Simulation" })
+@Description("One PacManGame.update")
+@StackTrace(false)
+public final class TickEvent extends Event {
+
+  private static final EventType TYPE = EventType.getEventType(TickEvent.class);
+
+  @Label("Tick")
+  long tick;
+
+  @Label("Entities")
+  @Description("Pac and ghosts")
+  int entities;
+
+  @Label("Pellets Left")
+  int pelletsLeft;
+
+  private TickEvent() {}
+
+  /**
+   * @return a started event, null if no recording wants it.
+   */
+  public static TickEvent start() {
+    if (!TYPE.isEnabled()) return null;
+    TickEvent event = new TickEvent();
+    event.begin();
+    return event;
+  }
+
+  /**
+   * Ends and commits the event.
+   */
+  public void end(long pTick, int pEntities, int pPelletsLeft) {
+    this.tick = pTick;
+    this.entities = pEntities;
+    this.pelletsLeft = pPelletsLeft;
+    commit();
+  }
+}
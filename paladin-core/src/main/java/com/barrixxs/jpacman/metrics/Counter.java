@@ -0,0 +1,59 @@
+package com.barrixxs.jpacman.metrics;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Count that only goes up, safe to add to from any number of threads.
+ *
+ * counts are whole numbers, a scale turns them into the exported unit
+ * (nanoseconds counted, seconds exported is a scale of 1e-9).
+ */
+public final class Counter extends Metric {
+
+  private final LongAdder count = new LongAdder();
+  private final double scale;
+
+  Counter(String name, String help, String labels, double scale) {
+    super(name, help, labels);
+    this.scale = scale;
+  }
+
+  public void increment() {
+    count.increment();
+  }
+
+  /**
+   * @param amount amount to add, can't be negative.
+   */
+  public void add(long amount) {
+    if (amount < 0L) throw new IllegalArgumentException(
+      "counters only go up: " + amount
+    );
+    count.add(amount);
+  }
+
+  /**
+   * @return the count, unscaled.
+   */
+  public long get() {
+    return count.sum();
+  }
+
+  /**
+   * @return the count in the exported unit.
+   */
+  public double getValue() {
+    return count.sum() * scale;
+  }
+
+  @Override
+  public String getType() {
+    return "counter";
+  }
+
+  @Override
+  public void collect(Sink sink) throws IOException {
+    sink.sample(getName(), getLabels(), getValue());
+  }
+}
@@ -0,0 +1,145 @@
+package com.barrixxs.jpacman.metrics;
+
+import com.barrixxs.jpacman.entities.Ghost.GhostState;
+import java.util.Locale;
+
+/**
+ * What the game reports to a MetricsRegistry.
+ *
+ * one GameMetrics can be shared by every game in the process (the
+ * simulation farm hands the same one to all of its workers), every
+ * method is lock free and allocation free. The lives gauge is whatever
+ * game reported last.
+ */
+public final class GameMetrics {
+
+  private static final GhostState[] GHOST_STATES = GhostState.values();
+
+  private final MetricsRegistry registry;
+  private final Counter ticks;
+  private final Counter pelletsEaten;
+  private final Counter ghostsEaten;
+  private final Counter deaths;
+  private final Gauge lives;
+  private final Counter[] ghostStateTime;
+  private final LatencyHistogram tickLatency;
+  private final LatencyHistogram renderLatency;
+
+  public GameMetrics() {
+    this(new MetricsRegistry());
+  }
+
+  /**
+   * @param registry registry to register the games metrics in.
+   */
+  public GameMetrics(MetricsRegistry registry) {
+    this.registry = registry;
+    ticks = registry.counter("paladin_ticks_total", "Simulation ticks run");
+    pelletsEaten = registry.counter(
+      "paladin_pellets_eaten_total",
+      "Candies and super candies pac ate"
+    );
+    ghostsEaten = registry.counter("paladin_ghosts_eaten_total", "Ghosts pac ate");
+    deaths = registry.counter("paladin_deaths_total", "Times a ghost caught pac");
+    lives = registry.gauge("paladin_lives", "Lives pac has left");
+    ghostStateTime = new Counter[GHOST_STATES.length];
+    for (GhostState state : GHOST_STATES) {
+      ghostStateTime[state.ordinal()] = registry.counter(
+        "paladin_ghost_state_seconds_total",
+        "Game time ghosts spent in each state, summed over ghosts",
+        "state=\"" + state.name().toLowerCase(Locale.ROOT) + "\"",
+        1e-9
+      );
+    }
+    tickLatency = registry.histogram(
+      "paladin_tick_seconds",
+      "Wall clock time of one simulation tick"
+    );
+    renderLatency = registry.histogram(
+      "paladin_render_seconds",
+      "Wall clock time of one rendered frame"
+    );
+  }
+
+  /**
+   * Reports a finished tick.
+   *
+   * @param nanos wall clock time the tick took.
+   * @param pLives lives pac has left.
+   */
+  public void tick(long nanos, int pLives) {
+    ticks.increment();
+    tickLatency.record(nanos);
+    lives.set(pLives);
+  }
+
+  public void pelletsEaten(int count) {
+    pelletsEaten.add(count);
+  }
+
+  public void ghostsEaten(int count) {
+    ghostsEaten.add(count);
+  }
+
+  public void deaths(int count) {
+    deaths.add(count);
+  }
+
+  /**
+   * Adds game time to the time spent in each ghost state.
+   *
+   * @param ghostsInState number of ghosts in each state, by ordinal.
+   * @param nanos game time that passed.
+   */
+  public void ghostStates(int[] ghostsInState, long nanos) {
+    for (int i = 0; i < ghostsInState.length; i++) {
+      if (ghostsInState[i] > 0) ghostStateTime[i].add(ghostsInState[i] * nanos);
+    }
+  }
+
+  /**
+   * @param nanos wall clock time the frame took to render.
+   */
+  public void frame(long nanos) {
+    renderLatency.record(nanos);
+  }
+
+  public MetricsRegistry getRegistry() {
+    return this.registry;
+  }
+
+  public long getTicks() {
+    return ticks.get();
+  }
+
+  public long getPelletsEaten() {
+    return pelletsEaten.get();
+  }
+
+  public long getGhostsEaten() {
+    return ghostsEaten.get();
+  }
+
+  public long getDeaths() {
+    return deaths.get();
+  }
+
+  public long getLives() {
+    return lives.get();
+  }
+
+  /**
+   * @return game time summed over ghosts spent in a state, in seconds.
+   */
+  public double getGhostStateSeconds(GhostState state) {
+    return ghostStateTime[state.ordinal()].getValue();
+  }
+
+  public LatencyHistogram getTickLatency() {
+    return this.tickLatency;
+  }
+
+  public LatencyHistogram getRenderLatency() {
+    return this.renderLatency;
+  }
+}
@@ -0,0 +1,33 @@
+package com.barrixxs.jpacman.metrics;
+
+import java.io.IOException;
+
+/**
+ * Value that goes up and down, last write wins.
+ */
+public final class Gauge extends Metric {
+
+  private volatile long value;
+
+  Gauge(String name, String help, String labels) {
+    super(name, help, labels);
+  }
+
+  public void set(long pValue) {
+    this.value = pValue;
+  }
+
+  public long get() {
+    return this.value;
+  }
+
+  @Override
+  public String getType() {
+    return "gauge";
+  }
+
+  @Override
+  public void collect(Sink sink) throws IOException {
+    sink.sample(getName(), getLabels(), value);
+  }
+}
@@ -0,0 +1,100 @@
+package com.barrixxs.jpacman.metrics;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Prometheus style histogram of durations, safe to record into from
+ * any number of threads.
+ *
+ * durations are recorded in nanoseconds and exported in seconds, as
+ * cumulative buckets plus a sum and a count. Unlike prof.Histogram the
+ * buckets are few and fixed, that's what a scraper can aggregate.
+ */
+public final class LatencyHistogram extends Metric {
+
+  /**
+   * Upper bounds of the default buckets in seconds, 50us up to 250ms.
+   */
+  public static final double[] DEFAULT_BUCKETS = {
+    0.00005, 0.0001, 0.00025, 0.0005, 0.001, 0.0025, 0.005, 0.01, 0.0167,
+    0.025, 0.05, 0.1, 0.25,
+  };
+
+  private final double[] bounds;
+  private final long[] boundNanos;
+  private final String[] leLabels;
+  //one more than the bounds, the last one is +Inf.
+  private final LongAdder[] buckets;
+  private final LongAdder sumNanos = new LongAdder();
+
+  LatencyHistogram(String name, String help, String labels, double[] bounds) {
+    super(name, help, labels);
+    if (bounds.length == 0) throw new IllegalArgumentException(
+      "histogram needs at least one bucket"
+    );
+    this.bounds = bounds.clone();
+    this.boundNanos = new long[bounds.length];
+    this.leLabels = new String[bounds.length + 1];
+    this.buckets = new LongAdder[bounds.length + 1];
+    String prefix = getLabels().isEmpty() ? "" : getLabels() + ",";
+    for (int i = 0; i < bounds.length; i++) {
+      if (i > 0 && bounds[i] <= bounds[i - 1]) throw new IllegalArgumentException(
+        "bucket bounds must go up: " + bounds[i]
+      );
+      boundNanos[i] = Math.round(bounds[i] * 1e9);
+      leLabels[i] = prefix + "le=\"" + bounds[i] + "\"";
+    }
+    leLabels[bounds.length] = prefix + "le=\"+Inf\"";
+    for (int i = 0; i < buckets.length; i++) buckets[i] = new LongAdder();
+  }
+
+  /**
+   * @param nanos duration, negative counts as 0.
+   */
+  public void record(long nanos) {
+    if (nanos < 0L) nanos = 0L;
+    int i = 0;
+    while (i < boundNanos.length && nanos > boundNanos[i]) i++;
+    buckets[i].increment();
+    sumNanos.add(nanos);
+  }
+
+  public long getCount() {
+    long count = 0L;
+    for (LongAdder bucket : buckets) count += bucket.sum();
+    return count;
+  }
+
+  /**
+   * @return total of everything recorded, in seconds.
+   */
+  public double getSum() {
+    return sumNanos.sum() / 1e9;
+  }
+
+  @Override
+  public String getType() {
+    return "histogram";
+  }
+
+  @Override
+  public void collect(Sink sink) throws IOException {
+    //buckets are read one after the other while others may record, so
+    //the total is taken from them and not read separately.
+    long cumulative = 0L;
+    for (int i = 0; i < buckets.length; i++) {
+      cumulative += buckets[i].sum();
+      sink.sample(getName() + "_bucket", leLabels[i], cumulative);
+    }
+    sink.sample(getName() + "_sum", getLabels(), getSum());
+    sink.sample(getName() + "_count", getLabels(), cumulative);
+  }
+
+  /**
+   * @return upper bounds of the buckets in seconds, without +Inf.
+   */
+  public double[] getBounds() {
+    return this.bounds.clone();
+  }
+}
@@ -0,0 +1,63 @@
+package com.barrixxs.jpacman.metrics;
+
+import java.io.IOException;
+
+/**
+ * Something a MetricsRegistry exports, one or more samples under a name.
+ *
+ * names and labels follow the prometheus conventions (snake_case,
+ * counters end in _total, times are in seconds).
+ */
+public abstract class Metric {
+
+  /**
+   * Receives the samples of a metric.
+   */
+  public interface Sink {
+
+    /**
+     * @param name sample name, the metrics name plus any suffix.
+     * @param labels label pairs without braces (state="chase"), or "".
+     * @param value sample value.
+     */
+    void sample(String name, String labels, double value) throws IOException;
+  }
+
+  private final String name;
+  private final String help;
+  private final String labels;
+
+  Metric(String name, String help, String labels) {
+    if (name == null || !name.matches("[a-zA-Z_:][a-zA-Z0-9_:]*")) {
+      throw new IllegalArgumentException("bad metric name: " + name);
+    }
+    this.name = name;
+    this.help = help == null ? "" : help;
+    this.labels = labels == null ? "" : labels;
+  }
+
+  /**
+   * @return counter, gauge or histogram.
+   */
+  public abstract String getType();
+
+  /**
+   * Hands every sample of the metric to a sink.
+   */
+  public abstract void collect(Sink sink) throws IOException;
+
+  public String getName() {
+    return this.name;
+  }
+
+  public String getHelp() {
+    return this.help;
+  }
+
+  /**
+   * @return label pairs without braces, "" for none.
+   */
+  public String getLabels() {
+    return this.labels;
+  }
+}
@@ -0,0 +1,142 @@
+package com.barrixxs.jpacman.metrics;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Named set of metrics, exported in the prometheus text format and as
+ * a JMX MBean.
+ *
+ * metrics are registered once up front, after that recording into them
+ * never takes a lock (see Counter, Gauge and LatencyHistogram) and
+ * exporting just reads them. A name can be registered more than once
+ * with different labels, those share one HELP and TYPE line.
+ */
+public final class MetricsRegistry {
+
+  private final List<Metric> metrics = new CopyOnWriteArrayList<>();
+
+  public Counter counter(String name, String help) {
+    return counter(name, help, "", 1.0);
+  }
+
+  /**
+   * @param labels label pairs without braces (state="chase"), or "".
+   * @param scale multiplies the count on export.
+   */
+  public Counter counter(String name, String help, String labels, double scale) {
+    return add(new Counter(name, help, labels, scale));
+  }
+
+  public Gauge gauge(String name, String help) {
+    return add(new Gauge(name, help, ""));
+  }
+
+  public LatencyHistogram histogram(String name, String help) {
+    return histogram(name, help, LatencyHistogram.DEFAULT_BUCKETS);
+  }
+
+  /**
+   * @param bounds upper bounds of the buckets in seconds, ascending.
+   */
+  public LatencyHistogram histogram(String name, String help, double[] bounds) {
+    return add(new LatencyHistogram(name, help, "", bounds));
+  }
+
+  private synchronized <M extends Metric> M add(M metric) {
+    for (Metric other : metrics) {
+      boolean sameName = other.getName().equals(metric.getName());
+      if (sameName && !other.getType().equals(metric.getType())) {
+        throw new IllegalArgumentException(
+          metric.getName() + " is already a " + other.getType()
+        );
+      }
+      if (sameName && other.getLabels().equals(metric.getLabels())) {
+        throw new IllegalArgumentException(
+          "metric already registered: " + key(metric.getName(), metric.getLabels())
+        );
+      }
+    }
+    metrics.add(metric);
+    return metric;
+  }
+
+  /**
+   * @return every metric, in the order they were registered.
+   */
+  public List<Metric> getMetrics() {
+    return new ArrayList<>(metrics);
+  }
+
+  /**
+   * Hands every sample of every metric to a sink.
+   */
+  public void collect(Metric.Sink sink) throws IOException {
+    for (Metric metric : metrics) metric.collect(sink);
+  }
+
+  /**
+   * Writes every metric in the prometheus text exposition format.
+   */
+  public void writePrometheus(Appendable out) throws IOException {
+    Set<String> written = new HashSet<>();
+    Metric.Sink sink = (name, labels, value) -> {
+      out.append(name);
+      if (!labels.isEmpty()) out.append('{').append(labels).append('}');
+      out.append(' ').append(format(value)).append('\n');
+    };
+    for (Metric metric : metrics) {
+      String name = metric.getName();
+      if (!written.add(name)) continue;
+      out.append("# HELP ").append(name).append(' ')
+        .append(metric.getHelp().replace("\\", "\\\\").replace("\n", "\\n"))
+        .append('\n');
+      out.append("# TYPE ").append(name).append(' ')
+        .append(metric.getType()).append('\n');
+      //every metric under this name, labels and all.
+      for (Metric same : metrics) {
+        if (same.getName().equals(name)) same.collect(sink);
+      }
+    }
+  }
+
+  /**
+   * Publishes the registry on the platform MBean server, every sample
+   * is a read only attribute (see key).
+   *
+   * @param objectName name to register under.
+   * @return the name it was registered under.
+   */
+  public ObjectName registerMBean(String objectName) throws JMException {
+    ObjectName name = new ObjectName(objectName);
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    server.registerMBean(new RegistryMBean(this), name);
+    return name;
+  }
+
+  /**
+   * @return attribute name of a sample, name{label=value,...} without
+   * quotes, or just the name without labels.
+   */
+  static String key(String name, String labels) {
+    if (labels.isEmpty()) return name;
+    return name + "{" + labels.replace("\"", "") + "}";
+  }
+
+  private static String format(double value) {
+    if (Double.isNaN(value)) return "NaN";
+    if (Double.isInfinite(value)) return value > 0 ? "+Inf" : "-Inf";
+    if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+      return Long.toString((long) value);
+    }
+    return Double.toString(value);
+  }
+}
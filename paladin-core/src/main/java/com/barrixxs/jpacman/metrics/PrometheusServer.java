@@ -0,0 +1,96 @@
+package com.barrixxs.jpacman.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves a MetricsRegistry at /metrics in the prometheus text format.
+ *
+ * only listens on the loopback address, anything off the machine
+ * scrapes through whatever agent already runs there. Requests are
+ * handled one at a time on a daemon thread so a scrape never touches
+ * the game loop.
+ */
+public final class PrometheusServer implements Closeable {
+
+  public static final String PATH = "/metrics";
+  private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+  private final HttpServer server;
+  private final ExecutorService executor;
+
+  private PrometheusServer(HttpServer server, ExecutorService executor) {
+    this.server = server;
+    this.executor = executor;
+  }
+
+  /**
+   * Starts serving.
+   *
+   * @param registry metrics to serve.
+   * @param port port on the loopback address, 0 picks a free one.
+   */
+  public static PrometheusServer start(MetricsRegistry registry, int port)
+    throws IOException {
+    if (port < 0 || port > 0xFFFF) throw new IllegalArgumentException(
+      "bad port: " + port
+    );
+    HttpServer server = HttpServer.create(
+      new InetSocketAddress(InetAddress.getLoopbackAddress(), port),
+      0
+    );
+    ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+      Thread thread = new Thread(r, "paladin-metrics");
+      thread.setDaemon(true);
+      return thread;
+    });
+    server.createContext(PATH, exchange -> serve(registry, exchange));
+    server.setExecutor(executor);
+    server.start();
+    return new PrometheusServer(server, executor);
+  }
+
+  private static void serve(MetricsRegistry registry, HttpExchange exchange)
+    throws IOException {
+    try (exchange) {
+      String method = exchange.getRequestMethod();
+      if (!method.equals("GET") && !method.equals("HEAD")) {
+        exchange.sendResponseHeaders(405, -1);
+        return;
+      }
+      StringBuilder text = new StringBuilder(4096);
+      registry.writePrometheus(text);
+      byte[] body = text.toString().getBytes(StandardCharsets.UTF_8);
+      exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+      if (method.equals("HEAD")) {
+        exchange.sendResponseHeaders(200, -1);
+        return;
+      }
+      exchange.sendResponseHeaders(200, body.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    }
+  }
+
+  /**
+   * @return port being listened on.
+   */
+  public int getPort() {
+    return server.getAddress().getPort();
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+}
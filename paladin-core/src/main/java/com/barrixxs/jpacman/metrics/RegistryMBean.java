@@ -0,0 +1,107 @@
+package com.barrixxs.jpacman.metrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.ReflectionException;
+
+/**
+ * Read only view of a MetricsRegistry for JMX.
+ *
+ * metrics are registered once, but the MBean info is built on every
+ * ask anyway so ones added later still show up.
+ */
+final class RegistryMBean implements DynamicMBean {
+
+  private final MetricsRegistry registry;
+
+  RegistryMBean(MetricsRegistry registry) {
+    this.registry = registry;
+  }
+
+  private Map<String, Double> samples() {
+    Map<String, Double> samples = new LinkedHashMap<>();
+    try {
+      registry.collect((name, labels, value) ->
+        samples.put(MetricsRegistry.key(name, labels), value)
+      );
+    } catch (IOException e) {
+      //a map sink doesn't throw.
+      throw new UncheckedIOException(e);
+    }
+    return samples;
+  }
+
+  @Override
+  public Object getAttribute(String attribute) throws AttributeNotFoundException {
+    Double value = samples().get(attribute);
+    if (value == null) throw new AttributeNotFoundException(attribute);
+    return value;
+  }
+
+  @Override
+  public AttributeList getAttributes(String[] attributes) {
+    Map<String, Double> samples = samples();
+    AttributeList list = new AttributeList();
+    for (String attribute : attributes) {
+      Double value = samples.get(attribute);
+      if (value != null) list.add(new Attribute(attribute, value));
+    }
+    return list;
+  }
+
+  @Override
+  public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+    //every attribute is read only, so none can be set.
+    throw new AttributeNotFoundException(attribute.getName() + " is read only");
+  }
+
+  @Override
+  public AttributeList setAttributes(AttributeList attributes) {
+    return new AttributeList();
+  }
+
+  @Override
+  public Object invoke(String actionName, Object[] params, String[] signature)
+    throws ReflectionException {
+    throw new ReflectionException(new NoSuchMethodException(actionName));
+  }
+
+  @Override
+  public MBeanInfo getMBeanInfo() {
+    Map<String, String> help = new LinkedHashMap<>();
+    for (Metric metric : registry.getMetrics()) {
+      help.putIfAbsent(metric.getName(), metric.getHelp());
+    }
+    List<MBeanAttributeInfo> attributes = new ArrayList<>();
+    for (String key : samples().keySet()) {
+      String base = key.contains("{") ? key.substring(0, key.indexOf('{')) : key;
+      String description = help.get(base);
+      if (description == null) {
+        //histogram samples are name_bucket, name_sum and name_count.
+        description = help.getOrDefault(base.substring(0, base.lastIndexOf('_')), "");
+      }
+      attributes.add(new MBeanAttributeInfo(
+        key, "java.lang.Double", description, true, false, false
+      ));
+    }
+    return new MBeanInfo(
+      RegistryMBean.class.getName(),
+      "paladin metrics",
+      attributes.toArray(new MBeanAttributeInfo[0]),
+      null,
+      new MBeanOperationInfo[0],
+      null
+    );
+  }
+}
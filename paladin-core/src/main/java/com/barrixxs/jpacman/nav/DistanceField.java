@@ -0,0 +1,137 @@
+package com.barrixxs.jpacman.nav;
+
+import com.barrixxs.jpacman.entities.Direction;
+import java.util.Arrays;
+
+/**
+ * Shortest path lengths between every pair of walkable tiles.
+ *
+ * Built once with a breadth first search from every walkable tile
+ * over a MazeGraph (so tunnels wrap and the gate is open or closed
+ * depending on the graph). The classic maze has ~300 walkable tiles
+ * so the whole table is a ~180kb short[].
+ *
+ * Tiles are passed around as tile indices (y * width + x), see
+ * MazeGraph.tile(x, y).
+ */
+public final class DistanceField {
+
+  /**
+   * Distance returned when there is no path (or a tile isn't walkable).
+   */
+  public static final int UNREACHABLE = -1;
+
+  private final MazeGraph graph;
+  private final int[] idOf; //tile index -> compact id or -1.
+  private final int[] tileOf; //compact id -> tile index.
+  private final int count;
+  private final short[] dist; //from id * count + to id.
+
+  public DistanceField(MazeGraph graph) {
+    this.graph = graph;
+
+    int tiles = graph.getWidth() * graph.getHeight();
+    idOf = new int[tiles];
+    Arrays.fill(idOf, -1);
+    int[] walkableTiles = new int[tiles];
+    int n = 0;
+    for (int tile = 0; tile < tiles; tile++) {
+      int x = tile % graph.getWidth();
+      int y = tile / graph.getWidth();
+      if (!graph.isWalkable(x, y)) continue;
+      idOf[tile] = n;
+      walkableTiles[n++] = tile;
+    }
+    count = n;
+    tileOf = Arrays.copyOf(walkableTiles, count);
+
+    dist = new short[count * count];
+    Arrays.fill(dist, (short) UNREACHABLE);
+    int[] queue = new int[count];
+    for (int from = 0; from < count; from++) bfs(from, queue);
+  }
+
+  private void bfs(int from, int[] queue) {
+    int row = from * count;
+    int head = 0;
+    int tail = 0;
+    queue[tail++] = from;
+    dist[row + from] = 0;
+    while (head < tail) {
+      int id = queue[head++];
+      int x = tileOf[id] % graph.getWidth();
+      int y = tileOf[id] / graph.getWidth();
+      short next = (short) (dist[row + id] + 1);
+      for (Direction dir : Direction.ALL) {
+        int tile = graph.step(x, y, dir);
+        if (tile == -1) continue;
+        int nid = idOf[tile];
+        if (dist[row + nid] != UNREACHABLE) continue;
+        dist[row + nid] = next;
+        queue[tail++] = nid;
+      }
+    }
+  }
+
+  /**
+   * Length in steps of the shortest path between two tiles.
+   *
+   * @param fromTile tile index we start at.
+   * @param toTile tile index we want to get to.
+   * @return number of steps or UNREACHABLE.
+   */
+  public int distance(int fromTile, int toTile) {
+    int from = id(fromTile);
+    int to = id(toTile);
+    if (from == -1 || to == -1) return UNREACHABLE;
+    return dist[from * count + to];
+  }
+
+  public int distance(int fromX, int fromY, int toX, int toY) {
+    return distance(graph.tile(fromX, fromY), graph.tile(toX, toY));
+  }
+
+  /**
+   * First step of a shortest path between two tiles.
+   *
+   * when more than one direction is on a shortest path the first one
+   * in Direction order (up, left, down, right) wins.
+   *
+   * @param fromTile tile index we start at.
+   * @param toTile tile index we want to get to.
+   * @return direction to move in, or null if already there or unreachable.
+   */
+  public Direction nextStep(int fromTile, int toTile) {
+    int d = distance(fromTile, toTile);
+    if (d <= 0) return null;
+
+    int to = id(toTile);
+    int x = fromTile % graph.getWidth();
+    int y = fromTile / graph.getWidth();
+    for (Direction dir : Direction.ALL) {
+      int tile = graph.step(x, y, dir);
+      if (tile != -1 && dist[idOf[tile] * count + to] == d - 1) return dir;
+    }
+    return null;
+  }
+
+  public Direction nextStep(int fromX, int fromY, int toX, int toY) {
+    return nextStep(graph.tile(fromX, fromY), graph.tile(toX, toY));
+  }
+
+  public MazeGraph getGraph() {
+    return this.graph;
+  }
+
+  /**
+   * @return number of walkable tiles in the table.
+   */
+  public int getTileCount() {
+    return this.count;
+  }
+
+  private int id(int tile) {
+    if (tile < 0 || tile >= idOf.length) return -1;
+    return idOf[tile];
+  }
+}
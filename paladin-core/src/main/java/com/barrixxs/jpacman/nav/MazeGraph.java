@@ -0,0 +1,230 @@
+package com.barrixxs.jpacman.nav;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.barrixxs.jpacman.entities.Direction;
+import com.barrixxs.jpacman.entities.Maze;
+import java.util.Arrays;
+
+/**
+ * Navigation graph of a maze.
+ *
+ * Nodes are the walkable tiles where something can happen: junctions
+ * (3 or 4 exits) and dead ends. Every other walkable tile is part of a
+ * corridor (which can bend around corners) joining two nodes. Edges are
+ * stored per node per direction with the corridor length in tiles.
+ *
+ * The tunnel row wraps around, stepping off the left end of the tunnel
+ * comes back in on the right end (and the other way around).
+ *
+ * By default the ghost gate counts as a wall, ghosts going through the
+ * gate don't use the graph. A graph with the gate open can be built for
+ * things that need to path into the pen.
+ */
+public final class MazeGraph {
+
+  private static final int DIRS = Direction.ALL.length;
+
+  private final int width;
+  private final int height;
+  private final boolean[] walkable; //by tile index.
+  private final boolean gateOpen;
+
+  //tunnel wrap.
+  private final int tunnelY;
+  private final int tunnelLeftX;
+  private final int tunnelRightX;
+
+  private final int[] nodeAt; //tile index -> node or -1.
+  private final int[] nodeTiles; //node -> tile index.
+  private final int[] edgeTarget; //node * 4 + dir -> node or -1.
+  private final int[] edgeLength; //node * 4 + dir -> tiles.
+
+  public MazeGraph(Maze maze) {
+    this(maze, false);
+  }
+
+  /**
+   * @param maze maze to build the graph of.
+   * @param gateOpen if true the ghost gate can be walked through.
+   */
+  public MazeGraph(Maze maze, boolean gateOpen) {
+    width = maze.getWidth();
+    height = maze.getHeight();
+    this.gateOpen = gateOpen;
+
+    //a tile aligned point only overlaps its own tile.
+    walkable = new boolean[width * height];
+    for (int x = 0; x < width; x++) {
+      for (int y = 0; y < height; y++) {
+        walkable[y * width + x] = !maze.overlapsWall(x, y, gateOpen);
+      }
+    }
+
+    Rectangle left = maze.getLeftTunnel();
+    Rectangle right = maze.getRightTunnel();
+    tunnelY = (int) (left.y + 1f);
+    tunnelLeftX = (int) left.x;
+    tunnelRightX = (int) (right.x + right.width - 1f);
+
+    //nodes.
+    nodeAt = new int[width * height];
+    Arrays.fill(nodeAt, -1);
+    int count = 0;
+    int[] tiles = new int[width * height];
+    for (int tile = 0; tile < walkable.length; tile++) {
+      if (!walkable[tile]) continue;
+      int x = tile % width;
+      int y = tile / width;
+      if (exits(x, y) != 2) {
+        nodeAt[tile] = count;
+        tiles[count++] = tile;
+      }
+    }
+    nodeTiles = Arrays.copyOf(tiles, count);
+
+    //edges.
+    edgeTarget = new int[count * DIRS];
+    edgeLength = new int[count * DIRS];
+    Arrays.fill(edgeTarget, -1);
+    for (int node = 0; node < count; node++) {
+      for (Direction dir : Direction.ALL) walkEdge(node, dir);
+    }
+  }
+
+  /**
+   * Follows the corridor leaving node in dir until we hit another node.
+   */
+  private void walkEdge(int node, Direction dir) {
+    int x = nodeTiles[node] % width;
+    int y = nodeTiles[node] / width;
+    int next = step(x, y, dir);
+    if (next == -1) return;
+
+    int length = 1;
+    Direction heading = dir;
+    //guard against corridors that loop without a node.
+    while (nodeAt[next] == -1 && length <= walkable.length) {
+      x = next % width;
+      y = next / width;
+      //corridor tile, exactly one way on that isn't back.
+      Direction back = heading.opposite();
+      for (Direction d : Direction.ALL) {
+        if (d != back && step(x, y, d) != -1) {
+          heading = d;
+          break;
+        }
+      }
+      next = step(x, y, heading);
+      length++;
+    }
+    if (nodeAt[next] == -1) return;
+
+    edgeTarget[node * DIRS + dir.ordinal()] = nodeAt[next];
+    edgeLength[node * DIRS + dir.ordinal()] = length;
+  }
+
+  /**
+   * Tile index one step from (x, y) in dir (wrapping through the tunnel).
+   *
+   * @return tile index or -1 if that tile can't be walked on.
+   */
+  public int step(int x, int y, Direction dir) {
+    int nx = x + dir.dx;
+    int ny = y + dir.dy;
+    if (ny == tunnelY) {
+      if (x == tunnelLeftX && dir == Direction.LEFT) nx = tunnelRightX;
+      else if (x == tunnelRightX && dir == Direction.RIGHT) nx = tunnelLeftX;
+    }
+    if (nx < 0 || ny < 0 || nx >= width || ny >= height) return -1;
+    int tile = ny * width + nx;
+    return walkable[tile] ? tile : -1;
+  }
+
+  /**
+   * @return number of walkable neighbours of (x, y).
+   */
+  public int exits(int x, int y) {
+    int exits = 0;
+    for (Direction dir : Direction.ALL) if (step(x, y, dir) != -1) exits++;
+    return exits;
+  }
+
+  public boolean isWalkable(int x, int y) {
+    if (x < 0 || y < 0 || x >= width || y >= height) return false;
+    return walkable[y * width + x];
+  }
+
+  /**
+   * Returns true if (x, y) is a straight piece of corridor along dir.
+   *
+   * something moving along dir on such a tile has no choice but to keep
+   * going, so there is nothing to decide.
+   */
+  public boolean isStraight(int x, int y, Direction dir) {
+    if (!isWalkable(x, y)) return false;
+    Direction side = dir == Direction.UP || dir == Direction.DOWN
+      ? Direction.LEFT
+      : Direction.UP;
+    return (
+      step(x, y, dir) != -1 &&
+      step(x, y, dir.opposite()) != -1 &&
+      step(x, y, side) == -1 &&
+      step(x, y, side.opposite()) == -1
+    );
+  }
+
+  public boolean isGateOpen() {
+    return this.gateOpen;
+  }
+
+  /**
+   * @return tile index of (x, y), the same indexing step() returns, or
+   * -1 if (x, y) is off the grid (like pac halfway into the tunnel).
+   */
+  public int tile(int x, int y) {
+    if (x < 0 || y < 0 || x >= width || y >= height) return -1;
+    return y * width + x;
+  }
+
+  public int getWidth() {
+    return this.width;
+  }
+
+  public int getHeight() {
+    return this.height;
+  }
+
+  public int getNodeCount() {
+    return nodeTiles.length;
+  }
+
+  public int getNodeX(int node) {
+    return nodeTiles[node] % width;
+  }
+
+  public int getNodeY(int node) {
+    return nodeTiles[node] / width;
+  }
+
+  /**
+   * @return node at tile (x, y) or -1 if that tile isn't a node.
+   */
+  public int nodeAt(int x, int y) {
+    if (x < 0 || y < 0 || x >= width || y >= height) return -1;
+    return nodeAt[y * width + x];
+  }
+
+  /**
+   * @return node reached by leaving node in dir or -1 if there is no exit.
+   */
+  public int getEdgeTarget(int node, Direction dir) {
+    return edgeTarget[node * DIRS + dir.ordinal()];
+  }
+
+  /**
+   * @return length in tiles of the corridor leaving node in dir (0 if none).
+   */
+  public int getEdgeLength(int node, Direction dir) {
+    return edgeLength[node * DIRS + dir.ordinal()];
+  }
+}
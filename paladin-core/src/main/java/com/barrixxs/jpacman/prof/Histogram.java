@@ -0,0 +1,124 @@
+package com.barrixxs.jpacman.prof;
+
+import java.util.Arrays;
+
+/**
+ * Histogram of durations (or any positive longs) with fixed relative
+ * precision, in the style of HdrHistogram.
+ *
+ * values below 2^SUB_BITS get a bucket each, above that every power of
+ * two is split into 2^(SUB_BITS - 1) equal buckets. So a bucket is never
+ * wider than about 1.6% of the values in it, whether that's 40ns or 4s,
+ * and the whole range of a long fits in a few thousand counters.
+ *
+ * recording is a couple of shifts and an increment, nothing is
+ * allocated after construction. Not thread safe.
+ */
+public final class Histogram {
+
+  private static final int SUB_BITS = 7;
+  private static final int SUB_COUNT = 1 << SUB_BITS;
+  private static final int HALF_COUNT = SUB_COUNT / 2;
+  //the largest shift is 63 - SUB_BITS, its buckets end at (shift + 2) * HALF.
+  private static final int BUCKETS = (64 - SUB_BITS + 1) * HALF_COUNT;
+
+  private final long[] counts = new long[BUCKETS];
+  private long count;
+  private long total;
+  private long min = Long.MAX_VALUE;
+  private long max;
+
+  /**
+   * @param value value to count, negative values count as 0.
+   */
+  public void record(long value) {
+    if (value < 0L) value = 0L;
+    counts[index(value)]++;
+    count++;
+    total += value;
+    if (value < min) min = value;
+    if (value > max) max = value;
+  }
+
+  /**
+   * Forgets everything recorded so far.
+   */
+  public void reset() {
+    Arrays.fill(counts, 0L);
+    count = 0L;
+    total = 0L;
+    min = Long.MAX_VALUE;
+    max = 0L;
+  }
+
+  /**
+   * Adds everything another histogram recorded to this one.
+   */
+  public void add(Histogram other) {
+    for (int i = 0; i < BUCKETS; i++) counts[i] += other.counts[i];
+    count += other.count;
+    total += other.total;
+    min = Math.min(min, other.min);
+    max = Math.max(max, other.max);
+  }
+
+  /**
+   * @param percentile 0 to 100.
+   * @return largest value in the bucket holding that percentile (never
+   * more than the largest value recorded), 0 if nothing was recorded.
+   */
+  public long getValueAtPercentile(double percentile) {
+    if (percentile < 0.0 || percentile > 100.0) {
+      throw new IllegalArgumentException(
+        "percentile must be between 0 and 100: " + percentile
+      );
+    }
+    if (count == 0L) return 0L;
+    long rank = Math.max(1L, (long) Math.ceil(percentile / 100.0 * count));
+    long seen = 0L;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += counts[i];
+      if (seen >= rank) return Math.min(highestInBucket(i), max);
+    }
+    return max;
+  }
+
+  public long getCount() {
+    return this.count;
+  }
+
+  public long getTotal() {
+    return this.total;
+  }
+
+  public double getMean() {
+    return count == 0L ? 0.0 : (double) total / count;
+  }
+
+  /**
+   * @return smallest value recorded, 0 if nothing was recorded.
+   */
+  public long getMin() {
+    return count == 0L ? 0L : this.min;
+  }
+
+  public long getMax() {
+    return this.max;
+  }
+
+  static int index(long value) {
+    if (value < SUB_COUNT) return (int) value;
+    //value >>> shift keeps the top SUB_BITS bits, in [HALF, SUB).
+    int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BITS + 1;
+    return shift * HALF_COUNT + (int) (value >>> shift);
+  }
+
+  static long highestInBucket(int index) {
+    if (index < SUB_COUNT) return index;
+    int shift = index / HALF_COUNT - 1;
+    long top = index % HALF_COUNT + HALF_COUNT;
+    //for the very last bucket (top + 1) << shift is 2^63, which wraps
+    //to Long.MIN_VALUE, minus one is Long.MAX_VALUE as it should be.
+    return ((top + 1) << shift) - 1;
+  }
+}
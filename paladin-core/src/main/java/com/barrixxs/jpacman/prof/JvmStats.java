@@ -0,0 +1,87 @@
+package com.barrixxs.jpacman.prof;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * Garbage collections and the allocation rate of one thread, sampled
+ * now and then for the profiler overlay.
+ *
+ * the allocation rate is for the thread that made the JvmStats (the
+ * game loop), it reads 0 on JVMs that can't count allocated bytes per
+ * thread. Sampling asks the mx beans, it allocates a little and isn't
+ * meant to be called every frame.
+ */
+public final class JvmStats {
+
+  private final List<GarbageCollectorMXBean> collectors;
+  private final com.sun.management.ThreadMXBean threads;
+  private final long threadId;
+
+  private long gcCount;
+  private long gcMillis;
+  private long allocatedBytes;
+  private long sampleNanos;
+  private double bytesPerSecond;
+
+  public JvmStats() {
+    this.collectors = ManagementFactory.getGarbageCollectorMXBeans();
+    this.threadId = Thread.currentThread().getId();
+    java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    com.sun.management.ThreadMXBean sun = null;
+    if (bean instanceof com.sun.management.ThreadMXBean candidate
+      && candidate.isThreadAllocatedMemorySupported()) {
+      candidate.setThreadAllocatedMemoryEnabled(true);
+      sun = candidate;
+    }
+    this.threads = sun;
+    sample();
+  }
+
+  /**
+   * Reads the counters again, rates are since the last sample.
+   */
+  public void sample() {
+    long count = 0L;
+    long millis = 0L;
+    for (GarbageCollectorMXBean collector : collectors) {
+      //-1 when a collector doesn't know.
+      count += Math.max(0L, collector.getCollectionCount());
+      millis += Math.max(0L, collector.getCollectionTime());
+    }
+    gcCount = count;
+    gcMillis = millis;
+
+    long now = System.nanoTime();
+    long allocated = threads == null ? 0L : threads.getThreadAllocatedBytes(threadId);
+    long elapsed = now - sampleNanos;
+    if (sampleNanos != 0L && elapsed > 0L) {
+      bytesPerSecond = (allocated - allocatedBytes) * 1e9 / elapsed;
+    }
+    allocatedBytes = allocated;
+    sampleNanos = now;
+  }
+
+  /**
+   * @return collections so far, summed over every collector.
+   */
+  public long getGcCount() {
+    return this.gcCount;
+  }
+
+  /**
+   * @return time spent collecting so far, summed over every collector.
+   */
+  public long getGcMillis() {
+    return this.gcMillis;
+  }
+
+  /**
+   * @return bytes the thread allocated between the last two samples,
+   * per second.
+   */
+  public double getAllocationRate() {
+    return this.bytesPerSecond;
+  }
+}
@@ -0,0 +1,134 @@
+package com.barrixxs.jpacman.prof;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Times the sections of a loop (phases of a tick, passes of a frame)
+ * into one Histogram per section.
+ *
+ * sections run back to back, each one ends where the next starts:
+ * <pre>
+ *   long t = profiler.start();
+ *   doA();
+ *   t = profiler.lap(Phase.A, t);
+ *   doB();
+ *   t = profiler.lap(Phase.B, t);
+ * </pre>
+ * while turned off start and lap are a single branch and return 0,
+ * histograms aren't even allocated until the profiler is first turned
+ * on. Durations are in nanoseconds, not thread safe.
+ *
+ * @param <E> enum naming the sections.
+ */
+public final class Profiler<E extends Enum<E>> {
+
+  private final String name;
+  private final E[] sections;
+  private Histogram[] histograms;
+  private boolean enabled;
+
+  /**
+   * @param name name of the profiler, first column of the csv.
+   * @param type enum naming the sections.
+   */
+  public Profiler(String name, Class<E> type) {
+    this.name = name;
+    this.sections = type.getEnumConstants();
+  }
+
+  /**
+   * @return the time now, 0 while turned off.
+   */
+  public long start() {
+    return enabled ? System.nanoTime() : 0L;
+  }
+
+  /**
+   * Ends a section.
+   *
+   * @param section section that just ran.
+   * @param since what start (or the last lap) returned.
+   * @return the time now, the start of the next section.
+   */
+  public long lap(E section, long since) {
+    if (!enabled) return 0L;
+    long now = System.nanoTime();
+    //turned on halfway through, there is no start to measure from.
+    if (since != 0L) histograms[section.ordinal()].record(now - since);
+    return now;
+  }
+
+  /**
+   * Records a duration measured some other way.
+   */
+  public void record(E section, long nanos) {
+    if (!enabled) return;
+    histograms[section.ordinal()].record(nanos);
+  }
+
+  public void setEnabled(boolean enabled) {
+    if (enabled && histograms == null) {
+      histograms = new Histogram[sections.length];
+      for (int i = 0; i < histograms.length; i++) histograms[i] = new Histogram();
+    }
+    this.enabled = enabled;
+  }
+
+  public boolean isEnabled() {
+    return this.enabled;
+  }
+
+  /**
+   * Forgets everything recorded so far.
+   */
+  public void reset() {
+    if (histograms == null) return;
+    for (Histogram histogram : histograms) histogram.reset();
+  }
+
+  /**
+   * @return the sections histogram, null if never turned on.
+   */
+  public Histogram get(E section) {
+    return histograms == null ? null : histograms[section.ordinal()];
+  }
+
+  public String getName() {
+    return this.name;
+  }
+
+  public E[] getSections() {
+    return this.sections.clone();
+  }
+
+  /**
+   * Header line matching writeCsv.
+   */
+  public static void writeCsvHeader(Appendable out) throws IOException {
+    out.append("profiler,section,count,mean_us,p50_us,p90_us,p99_us,p999_us,max_us\n");
+  }
+
+  /**
+   * Writes one line per section, times in microseconds.
+   */
+  public void writeCsv(Appendable out) throws IOException {
+    if (histograms == null) return;
+    for (E section : sections) {
+      Histogram h = histograms[section.ordinal()];
+      out.append(String.format(
+        Locale.ROOT,
+        "%s,%s,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f\n",
+        name,
+        section.name().toLowerCase(Locale.ROOT),
+        h.getCount(),
+        h.getMean() / 1e3,
+        h.getValueAtPercentile(50.0) / 1e3,
+        h.getValueAtPercentile(90.0) / 1e3,
+        h.getValueAtPercentile(99.0) / 1e3,
+        h.getValueAtPercentile(99.9) / 1e3,
+        h.getMax() / 1e3
+      ));
+    }
+  }
+}
@@ -0,0 +1,340 @@
+package com.barrixxs.jpacman.replay;
+
+import com.barrixxs.jpacman.entities.Direction;
+import com.barrixxs.jpacman.entities.Maze;
+import com.barrixxs.jpacman.entities.TileMapMaze;
+import com.barrixxs.jpacman.input.InputSource;
+import com.barrixxs.jpacman.sim.GameSnapshot;
+import com.barrixxs.jpacman.sim.PacManGame;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A recorded session that can be seeked, read through a memory map.
+ *
+ * layout (varints unless noted, see ReplayWriter):
+ * <pre>
+ *   header  "PLDR", version, zig zag seed, level, maze hash (8 bytes),
+ *           step delta float bits, keyframe interval.
+ *   stream  records, each starts with (ticks since last record &lt;&lt; 3)
+ *           | code. codes 0-3 are a direction change (Direction
+ *           ordinal), 4 is a keyframe followed by its payload length
+ *           and payload: state slot count, zig zag slots, candy word
+ *           count, candy words (8 bytes each).
+ *   index   total ticks, keyframe count, then (tick, file offset) of
+ *           every keyframe, both delta encoded.
+ *   footer  index offset (8 bytes), "PLDX".
+ * </pre>
+ *
+ * seeking only reads the index (once, on open) and the stream from
+ * the keyframe at or before the tick, then re-simulates the ticks up
+ * to it. Nothing before that keyframe is touched.
+ */
+public final class ReplayFile {
+
+  //2: snapshots hold the movement mode.
+  public static final int VERSION = 2;
+
+  static final byte[] MAGIC = { 'P', 'L', 'D', 'R' };
+  static final byte[] FOOTER_MAGIC = { 'P', 'L', 'D', 'X' };
+  static final int KEYFRAME = 4;
+  private static final int FOOTER_SIZE = 8 + FOOTER_MAGIC.length;
+
+  private final ByteBuffer data;
+
+  private final long seed;
+  private final int level;
+  private final long mazeHash;
+  private final float step;
+  private final int keyframeInterval;
+  private final int streamEnd;
+
+  private final long ticks;
+  private final long[] keyframeTicks;
+  private final int[] keyframeOffsets;
+
+  private ReplayFile(ByteBuffer data) {
+    this.data = data;
+    int size = data.limit();
+    if (size < MAGIC.length + FOOTER_SIZE || !magicAt(data, 0, MAGIC)) {
+      throw new IllegalArgumentException("not a replay file");
+    }
+    if (!magicAt(data, size - FOOTER_MAGIC.length, FOOTER_MAGIC)) {
+      throw new IllegalArgumentException("replay file has no index");
+    }
+
+    try {
+      ByteBuffer in = data.duplicate().position(MAGIC.length);
+      long version = readVarLong(in);
+      if (version != VERSION) throw new IllegalArgumentException(
+        "unsupported replay version: " + version
+      );
+      this.seed = readZigZagLong(in);
+      this.level = (int) readVarLong(in);
+      this.mazeHash = in.getLong();
+      this.step = Float.intBitsToFloat((int) readVarLong(in));
+      this.keyframeInterval = (int) readVarLong(in);
+
+      long indexOffset = data.getLong(size - FOOTER_SIZE);
+      if (indexOffset < in.position() || indexOffset > size - FOOTER_SIZE) {
+        throw new IllegalArgumentException("bad index offset " + indexOffset);
+      }
+      this.streamEnd = (int) indexOffset;
+      in.position(streamEnd).limit(size - FOOTER_SIZE);
+      this.ticks = readVarLong(in);
+      int count = (int) readVarLong(in);
+      if (count < 1) throw new IllegalArgumentException("replay has no keyframes");
+      this.keyframeTicks = new long[count];
+      this.keyframeOffsets = new int[count];
+      long tick = 0L;
+      long offset = 0L;
+      for (int i = 0; i < count; i++) {
+        tick += readVarLong(in);
+        offset += readVarLong(in);
+        if (offset >= streamEnd) throw new IllegalArgumentException(
+          "keyframe " + i + " is past the stream"
+        );
+        keyframeTicks[i] = tick;
+        keyframeOffsets[i] = (int) offset;
+      }
+    } catch (BufferUnderflowException e) {
+      throw new IllegalArgumentException("truncated replay file", e);
+    }
+  }
+
+  /**
+   * Maps a replay file read only.
+   *
+   * @throws IllegalArgumentException if it isn't a (complete) replay file.
+   */
+  public static ReplayFile open(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) throw new IllegalArgumentException(
+        "replay file too large: " + channel.size()
+      );
+      //the mapping stays valid after the channel is closed.
+      MappedByteBuffer map =
+        channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      return new ReplayFile(map);
+    }
+  }
+
+  /**
+   * Reads a replay file that's already in memory.
+   */
+  public static ReplayFile wrap(byte[] bytes) {
+    return new ReplayFile(ByteBuffer.wrap(bytes));
+  }
+
+  /**
+   * Returns true if the file starts like a replay file.
+   */
+  public static boolean isReplayFile(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      ByteBuffer head = ByteBuffer.allocate(MAGIC.length);
+      while (head.hasRemaining() && channel.read(head) >= 0) {}
+      return !head.hasRemaining() && magicAt(head, 0, MAGIC);
+    }
+  }
+
+  /**
+   * Hash of a mazes layout (size, walls, candy count), replays only
+   * make sense in the maze they were recorded in.
+   */
+  public static long mazeHash(Maze maze) {
+    long hash = 0xCBF29CE484222325L; //FNV-1a
+    hash = (hash ^ maze.getWidth()) * 0x100000001B3L;
+    hash = (hash ^ maze.getHeight()) * 0x100000001B3L;
+    hash = (hash ^ maze.getInitialCandyCount()) * 0x100000001B3L;
+    for (int y = 0; y < maze.getHeight(); y++) {
+      for (int x = 0; x < maze.getWidth(); x++) {
+        hash = (hash ^ (maze.isWall(x, y) ? 1 : 0)) * 0x100000001B3L;
+      }
+    }
+    return hash;
+  }
+
+  /**
+   * Builds a fresh game (on a copy of template) at a tick.
+   *
+   * @param template maze the replay was recorded in.
+   * @param tick tick to seek to, 0 to getTicks().
+   */
+  public PacManGame seek(TileMapMaze template, long tick) {
+    PacManGame game = new PacManGame(new TileMapMaze(template), seed);
+    seek(game, tick);
+    return game;
+  }
+
+  /**
+   * Moves a game to a tick of this replay.
+   *
+   * the game is restored from the nearest keyframe at or before tick
+   * and stepped forward, at most a keyframe interval of ticks. It is
+   * left with an input source that keeps playing the replay, so
+   * updating it carries on the recorded session.
+   *
+   * @param game game built with the same maze as the replay.
+   * @param tick tick to seek to, 0 to getTicks().
+   */
+  public void seek(PacManGame game, long tick) {
+    if (tick < keyframeTicks[0] || tick > ticks) {
+      throw new IllegalArgumentException(
+        "tick " + tick + " outside of " + keyframeTicks[0] + ".." + ticks
+      );
+    }
+    if (mazeHash(game.getMaze()) != mazeHash) throw new IllegalArgumentException(
+      "replay was recorded in a different maze"
+    );
+
+    int k = Arrays.binarySearch(keyframeTicks, tick);
+    if (k < 0) k = -k - 2; //keyframe before the insertion point.
+
+    Playback playback = new Playback(
+      data.duplicate().position(keyframeOffsets[k]).limit(streamEnd)
+    );
+    game.restore(playback.readKeyframe());
+    game.setInput(playback);
+    while (game.getTick() < tick && !game.isGameOver()) game.update(step);
+  }
+
+  /**
+   * Plays the whole replay on a fresh copy of template.
+   */
+  public PacManGame play(TileMapMaze template) {
+    return seek(template, ticks);
+  }
+
+  public long getSeed() {
+    return this.seed;
+  }
+
+  public int getLevel() {
+    return this.level;
+  }
+
+  public long getMazeHash() {
+    return this.mazeHash;
+  }
+
+  public float getStep() {
+    return this.step;
+  }
+
+  public int getKeyframeInterval() {
+    return this.keyframeInterval;
+  }
+
+  /**
+   * @return number of ticks the recorded game ran for.
+   */
+  public long getTicks() {
+    return this.ticks;
+  }
+
+  public int getKeyframeCount() {
+    return keyframeTicks.length;
+  }
+
+  public long getKeyframeTick(int index) {
+    return keyframeTicks[index];
+  }
+
+  /**
+   * @return size of the file in bytes.
+   */
+  public int size() {
+    return data.limit();
+  }
+
+  private static boolean magicAt(ByteBuffer buf, int at, byte[] magic) {
+    for (int i = 0; i < magic.length; i++) {
+      if (buf.get(at + i) != magic[i]) return false;
+    }
+    return true;
+  }
+
+  static long readVarLong(ByteBuffer in) {
+    long value = 0L;
+    for (int shift = 0; shift < 64; shift += 7) {
+      int b = in.get() & 0xFF;
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) return value;
+    }
+    throw new IllegalArgumentException("varint longer than 10 bytes");
+  }
+
+  static long readZigZagLong(ByteBuffer in) {
+    long raw = readVarLong(in);
+    return (raw >>> 1) ^ -(raw & 1);
+  }
+
+  /**
+   * Reads the stream from a keyframe on, straight out of the map.
+   */
+  private static final class Playback implements InputSource {
+
+    private final ByteBuffer in;
+    private long recordTick;
+    private long nextTick;
+    private Direction nextDir;
+
+    Playback(ByteBuffer in) {
+      this.in = in;
+    }
+
+    /**
+     * Reads the keyframe the stream starts with.
+     */
+    GameSnapshot readKeyframe() {
+      long record = readVarLong(in);
+      if ((record & 7) != KEYFRAME) throw new IllegalArgumentException(
+        "replay index doesn't point at a keyframe"
+      );
+      readVarLong(in); //payload length.
+      long[] state = new long[(int) readVarLong(in)];
+      for (int i = 0; i < state.length; i++) state[i] = readZigZagLong(in);
+      long[] candies = new long[(int) readVarLong(in)];
+      for (int i = 0; i < candies.length; i++) candies[i] = in.getLong();
+
+      GameSnapshot snapshot = new GameSnapshot(state, candies);
+      recordTick = snapshot.getTick();
+      advance();
+      return snapshot;
+    }
+
+    /**
+     * Moves to the next direction change, skipping keyframes.
+     */
+    private void advance() {
+      while (in.hasRemaining()) {
+        long record = readVarLong(in);
+        recordTick += record >>> 3;
+        int code = (int) (record & 7);
+        if (code == KEYFRAME) {
+          int length = (int) readVarLong(in);
+          in.position(in.position() + length);
+          continue;
+        }
+        nextTick = recordTick;
+        nextDir = Direction.ALL[code];
+        return;
+      }
+      nextDir = null;
+    }
+
+    @Override
+    public Direction next(PacManGame game, long tick) {
+      if (nextDir == null || tick != nextTick) return null;
+      Direction dir = nextDir;
+      advance();
+      return dir;
+    }
+  }
+}
@@ -0,0 +1,195 @@
+package com.barrixxs.jpacman.replay;
+
+import com.badlogic.gdx.utils.LongArray;
+import com.barrixxs.jpacman.entities.Direction;
+import com.barrixxs.jpacman.input.InputSource;
+import com.barrixxs.jpacman.sim.GameSnapshot;
+import com.barrixxs.jpacman.sim.PacManGame;
+import com.barrixxs.jpacman.util.ByteWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Records a session into a replay file while it is played.
+ *
+ * sits between the game and the real input source like InputRecorder,
+ * passing every direction through. Direction changes and keyframes
+ * are streamed out as they happen, close() writes the keyframe index
+ * at the end. See ReplayFile for the layout.
+ */
+public class ReplayWriter implements InputSource, Closeable {
+
+  public static final int DEFAULT_KEYFRAME_INTERVAL = 60 * 10;
+
+  //bytes buffered before they are written out.
+  private static final int FLUSH_SIZE = 16 * 1024;
+
+  private final OutputStream out;
+  private final InputSource source;
+  private final float step;
+  private final int keyframeInterval;
+
+  private final ByteWriter buf;
+  private final ByteWriter payload;
+  private long flushed; //bytes written to out so far.
+
+  private final LongArray keyframeTicks;
+  private final LongArray keyframeOffsets;
+  private final GameSnapshot snapshot;
+
+  private PacManGame game;
+  private long lastTick; //tick of the last record.
+  private long lastKeyframe;
+  private Direction last;
+  private boolean closed;
+
+  /**
+   * @param out where the file goes, closed by close().
+   * @param source input source being recorded.
+   * @param step step delta the game is updated with.
+   */
+  public ReplayWriter(OutputStream out, InputSource source, float step) {
+    this(out, source, step, DEFAULT_KEYFRAME_INTERVAL);
+  }
+
+  /**
+   * @param out where the file goes, closed by close().
+   * @param source input source being recorded.
+   * @param step step delta the game is updated with.
+   * @param keyframeInterval ticks between keyframes, also the most ticks
+   *   a seek has to re-simulate.
+   */
+  public ReplayWriter(
+    OutputStream out,
+    InputSource source,
+    float step,
+    int keyframeInterval
+  ) {
+    if (keyframeInterval < 1) throw new IllegalArgumentException(
+      "keyframe interval must be at least 1: " + keyframeInterval
+    );
+    this.out = out;
+    this.source = source;
+    this.step = step;
+    this.keyframeInterval = keyframeInterval;
+    this.buf = new ByteWriter(FLUSH_SIZE + 1024);
+    this.payload = new ByteWriter(1024);
+    this.keyframeTicks = new LongArray();
+    this.keyframeOffsets = new LongArray();
+    this.snapshot = new GameSnapshot();
+  }
+
+  @Override
+  public Direction next(PacManGame game, long tick) {
+    if (closed) throw new IllegalStateException("replay is closed");
+    if (this.game == null) {
+      this.game = game;
+      writeHeader(game);
+      writeKeyframe(game, tick);
+    } else if (this.game != game) {
+      throw new IllegalStateException(
+        "writer is already recording another game"
+      );
+    } else if (tick - lastKeyframe >= keyframeInterval) {
+      writeKeyframe(game, tick);
+    }
+
+    Direction dir = source.next(game, tick);
+    if (dir != null && dir != last) {
+      buf.writeVarLong(((tick - lastTick) << 3) | dir.ordinal());
+      lastTick = tick;
+      last = dir;
+    }
+
+    if (buf.size() >= FLUSH_SIZE) flushQuietly();
+    return dir;
+  }
+
+  private void writeHeader(PacManGame game) {
+    for (byte b : ReplayFile.MAGIC) buf.writeByte(b);
+    buf.writeVarLong(ReplayFile.VERSION);
+    buf.writeZigZagLong(game.getSeed());
+    buf.writeVarLong(game.getLevel());
+    buf.writeLong(ReplayFile.mazeHash(game.getMaze()));
+    buf.writeVarLong(Float.floatToIntBits(step) & 0xFFFFFFFFL);
+    buf.writeVarLong(keyframeInterval);
+    lastTick = game.getTick();
+  }
+
+  /**
+   * Keyframes are taken before the ticks input, the game is exactly
+   * as the previous step left it.
+   */
+  private void writeKeyframe(PacManGame game, long tick) {
+    keyframeTicks.add(tick);
+    keyframeOffsets.add(flushed + buf.size());
+
+    game.snapshot(snapshot);
+    payload.clear();
+    long[] state = snapshot.getState();
+    payload.writeVarLong(state.length);
+    for (long slot : state) payload.writeZigZagLong(slot);
+    long[] candies = snapshot.getCandies();
+    payload.writeVarLong(candies.length);
+    for (long word : candies) payload.writeLong(word);
+
+    buf.writeVarLong(((tick - lastTick) << 3) | ReplayFile.KEYFRAME);
+    buf.writeVarLong(payload.size());
+    buf.writeBytes(payload.toByteArray(), 0, payload.size());
+    lastTick = tick;
+    lastKeyframe = tick;
+  }
+
+  private void flushQuietly() {
+    try {
+      flush();
+    } catch (IOException e) {
+      throw new IllegalStateException("couldn't write replay", e);
+    }
+  }
+
+  private void flush() throws IOException {
+    buf.writeTo(out);
+    flushed += buf.size();
+    buf.clear();
+  }
+
+  /**
+   * Writes the keyframe index and closes the stream.
+   *
+   * if nothing was recorded the stream is closed empty.
+   */
+  @Override
+  public void close() throws IOException {
+    if (closed) return;
+    closed = true;
+    try {
+      if (game == null) return;
+
+      long indexOffset = flushed + buf.size();
+      buf.writeVarLong(game.getTick());
+      buf.writeVarLong(keyframeTicks.size);
+      long prevTick = 0L;
+      long prevOffset = 0L;
+      for (int i = 0; i < keyframeTicks.size; i++) {
+        buf.writeVarLong(keyframeTicks.get(i) - prevTick);
+        buf.writeVarLong(keyframeOffsets.get(i) - prevOffset);
+        prevTick = keyframeTicks.get(i);
+        prevOffset = keyframeOffsets.get(i);
+      }
+      buf.writeLong(indexOffset);
+      for (byte b : ReplayFile.FOOTER_MAGIC) buf.writeByte(b);
+      flush();
+    } finally {
+      out.close();
+    }
+  }
+
+  /**
+   * @return number of keyframes written so far.
+   */
+  public int getKeyframeCount() {
+    return keyframeTicks.size;
+  }
+}
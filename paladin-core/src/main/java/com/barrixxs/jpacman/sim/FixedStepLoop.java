@@ -0,0 +1,119 @@
+package com.barrixxs.jpacman.sim;
+
+/**
+ * Fixed time step accumulator for the simulation.
+ *
+ * The renderer can run at whatever rate the display wants (60, 144, 240..)
+ * while the simulation always advances in steps of the same size, this
+ * keeps the ghost logic (and everything else) behaving the same at any
+ * frame rate and keeps the cost of the simulation constant.
+ *
+ * Usage per frame:
+ * <pre>
+ *   int steps = loop.advance(frameDelta);
+ *   for (int i = 0; i &lt; steps; i++) game.update(loop.getStepDelta());
+ *   draw(loop.getAlpha());
+ * </pre>
+ */
+public class FixedStepLoop {
+
+  public static final float DEFAULT_TICK_RATE = 60f;
+  public static final float DEFAULT_MAX_FRAME_DELTA = 0.25f;
+  public static final int DEFAULT_MAX_STEPS = 5;
+
+  private final float stepDelta;
+  private final float maxFrameDelta;
+  private final int maxSteps;
+
+  private float accumulator;
+  private long ticks;
+
+  /**
+   * Constructs a loop with the default tick rate (60hz),
+   * frame delta clamp and max catch up steps.
+   */
+  public FixedStepLoop() {
+    this(DEFAULT_TICK_RATE, DEFAULT_MAX_FRAME_DELTA, DEFAULT_MAX_STEPS);
+  }
+
+  /**
+   * Constructs a loop.
+   *
+   * @param tickRate simulation steps per second.
+   * @param maxFrameDelta frame deltas larger than this (hitches, dragging
+   * the window, breakpoints...) are clamped to it.
+   * @param maxSteps most steps we run in a single frame, anything left over
+   * is dropped so a slow machine doesn't spiral trying to catch up.
+   */
+  public FixedStepLoop(float tickRate, float maxFrameDelta, int maxSteps) {
+    if (tickRate <= 0f) throw new IllegalArgumentException(
+      "tick rate must be positive: " + tickRate
+    );
+    if (maxSteps < 1) throw new IllegalArgumentException(
+      "max steps must be at least 1: " + maxSteps
+    );
+    this.stepDelta = 1f / tickRate;
+    this.maxFrameDelta = maxFrameDelta;
+    this.maxSteps = maxSteps;
+    this.accumulator = 0f;
+    this.ticks = 0;
+  }
+
+  /**
+   * Adds a frames delta to the accumulator and returns how many
+   * fixed steps should be simulated this frame.
+   *
+   * @param frameDelta seconds since the last frame.
+   * @return number of steps of size getStepDelta() to run.
+   */
+  public int advance(float frameDelta) {
+    if (frameDelta < 0f) frameDelta = 0f;
+    if (frameDelta > maxFrameDelta) frameDelta = maxFrameDelta;
+
+    accumulator += frameDelta;
+    int steps = (int) (accumulator / stepDelta);
+    if (steps > maxSteps) {
+      //we can't catch up, drop the extra time.
+      steps = maxSteps;
+      accumulator = 0f;
+    } else {
+      accumulator -= steps * stepDelta;
+    }
+    ticks += steps;
+    return steps;
+  }
+
+  /**
+   * How far we are between the last simulated step and the next one.
+   *
+   * used to interpolate entity positions when drawing.
+   *
+   * @return value in [0, 1).
+   */
+  public float getAlpha() {
+    float alpha = accumulator / stepDelta;
+    if (alpha < 0f) return 0f;
+    if (alpha >= 1f) return 0.9999f;
+    return alpha;
+  }
+
+  public float getStepDelta() {
+    return this.stepDelta;
+  }
+
+  public float getTickRate() {
+    return 1f / this.stepDelta;
+  }
+
+  /**
+   * Total number of steps handed out since this loop was created.
+   */
+  public long getTicks() {
+    return this.ticks;
+  }
+
+  public void reset() {
+    accumulator = 0f;
+    ticks = 0;
+  }
+}
@@ -0,0 +1,80 @@
+package com.barrixxs.jpacman.sim;
+
+import com.barrixxs.jpacman.util.StateBuffer;
+
+/**
+ * Everything that changes while a game is played, in primitive form.
+ *
+ * the game (timers, lives, random state, pac and ghosts) is flattened
+ * into a long[] and the candies left are kept as the mazes bitboard
+ * words, so a whole game fits in a few hundred bytes. A snapshot can be
+ * reused for the next PacManGame.snapshot call so taking one every tick
+ * doesn't allocate.
+ *
+ * snapshots only restore into a game built from the same maze layout
+ * with the same number of ghosts.
+ */
+public final class GameSnapshot {
+
+  private final StateBuffer state;
+  private long[] candies;
+
+  public GameSnapshot() {
+    this.state = new StateBuffer(128);
+  }
+
+  /**
+   * Rebuilds a snapshot from arrays saved earlier (they are not copied).
+   *
+   * @param state game state, as returned by getState().
+   * @param candies candy words, as returned by getCandies().
+   */
+  public GameSnapshot(long[] state, long[] candies) {
+    this.state = new StateBuffer(state, state.length);
+    this.candies = candies;
+  }
+
+  StateBuffer buffer() {
+    return this.state;
+  }
+
+  void setCandies(long[] candies) {
+    this.candies = candies;
+  }
+
+  /**
+   * @return the game state slots (a copy).
+   */
+  public long[] getState() {
+    return state.toLongArray();
+  }
+
+  /**
+   * @return number of game state slots.
+   */
+  public int getStateSize() {
+    return state.size();
+  }
+
+  /**
+   * Copies the game state slots into dst, so callers can keep them
+   * without allocating.
+   */
+  public void copyStateTo(long[] dst, int offset) {
+    System.arraycopy(state.getSlots(), 0, dst, offset, state.size());
+  }
+
+  /**
+   * @return candy words (not a copy, don't modify).
+   */
+  public long[] getCandies() {
+    return this.candies;
+  }
+
+  /**
+   * @return tick the snapshot was taken on.
+   */
+  public long getTick() {
+    return state.getSlots()[1];
+  }
+}
@@ -1,11 +1,21 @@
 package com.barrixxs.jpacman.sim;
 
+import com.barrixxs.jpacman.entities.EntityStore;
 import com.barrixxs.jpacman.entities.Ghost;
 import com.barrixxs.jpacman.entities.Ghost.GhostState;
 import com.barrixxs.jpacman.entities.Maze;
+import com.barrixxs.jpacman.util.StateBuffer;
 
 public class GameState {
 
+  private static final GhostState[] GHOST_STATES = GhostState.values();
+
+  //ghost states as the store keeps them.
+  private static final byte ATE = (byte) GhostState.ATE.ordinal();
+  private static final byte LEAVINGPEN = (byte) GhostState.LEAVINGPEN.ordinal();
+  private static final byte INPEN = (byte) GhostState.INPEN.ordinal();
+  private static final byte FRIGHT = (byte) GhostState.FRIGHT.ordinal();
+
   private float ghostStateTime;
   private float ghostStateDuration;
   private GhostState ghostState;
@@ -51,6 +61,38 @@ public class GameState {
     startDuration = 5f;
   }
 
+  /**
+   * Writes the timers and modes, level data isn't included since it
+   * never changes during a game.
+   */
+  void saveState(StateBuffer out) {
+    out.putFloat(ghostStateTime);
+    out.putFloat(ghostStateDuration);
+    out.putInt(ghostState.ordinal());
+    out.putFloat(ghostStateTimeTmp);
+    out.putFloat(ghostStateDurationTmp);
+    out.putInt(ghostStateTmp.ordinal());
+    out.putInt(scatterChaseIndex);
+    out.putBoolean(pacIsEating);
+    out.putFloat(pacChompTime);
+    out.putBoolean(starting);
+    out.putFloat(startTime);
+  }
+
+  void loadState(StateBuffer in) {
+    ghostStateTime = in.getFloat();
+    ghostStateDuration = in.getFloat();
+    ghostState = GHOST_STATES[in.getInt()];
+    ghostStateTimeTmp = in.getFloat();
+    ghostStateDurationTmp = in.getFloat();
+    ghostStateTmp = GHOST_STATES[in.getInt()];
+    scatterChaseIndex = in.getInt();
+    pacIsEating = in.getBoolean();
+    pacChompTime = in.getFloat();
+    starting = in.getBoolean();
+    startTime = in.getFloat();
+  }
+
   public boolean isFrightState() {
     return ghostState == GhostState.FRIGHT;
   }
@@ -156,26 +198,53 @@ public class GameState {
     return newPacSpeed;
   }
 
-  public float getNewGhostSpeed(Ghost ghost, Maze maze, boolean allowAngry) {
-    float newGhostSpeed = levelData.FULL_SPEED;
+  /**
+   * Sets the speed of a run of ghosts in a store, in one loop over the
+   * stores arrays instead of through every ghost.
+   *
+   * eaten ghosts go home fast, ghosts in the tunnel or the pen crawl,
+   * frightened ones are slow and angry ones speed up as the candies run
+   * out, otherwise it's the levels ghost speed.
+   *
+   * @param store store the ghosts live in.
+   * @param first slot of the first ghost.
+   * @param angry for every ghost (in slot order), if it may get angry.
+   * @param maze maze the ghosts are in.
+   */
+  public void updateGhostSpeeds(
+    EntityStore store,
+    int first,
+    boolean[] angry,
+    Maze maze
+  ) {
     int dotsLeft = maze.getInitialCandyCount() - maze.getCurrentCandyCount();
-    boolean angryOne =
-      (allowAngry && dotsLeft <= levelData.getAngryModeOneDotLimit());
-    boolean angryTwo =
-      (allowAngry && dotsLeft <= levelData.getAngryModeTwoDotLimit());
-    if (ghost.isAte()) newGhostSpeed *= levelData.getAteSpeedMultiplier();
-    else if (
-      maze.inTunnel(ghost.getPos()) || ghost.isLeavingPen() || ghost.inPen()
-    ) newGhostSpeed *= levelData.getGhostTunnelSpeedMultiplier();
-    else if (ghost.isFrightened()) newGhostSpeed *=
-      levelData.getGhostFrightSpeedMultiplier();
-    else if (angryTwo) newGhostSpeed *=
-      levelData.getAngryModeTwoSpeedMultiplier();
-    else if (angryOne) newGhostSpeed *=
-      levelData.getAngryModeOneSpeedMultiplier();
-    else newGhostSpeed *= levelData.getGhostSpeedMultiplier();
-
-    return newGhostSpeed;
+    boolean angryOne = dotsLeft <= levelData.getAngryModeOneDotLimit();
+    boolean angryTwo = dotsLeft <= levelData.getAngryModeTwoDotLimit();
+
+    //every speed is full speed times one of these.
+    float full = LevelData.FULL_SPEED;
+    float ate = full * levelData.getAteSpeedMultiplier();
+    float tunnel = full * levelData.getGhostTunnelSpeedMultiplier();
+    float fright = full * levelData.getGhostFrightSpeedMultiplier();
+    float normal = full * levelData.getGhostSpeedMultiplier();
+    float angrySpeed = angryTwo
+      ? full * levelData.getAngryModeTwoSpeedMultiplier()
+      : angryOne ? full * levelData.getAngryModeOneSpeedMultiplier() : normal;
+
+    for (int i = 0; i < angry.length; i++) {
+      int slot = first + i;
+      byte state = store.getState(slot);
+      float speed;
+      if (state == ATE) speed = ate;
+      else if (
+        state == LEAVINGPEN ||
+        state == INPEN ||
+        maze.inTunnel(store.getX(slot), store.getY(slot))
+      ) speed = tunnel;
+      else if (state == FRIGHT) speed = fright;
+      else speed = angry[i] ? angrySpeed : normal;
+      store.setSpeed(slot, speed);
+    }
   }
 
   public void setGhostGameState(Ghost ghost) {
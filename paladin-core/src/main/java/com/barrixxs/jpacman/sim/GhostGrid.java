@@ -0,0 +1,119 @@
+package com.barrixxs.jpacman.sim;
+
+import com.barrixxs.jpacman.entities.EntityStore;
+import java.util.Arrays;
+
+/**
+ * Broadphase for pac vs ghost collisions, ghosts bucketed by tile.
+ *
+ * rebuilt every step with a counting sort (two passes over the ghosts
+ * and one over the tiles), then only the buckets around pac are looked
+ * at. With hundreds of ghosts that's a handful of candidates for the
+ * exact swept test instead of all of them.
+ *
+ * ghosts are bucketed by the tile they ended the step on (see
+ * EntityStore.updateTiles, positions outside the maze count as the
+ * edge tiles). A query widens the box by the longest step any ghost
+ * took, so a ghost that swept into the box from a neighbouring bucket
+ * is still found.
+ *
+ * nothing is allocated after construction.
+ */
+final class GhostGrid {
+
+  private final int width;
+  private final int height;
+
+  //cellStart[c]..cellStart[c + 1] is the range of items in tile c.
+  private final int[] cellStart;
+  private final int[] items;
+  private final int[] cellOf;
+  private int size;
+
+  private float maxStepX;
+  private float maxStepY;
+
+  /**
+   * @param width width of the maze in tiles.
+   * @param height height of the maze in tiles.
+   * @param capacity most ghosts that will be bucketed.
+   */
+  GhostGrid(int width, int height, int capacity) {
+    this.width = width;
+    this.height = height;
+    this.cellStart = new int[width * height + 1];
+    this.items = new int[capacity];
+    this.cellOf = new int[capacity];
+  }
+
+  /**
+   * Buckets the ghosts by the tile they are on.
+   *
+   * reads the tiles the store worked out in its last updateTiles,
+   * within a bucket ghosts stay in index order.
+   *
+   * @param store store holding the ghosts.
+   * @param first slot of the first ghost, ghost i is slot first + i.
+   * @param count number of ghosts.
+   */
+  void build(EntityStore store, int first, int count) {
+    size = count;
+    maxStepX = store.maxStepX(first, first + count);
+    maxStepY = store.maxStepY(first, first + count);
+    Arrays.fill(cellStart, 0);
+
+    for (int i = 0; i < count; i++) {
+      int cell = store.getTile(first + i);
+      cellOf[i] = cell;
+      cellStart[cell]++;
+    }
+    //running total, cellStart[c] is now where tile c ends.
+    for (int c = 1; c < cellStart.length; c++) cellStart[c] += cellStart[c - 1];
+    //fill from the back so the ends walk down to the starts and each
+    //bucket stays in index order.
+    for (int i = count - 1; i >= 0; i--) items[--cellStart[cellOf[i]]] = i;
+  }
+
+  /**
+   * Finds every ghost that could have touched a box during the step.
+   *
+   * @param minX left of the box the ghosts anchor could be in.
+   * @param minY bottom of the box the ghosts anchor could be in.
+   * @param maxX right of the box the ghosts anchor could be in.
+   * @param maxY top of the box the ghosts anchor could be in.
+   * @param out filled with ghost indices, in ascending order.
+   * @return number of indices written.
+   */
+  int query(float minX, float minY, float maxX, float maxY, int[] out) {
+    int x0 = clampX(minX - maxStepX);
+    int y0 = clampY(minY - maxStepY);
+    int x1 = clampX(maxX + maxStepX);
+    int y1 = clampY(maxY + maxStepY);
+
+    int count = 0;
+    for (int y = y0; y <= y1; y++) {
+      int row = y * width;
+      int from = cellStart[row + x0];
+      int to = cellStart[row + x1 + 1];
+      //a row of tiles is one contiguous run.
+      for (int k = from; k < to; k++) out[count++] = items[k];
+    }
+    //rows come out of order, callers rely on index order.
+    Arrays.sort(out, 0, count);
+    return count;
+  }
+
+  private int clampX(float x) {
+    int tile = (int) Math.floor(x);
+    return tile < 0 ? 0 : Math.min(tile, width - 1);
+  }
+
+  private int clampY(float y) {
+    int tile = (int) Math.floor(y);
+    return tile < 0 ? 0 : Math.min(tile, height - 1);
+  }
+
+  int size() {
+    return this.size;
+  }
+}
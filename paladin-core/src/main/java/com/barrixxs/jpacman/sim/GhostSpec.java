@@ -0,0 +1,279 @@
+package com.barrixxs.jpacman.sim;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.IntArray;
+import com.barrixxs.jpacman.entities.EntityStore;
+import com.barrixxs.jpacman.entities.Ghost;
+import com.barrixxs.jpacman.entities.Ghost.GhostState;
+import com.barrixxs.jpacman.entities.Ghost.Personality;
+import com.barrixxs.jpacman.entities.Maze;
+import com.barrixxs.jpacman.nav.DistanceField;
+import com.barrixxs.jpacman.nav.MazeGraph;
+
+/**
+ * Everything the game needs to know to set up one ghost.
+ *
+ * a game is handed an array of these, one per ghost, so the number of
+ * ghosts and how each behaves is data instead of code. classic() is
+ * the arcade four, arena() fills the maze with as many as asked for.
+ */
+public final class GhostSpec {
+
+  //arena ghosts start at least this far (in tiles walked) from pac.
+  static final int ARENA_MIN_DISTANCE = 8;
+
+  private final Personality personality;
+  private final float spawnX;
+  private final float spawnY;
+  private final GhostState startState;
+  private final float scatterX;
+  private final float scatterY;
+  private final float penX;
+  private final float penY;
+  private final int dotLimit;
+  private final boolean angry;
+  private final int partner;
+
+  private GhostSpec(Builder builder) {
+    this.personality = builder.personality;
+    this.spawnX = builder.spawnX;
+    this.spawnY = builder.spawnY;
+    this.startState = builder.startState;
+    this.scatterX = builder.scatterX;
+    this.scatterY = builder.scatterY;
+    this.penX = builder.penX;
+    this.penY = builder.penY;
+    this.dotLimit = builder.dotLimit;
+    this.angry = builder.angry;
+    this.partner = builder.partner;
+  }
+
+  /**
+   * The arcade ghosts: blinky, pinky, inky and clyde, in that order.
+   */
+  public static GhostSpec[] classic() {
+    return new GhostSpec[] {
+      new Builder(Personality.SHADOW)
+        .spawn(12f, 30f - 11f)
+        .startState(GhostState.SCATTER)
+        .scatter(25f, 30f - (-3f))
+        .pen(11f, 30f - (15f))
+        .angry(true)
+        .build(),
+      new Builder(Personality.SPEEDY)
+        .spawn(12f, 30f - 14f)
+        .scatter(2f, 30f - (-3f))
+        .pen(12f, 30f - (15f))
+        .dotLimit(7)
+        .build(),
+      new Builder(Personality.BASHFUL)
+        .spawn(14f, 30f - 14f)
+        .scatter(28f, 30f - (35f))
+        .pen(14f, 30f - (15f))
+        .dotLimit(17)
+        .partner(0)
+        .build(),
+      new Builder(Personality.POKEY)
+        .spawn(16f, 30f - 14f)
+        .scatter(-1f, 30f - (33f))
+        .pen(16f, 30f - (15f))
+        .dotLimit(32)
+        .build(),
+    };
+  }
+
+  /**
+   * Lots of ghosts spread over the maze, for stress testing.
+   *
+   * ghosts start out of the pen (scattering) on the tiles pac can
+   * reach, at least ARENA_MIN_DISTANCE tiles away from him. They cycle
+   * through the classic four, each gets that ghosts corners and every
+   * bashful ghost flanks from the shadow ghost just before it.
+   *
+   * @param maze maze the game will be played in.
+   * @param count number of ghosts.
+   */
+  public static GhostSpec[] arena(Maze maze, int count) {
+    if (count < 0) throw new IllegalArgumentException(
+      "ghost count can't be negative: " + count
+    );
+
+    //tiles pac can walk to (leaves out the pen), away from his spawn.
+    MazeGraph graph = new MazeGraph(maze);
+    DistanceField field = new DistanceField(graph);
+    int pacX = (int) PacManGame.PAC_SPAWN_X;
+    int pacY = (int) PacManGame.PAC_SPAWN_Y;
+    IntArray tiles = new IntArray();
+    for (int y = 0; y < graph.getHeight(); y++) {
+      for (int x = 0; x < graph.getWidth(); x++) {
+        if (!graph.isWalkable(x, y) || maze.inTunnel(x, y)) continue;
+        int dist = field.distance(pacX, pacY, x, y);
+        if (dist >= ARENA_MIN_DISTANCE) tiles.add(graph.tile(x, y));
+      }
+    }
+    if (count > 0 && tiles.size == 0) throw new IllegalArgumentException(
+      "maze has no room for arena ghosts"
+    );
+
+    GhostSpec[] classic = classic();
+    GhostSpec[] specs = new GhostSpec[count];
+    for (int i = 0; i < count; i++) {
+      GhostSpec base = classic[i % classic.length];
+      //spread evenly over the tiles, doubling up once they run out.
+      int tile = tiles.get((int) ((long) i * tiles.size / count));
+      Builder builder = new Builder(base.personality)
+        .spawn(tile % graph.getWidth(), tile / graph.getWidth())
+        .startState(GhostState.SCATTER)
+        .scatter(base.scatterX, base.scatterY)
+        .pen(base.penX, base.penY)
+        .angry(base.angry);
+      if (base.partner >= 0) builder.partner(i - (i % classic.length) + base.partner);
+      specs[i] = builder.build();
+    }
+    return specs;
+  }
+
+  /**
+   * Builds the ghost this spec describes.
+   */
+  public Ghost build(Maze maze) {
+    return build(new EntityStore(1), maze);
+  }
+
+  /**
+   * Builds the ghost this spec describes in the next slot of a store.
+   */
+  public Ghost build(EntityStore store, Maze maze) {
+    Ghost ghost = new Ghost(
+      store,
+      spawnX,
+      spawnY,
+      maze,
+      startState,
+      GhostState.SCATTER,
+      new Vector2(scatterX, scatterY),
+      new Vector2(penX, penY)
+    );
+    ghost.setPersonality(personality);
+    return ghost;
+  }
+
+  public Personality getPersonality() {
+    return this.personality;
+  }
+
+  public float getSpawnX() {
+    return this.spawnX;
+  }
+
+  public float getSpawnY() {
+    return this.spawnY;
+  }
+
+  public GhostState getStartState() {
+    return this.startState;
+  }
+
+  /**
+   * @return candies pac has to eat before this ghost leaves the pen.
+   */
+  public int getDotLimit() {
+    return this.dotLimit;
+  }
+
+  /**
+   * @return true if this ghost speeds up when few candies are left.
+   */
+  public boolean isAngry() {
+    return this.angry;
+  }
+
+  /**
+   * @return index of the ghost a bashful ghost flanks from, -1 for none.
+   */
+  public int getPartner() {
+    return this.partner;
+  }
+
+  public static class Builder {
+
+    private final Personality personality;
+    private float spawnX;
+    private float spawnY;
+    private GhostState startState = GhostState.INPEN;
+    private float scatterX;
+    private float scatterY;
+    private float penX;
+    private float penY;
+    private int dotLimit;
+    private boolean angry;
+    private int partner = -1;
+
+    public Builder(Personality personality) {
+      if (personality == null) throw new IllegalArgumentException(
+        "ghost needs a personality"
+      );
+      this.personality = personality;
+    }
+
+    public Builder spawn(float x, float y) {
+      this.spawnX = x;
+      this.spawnY = y;
+      return this;
+    }
+
+    /**
+     * @param state INPEN (the default) or SCATTER.
+     */
+    public Builder startState(GhostState state) {
+      if (state != GhostState.INPEN && state != GhostState.SCATTER) {
+        throw new IllegalArgumentException(
+          "ghosts start in the pen or scattering: " + state
+        );
+      }
+      this.startState = state;
+      return this;
+    }
+
+    public Builder scatter(float x, float y) {
+      this.scatterX = x;
+      this.scatterY = y;
+      return this;
+    }
+
+    /**
+     * @param x x of the tile an eaten ghost heads to inside the pen.
+     * @param y y of the tile an eaten ghost heads to inside the pen.
+     */
+    public Builder pen(float x, float y) {
+      this.penX = x;
+      this.penY = y;
+      return this;
+    }
+
+    public Builder dotLimit(int dotLimit) {
+      if (dotLimit < 0) throw new IllegalArgumentException(
+        "dot limit can't be negative: " + dotLimit
+      );
+      this.dotLimit = dotLimit;
+      return this;
+    }
+
+    public Builder angry(boolean angry) {
+      this.angry = angry;
+      return this;
+    }
+
+    public Builder partner(int index) {
+      if (index < -1) throw new IllegalArgumentException(
+        "partner index can't be negative: " + index
+      );
+      this.partner = index;
+      return this;
+    }
+
+    public GhostSpec build() {
+      return new GhostSpec(this);
+    }
+  }
+}
@@ -3,7 +3,7 @@ package com.barrixxs.jpacman.sim;
 public class LevelData {
 
   public static final float FULL_SPEED = 7.5f;
-  public static float ATE_SPEED_MULTIPLIER = 1.5f;
+  public static final float DEFAULT_ATE_SPEED_MULTIPLIER = 1.5f;
   private float[] scatterChaseIntervals;
   private float pacSpeedMultiplier;
   private float pacFrightSpeedMultiplier;
@@ -15,6 +15,7 @@ public class LevelData {
   private float ghostFrightSpeedMultiplier;
   private float ghostTunnelSpeedMultiplier; //highest priority
   private float frightDuration;
+  private float ateSpeedMultiplier;
 
   private LevelData(
     float[] scatterChaseIntervals,
@@ -27,7 +28,8 @@ public class LevelData {
     float ghostSpeedMultiplier,
     float ghostFrightSpeedMultiplier,
     float ghostTunnelSpeedMultiplier,
-    float frightDuration
+    float frightDuration,
+    float ateSpeedMultiplier
   ) {
     this.scatterChaseIntervals = scatterChaseIntervals;
     this.pacSpeedMultiplier = pacSpeedMultiplier;
@@ -43,6 +45,7 @@ public class LevelData {
     this.ghostTunnelSpeedMultiplier = ghostTunnelSpeedMultiplier; //highest priority
 
     this.frightDuration = frightDuration;
+    this.ateSpeedMultiplier = ateSpeedMultiplier;
   }
 
   public float[] getScatterChaseIntervals() {
@@ -90,7 +93,7 @@ public class LevelData {
   }
 
   public float getAteSpeedMultiplier() {
-    return ATE_SPEED_MULTIPLIER;
+    return this.ateSpeedMultiplier;
   }
 
   public static class LevelBuilder {
@@ -116,7 +119,8 @@ public class LevelData {
         0.75f,
         0.5f,
         0.4f,
-        6f
+        6f,
+        DEFAULT_ATE_SPEED_MULTIPLIER
       );
     }
   }
@@ -0,0 +1,794 @@
+package com.barrixxs.jpacman.sim;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.barrixxs.jpacman.entities.Direction;
+import com.barrixxs.jpacman.entities.Entity;
+import com.barrixxs.jpacman.entities.EntityStore;
+import com.barrixxs.jpacman.entities.Ghost;
+import com.barrixxs.jpacman.entities.Ghost.GhostState;
+import com.barrixxs.jpacman.entities.Maze;
+import com.barrixxs.jpacman.entities.Movement;
+import com.barrixxs.jpacman.entities.Pac;
+import com.barrixxs.jpacman.input.InputSource;
+import com.barrixxs.jpacman.jfr.TickEvent;
+import com.barrixxs.jpacman.metrics.GameMetrics;
+import com.barrixxs.jpacman.nav.DistanceField;
+import com.barrixxs.jpacman.nav.MazeGraph;
+import com.barrixxs.jpacman.prof.Profiler;
+import com.barrixxs.jpacman.util.GameRandom;
+import com.barrixxs.jpacman.util.StateBuffer;
+import com.barrixxs.jpacman.util.Sweep;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+public class PacManGame {
+
+  //game enviornment
+  private Maze maze;
+  private MazeGraph graph;
+  private MazeGraph gateGraph; //gate open, built for Movement.TILE.
+  private Movement movement = Movement.FLOAT;
+  private DistanceField distances; //built the first time it's asked for.
+
+  //game entities, pac is slot 0 of the store and ghost i slot i + 1.
+  private final EntityStore entities;
+  private Pac pac;
+  private Ghost[] ghosts;
+  private final GhostSpec[] specs; //what each ghost is, by index.
+  private final boolean[] angry; //specs isAngry, for GameState.
+
+  private static final Movement[] MOVEMENTS = Movement.values();
+
+  //where pac starts.
+  static final float PAC_SPAWN_X = 13f;
+  static final float PAC_SPAWN_Y = 30f - 23f;
+
+  //store slot of the first ghost.
+  private static final int GHOST_SLOT = 1;
+
+  //collision box sizes (anchored at the entities position).
+  private static final float PAC_SIZE = 1f;
+  private static final float GHOST_SIZE = 0.8f;
+
+  //from this many ghosts on collisions go through a broadphase.
+  static final int BROADPHASE_MIN_GHOSTS = 16;
+  private final GhostGrid grid; //null below BROADPHASE_MIN_GHOSTS.
+  private final int[] candidates;
+
+  //where pacs directions come from, asked once per tick.
+  private InputSource input;
+  private long tick;
+
+  //optional history of the last few seconds, recorded after each tick.
+  private RewindBuffer rewind;
+
+  /**
+   * Phases of a step, as timed by the profiler.
+   */
+  public enum Phase {
+    GAME_STATE,
+    SPEED,
+    ENTITIES,
+    TUNNEL,
+    CANDY,
+    COLLIDE,
+  }
+
+  //times the phases of a step, off until turned on.
+  private final Profiler<Phase> profiler = new Profiler<>("sim", Phase.class);
+
+  //optional metrics, reported after each tick. Steps tally what
+  //happened and update reports it, so re-simulated (rewound) steps
+  //aren't counted twice.
+  private GameMetrics metrics;
+  private int stepPellets;
+  private int stepGhostsEaten;
+  private int stepDeaths;
+  private final int[] ghostsInState = new int[GhostState.values().length];
+
+  //randomness, seeded so a game can be replayed.
+  private final long seed;
+  private final GameRandom random;
+
+  //scratch vector so a step doesn't allocate.
+  private final Vector2 scratch;
+
+  //holds state + level data.
+  private GameState gameState;
+  private final int level;
+
+  //could potentially be moved to game state.
+  private boolean gameover;
+  private int lives;
+  private int candiesEaten;
+
+  //timers.
+  private boolean died;
+  private float diedTime;
+  private float diedDuration;
+
+  private boolean ateGhost;
+  private float ateGhostTime;
+  private float ateGhostDuration;
+
+  /**
+   * Constructs a game with a random seed.
+   */
+  public PacManGame(Maze maze) {
+    this(maze, new SplittableRandom().nextLong());
+  }
+
+  /**
+   * Constructs a game.
+   *
+   * all of the games randomness comes from the seed, the same seed
+   * with the same inputs (and step deltas) plays out the same every run.
+   *
+   * @param maze the maze to play in.
+   * @param seed seed for the games random number generator.
+   */
+  public PacManGame(Maze maze, long seed) {
+    this(maze, seed, GhostSpec.classic());
+  }
+
+  /**
+   * Constructs a game with any set of ghosts.
+   *
+   * @param maze the maze to play in.
+   * @param seed seed for the games random number generator.
+   * @param specs one spec per ghost, see GhostSpec.classic and arena.
+   */
+  public PacManGame(Maze maze, long seed, GhostSpec[] specs) {
+    for (int i = 0; i < specs.length; i++) {
+      int partner = specs[i].getPartner();
+      if (partner >= specs.length) throw new IllegalArgumentException(
+        "ghost " + i + " has partner " + partner + " out of " + specs.length
+      );
+    }
+    this.maze = maze;
+    this.specs = specs.clone();
+    this.seed = seed;
+    this.random = new GameRandom(seed);
+    this.level = 1; //only level one so far.
+    this.gameState = new GameState(
+      new LevelData.LevelBuilder().buildLevelOne()
+    );
+
+    this.entities = new EntityStore(1 + specs.length);
+    this.pac = new Pac(entities, PAC_SPAWN_X, PAC_SPAWN_Y, maze);
+    this.ghosts = new Ghost[specs.length];
+    this.angry = new boolean[specs.length];
+    for (int i = 0; i < specs.length; i++) {
+      ghosts[i] = specs[i].build(entities, maze);
+      angry[i] = specs[i].isAngry();
+    }
+
+    //ghosts only need to decide where corridors meet.
+    this.graph = new MazeGraph(maze);
+    pac.setGraph(graph);
+    for (Ghost ghost : ghosts) ghost.setGraph(graph);
+
+    //each ghost gets its own stream, so adding a ghost (or a ghost
+    //rolling more often) doesn't change what the others roll.
+    for (Ghost ghost : ghosts) ghost.setRandom(random.split());
+
+    this.scratch = new Vector2();
+
+    if (ghosts.length >= BROADPHASE_MIN_GHOSTS) {
+      this.grid = new GhostGrid(maze.getWidth(), maze.getHeight(), ghosts.length);
+      this.candidates = new int[ghosts.length];
+    } else {
+      this.grid = null;
+      this.candidates = null;
+    }
+
+    lives = 3;
+    gameover = false;
+    candiesEaten = 0;
+
+    died = false;
+    diedTime = 0f;
+    diedDuration = 2f;
+
+    ateGhost = false;
+    ateGhostTime = 0f;
+    ateGhostDuration = 1f;
+  }
+
+  public Maze getMaze() {
+    return this.maze;
+  }
+
+  public Entity getPac() {
+    return this.pac;
+  }
+
+  public MazeGraph getGraph() {
+    return this.graph;
+  }
+
+  /**
+   * Shortest path distances between every pair of walkable tiles
+   * (gate closed), for bots and analysis.
+   *
+   * built on first use since the simulation itself doesn't need it.
+   */
+  public DistanceField getDistanceField() {
+    if (distances == null) distances = new DistanceField(graph);
+    return this.distances;
+  }
+
+  public Ghost[] getGhosts() {
+    return this.ghosts;
+  }
+
+  /**
+   * @return spec the ghost at index was built from.
+   */
+  public GhostSpec getGhostSpec(int index) {
+    return this.specs[index];
+  }
+
+  public boolean pacDying() {
+    return this.died;
+  }
+
+  public boolean isStarting() {
+    return gameState.isStarting();
+  }
+
+  public float getDiedTime() {
+    return this.diedTime;
+  }
+
+  public boolean isGameOver() { return this.gameover; }
+
+  /**
+   * Returns true while the game is paused after pac ate a ghost.
+   */
+  public boolean pacAteGhost() {
+    return this.ateGhost;
+  }
+
+  /**
+   * Returns true for the first half of the pause after pac ate a ghost,
+   * while pac is held still (the ghosts he didn't eat are too).
+   */
+  public boolean pacFrozen() {
+    return ateGhost && ateGhostTime < ateGhostDuration / 2;
+  }
+
+  /**
+   * Returns true while pac is chomping through candies.
+   */
+  public boolean pacIsEating() {
+    return gameState.getPacIsEating();
+  }
+
+  public int getLives() {
+    return this.lives;
+  }
+
+  public int getLevel() {
+    return this.level;
+  }
+
+  public long getSeed() {
+    return this.seed;
+  }
+
+  /**
+   * @return number of ticks (updates) run so far.
+   */
+  public long getTick() {
+    return this.tick;
+  }
+
+  /**
+   * Sets where pacs directions come from.
+   *
+   * the source is asked at the start of every update, before anything
+   * moves. setPacDirection still works for whoever wants to drive pac
+   * by hand.
+   *
+   * @param input input source, or null for none.
+   */
+  public void setInput(InputSource input) {
+    this.input = input;
+  }
+
+  /**
+   * Switches how pac and the ghosts move, see Movement.
+   *
+   * meant to be picked before the game starts, switching to TILE
+   * mid game puts everyone on their nearest tile centre. The mode is
+   * part of the snapshot, restoring one switches to its mode.
+   */
+  public void setMovement(Movement movement) {
+    if (movement == Movement.TILE && gateGraph == null) {
+      gateGraph = new MazeGraph(maze, true);
+      for (Ghost ghost : ghosts) ghost.setGateGraph(gateGraph);
+    }
+    this.movement = movement;
+    pac.setMovement(movement);
+    for (Ghost ghost : ghosts) ghost.setMovement(movement);
+  }
+
+  public Movement getMovement() {
+    return this.movement;
+  }
+
+  /**
+   * Attaches a rewind buffer, it records the game after every update.
+   *
+   * the current tick is recorded right away so it can be rewound to.
+   *
+   * @param rewind buffer to record into, or null to stop recording.
+   */
+  public void setRewindBuffer(RewindBuffer rewind) {
+    this.rewind = rewind;
+    if (rewind != null) rewind.start(this);
+  }
+
+  public RewindBuffer getRewindBuffer() {
+    return this.rewind;
+  }
+
+  /**
+   * Reports what happens in the game to a set of metrics.
+   *
+   * @param metrics metrics to report to, or null to stop reporting.
+   */
+  public void setMetrics(GameMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  public GameMetrics getMetrics() {
+    return this.metrics;
+  }
+
+  /**
+   * @return profiler timing the phases of each step, turn it on to use.
+   */
+  public Profiler<Phase> getProfiler() {
+    return this.profiler;
+  }
+
+  public int getCandiesEaten() {
+    return this.candiesEaten;
+  }
+
+  /**
+   * Returns true once every candy has been eaten.
+   */
+  public boolean isWon() {
+    return candiesEaten == maze.getInitialCandyCount();
+  }
+
+  /**
+   * Captures the whole game state.
+   *
+   * @return a new snapshot.
+   */
+  public GameSnapshot snapshot() {
+    return snapshot(new GameSnapshot());
+  }
+
+  /**
+   * Captures the whole game state into an existing snapshot.
+   *
+   * reusing the same snapshot doesn't allocate, so this is cheap enough
+   * to call every tick.
+   *
+   * @param out snapshot to overwrite.
+   * @return out.
+   */
+  public GameSnapshot snapshot(GameSnapshot out) {
+    StateBuffer buf = out.buffer();
+    buf.clear();
+    buf.putInt(ghosts.length); //header, checked on restore.
+    buf.putLong(tick);
+    buf.putInt(movement.ordinal());
+    buf.putBoolean(gameover);
+    buf.putInt(lives);
+    buf.putInt(candiesEaten);
+    buf.putBoolean(died);
+    buf.putFloat(diedTime);
+    buf.putBoolean(ateGhost);
+    buf.putFloat(ateGhostTime);
+    buf.putLong(random.getState());
+    gameState.saveState(buf);
+    pac.saveState(buf);
+    for (Ghost ghost : ghosts) ghost.saveState(buf);
+    out.setCandies(maze.writeCandyState(out.getCandies()));
+    return out;
+  }
+
+  /**
+   * Puts the game back the way it was when the snapshot was taken.
+   *
+   * the input source isn't part of the snapshot, whoever restores is
+   * responsible for feeding the right inputs from then on.
+   *
+   * @param snapshot snapshot taken from a game with the same maze layout.
+   */
+  public void restore(GameSnapshot snapshot) {
+    StateBuffer buf = snapshot.buffer();
+    buf.rewind();
+    int ghostCount = buf.getInt();
+    if (ghostCount != ghosts.length) throw new IllegalArgumentException(
+      "snapshot has " + ghostCount + " ghosts, game has " + ghosts.length
+    );
+    tick = buf.getLong();
+    Movement saved = MOVEMENTS[buf.getInt()];
+    if (saved != movement) setMovement(saved);
+    gameover = buf.getBoolean();
+    lives = buf.getInt();
+    candiesEaten = buf.getInt();
+    died = buf.getBoolean();
+    diedTime = buf.getFloat();
+    ateGhost = buf.getBoolean();
+    ateGhostTime = buf.getFloat();
+    random.setState(buf.getLong());
+    gameState.loadState(buf);
+    pac.loadState(buf);
+    for (Ghost ghost : ghosts) ghost.loadState(buf);
+    maze.readCandyState(snapshot.getCandies());
+  }
+
+  /**
+   * Tells pac which direction to try and move in next.
+   *
+   * the game doesn't poll any input device itself, so whatever
+   * drives the simulation should call this before update.
+   *
+   * @param x x component of the unit direction.
+   * @param y y component of the unit direction.
+   */
+  public void setPacDirection(float x, float y) {
+    pac.setNextDirection(x, y);
+  }
+
+  /**
+   * General game simulation update.
+   *
+   * the simulation expects to be stepped with a fixed delta
+   * (see FixedStepLoop), it is not frame rate independent on its own.
+   */
+  public void update(float delta) {
+    if(gameover) return;
+
+    if (input != null) {
+      Direction dir = input.next(this, tick);
+      if (dir != null) pac.setNextDirection(dir.dx, dir.dy);
+    }
+    long start = metrics != null ? System.nanoTime() : 0L;
+    //null unless a flight recording is listening.
+    TickEvent event = TickEvent.start();
+    step(delta);
+    if (event != null) {
+      event.end(tick, entities.size(), maze.getCurrentCandyCount());
+    }
+    if (metrics != null) reportMetrics(System.nanoTime() - start, delta);
+    if (rewind != null) {
+      rewind.record(this, delta, pac.getNextDirX(), pac.getNextDirY());
+    }
+  }
+
+  /**
+   * Replays one tick with a known direction, used by RewindBuffer to
+   * re-simulate from a keyframe. Skips the input source and recording.
+   */
+  void replayStep(float delta, float dirX, float dirY) {
+    if(gameover) return;
+    pac.setNextDirection(dirX, dirY);
+    step(delta);
+  }
+
+  private void reportMetrics(long nanos, float delta) {
+    metrics.tick(nanos, lives);
+    if (stepPellets > 0) metrics.pelletsEaten(stepPellets);
+    if (stepGhostsEaten > 0) metrics.ghostsEaten(stepGhostsEaten);
+    if (stepDeaths > 0) metrics.deaths(stepDeaths);
+
+    Arrays.fill(ghostsInState, 0);
+    for (int i = 0; i < ghosts.length; i++) {
+      ghostsInState[entities.getState(GHOST_SLOT + i)]++;
+    }
+    metrics.ghostStates(ghostsInState, (long) (delta * 1e9));
+  }
+
+  private void step(float delta) {
+    tick++;
+    stepPellets = 0;
+    stepGhostsEaten = 0;
+    stepDeaths = 0;
+
+    //keep last steps positions around for render interpolation.
+    entities.storePrevPositions();
+
+    if (candiesEaten == maze.getInitialCandyCount()) {
+      gameover = true;
+      return;
+    }
+
+    if (died) {
+      if (diedTime > diedDuration) {
+        diedTime = 0f;
+        pacHit();
+        died = false;
+      }
+      diedTime += delta;
+      return;
+    }
+
+    if (ateGhost) {
+      if (ateGhostTime > ateGhostDuration) {
+        ateGhostTime = 0f;
+        ateGhost = false;
+      }
+      ateGhostTime += delta;
+    }
+
+    long t = profiler.start();
+
+    //updates the game state (timers, data we pull, ...)
+    gameState.update(delta);
+    t = profiler.lap(Phase.GAME_STATE, t);
+    if (gameState.isStarting()) return;
+
+    //sets speed of pac and ghosts.
+    updateSpeed();
+    t = profiler.lap(Phase.SPEED, t);
+
+    //moves pac and ghosts.
+    updateEntities(delta);
+    t = profiler.lap(Phase.ENTITIES, t);
+
+    //teleports any entites crossing the tunnel.
+    checkTunnelTeleport();
+    t = profiler.lap(Phase.TUNNEL, t);
+
+    //check to see if pac ate a candy or super candy
+    //and handle state
+    checkPacAteCandy();
+    t = profiler.lap(Phase.CANDY, t);
+
+    //check if pac hit any ghost.
+    //and handle state
+    checkPacAndGhostCollide();
+    profiler.lap(Phase.COLLIDE, t);
+  }
+
+  private void updateSpeed() {
+    //game applies speed multipliers across levels.
+    pac.setSpeed(gameState.getNewPacSpeed());
+
+    //angry ghosts (blinky) speed up when few candies are left.
+    gameState.updateGhostSpeeds(entities, GHOST_SLOT, angry, maze);
+  }
+
+  private void pacHit() {
+    lives -= 1;
+    if(lives <= 0)
+    {
+      gameover = true;
+      return;
+    }
+    pac.setPos(pac.writeSpawnTo(scratch));
+    pac.setVel(0f, 0f);
+    pac.setStateTime(0f);
+
+    for (Ghost ghost : ghosts) ghost.setStart();
+
+    gameState.setStarting();
+  }
+
+  private void updateEntities(float delta) {
+
+    //pause moving when pac just ate a ghost.
+    boolean ateTimePassed = ateGhost && (ateGhostTime >= ateGhostDuration/2); 
+    if(!ateGhost || ateTimePassed)
+    {
+      pac.logic(delta); //moves pac
+    }
+
+    //game has little control over
+    //ghost state here including their
+    //target.
+    boolean ghostLeaving = false; //used for making ghosts leave 1 at a time.
+    int eatenCandy = maze.getInitialCandyCount() - maze.getCurrentCandyCount();
+    for (int i = 0; i < ghosts.length; i++) {
+      Ghost ghost = ghosts[i];
+
+      boolean pacMoving = pac.getVelX() != 0f || pac.getVelY() != 0f;
+      if (pacMoving) ghost.setChaseTarget(getChaseTarget(i, scratch));
+
+      gameState.setGhostGameState(ghost);
+
+      if (
+        !gameState.isFrightState() && ghost.isFrightened()
+      ) ghost.setFrightened(false);
+
+      //ghosts leave the pen once pac ate enough candies, a limit
+      //of 0 (blinky) means he will leave the pen as soon as he enters.
+      int dotLimit = specs[i].getDotLimit();
+      if (eatenCandy >= dotLimit && ghost.inPen() && !ghostLeaving) {
+        ghost.setLeavingPen();
+      }
+
+      if (ghost.isLeavingPen()) ghostLeaving = true;
+
+      //pause moving entities when pac just ate a ghost.
+      if(!ateGhost || ateTimePassed || ghost.isAte()) 
+        ghost.logic(delta); //moves ghost
+    }
+  }
+
+  private void checkTunnelTeleport() {
+    //check tunnels to teleport across.
+    Rectangle leftTunnel = maze.getLeftTunnel();
+    Rectangle rightTunnel = maze.getRightTunnel();
+
+    //where entities come out on the other side.
+    float rightExitX = rightTunnel.x + rightTunnel.width - 1f;
+    float rightExitY = rightTunnel.y + 1f;
+    float leftExitX = leftTunnel.x;
+    float leftExitY = leftTunnel.y + 1f;
+    float rightEdge = (rightTunnel.x + rightTunnel.width) - 0.5f;
+
+    //teleporting restarts the step from the exit, so collision
+    //sweeps don't cross the whole maze.
+    if (pac.getX() < leftTunnel.x) {
+      pac.setPos(rightExitX, rightExitY);
+      pac.storePrevPos();
+    } else if (pac.getX() > rightEdge) {
+      pac.setPos(leftExitX, leftExitY);
+      pac.storePrevPos();
+    }
+
+    for (Ghost ghost : ghosts) {
+      if (ghost.getX() < (leftTunnel.x - 0.5f)) {
+        ghost.setPos(rightExitX, rightExitY);
+        ghost.storePrevPos();
+      } else if (ghost.getX() > rightEdge) {
+        ghost.setPos(leftExitX, leftExitY);
+        ghost.storePrevPos();
+      }
+    }
+  }
+
+  private void checkPacAteCandy() {
+    //collision between pac and points, along the whole step so a
+    //large step doesn't skip any.
+    float x0 = pac.getPrevX();
+    float y0 = pac.getPrevY();
+    float x1 = pac.getX();
+    float y1 = pac.getY();
+    int eaten = maze.eatCandiesAlong(x0, y0, x1, y1);
+    if (eaten > 0) {
+      gameState.pacAteCandy();
+      candiesEaten += eaten;
+      stepPellets += eaten;
+    }
+
+    int eatenSuper = maze.eatSuperCandiesAlong(x0, y0, x1, y1);
+    if (eatenSuper > 0) {
+      gameState.pacAteSuper();
+      gameState.setFrightState();
+      candiesEaten += eatenSuper;
+      stepPellets += eatenSuper;
+
+      //ghosts will take care of making sure
+      //they will turn frightened only if possible
+      for (Ghost ghost : ghosts) ghost.setFrightened(true);
+    }
+  }
+
+  private void checkPacAndGhostCollide() {
+    //check if pac and ghost touched at any point during the step,
+    //so they can't pass through each other when the step is large.
+    if (grid == null) {
+      for (Ghost ghost : ghosts) checkPacAndGhostCollide(ghost);
+      return;
+    }
+
+    //only ghosts bucketed near pacs sweep, in index order so the
+    //result is the same as checking all of them.
+    entities.updateTiles(maze.getWidth(), maze.getHeight());
+    grid.build(entities, GHOST_SLOT, ghosts.length);
+    float minX = Math.min(pac.getPrevX(), pac.getX());
+    float minY = Math.min(pac.getPrevY(), pac.getY());
+    float maxX = Math.max(pac.getPrevX(), pac.getX());
+    float maxY = Math.max(pac.getPrevY(), pac.getY());
+    int count = grid.query(
+      minX - GHOST_SIZE,
+      minY - GHOST_SIZE,
+      maxX + PAC_SIZE,
+      maxY + PAC_SIZE,
+      candidates
+    );
+    for (int k = 0; k < count; k++) checkPacAndGhostCollide(ghosts[candidates[k]]);
+  }
+
+  private void checkPacAndGhostCollide(Ghost ghost) {
+    boolean touched = Sweep.boxes(
+      pac.getPrevX(),
+      pac.getPrevY(),
+      pac.getX(),
+      pac.getY(),
+      PAC_SIZE,
+      PAC_SIZE,
+      ghost.getPrevX(),
+      ghost.getPrevY(),
+      ghost.getX(),
+      ghost.getY(),
+      GHOST_SIZE,
+      GHOST_SIZE
+    );
+    if (touched) {
+      if ((ghost.isFrightened() || ghost.isAte()) && !ateGhost) {
+        //we check atte also so no false cases 
+        //ghost will handle if they can be set to ate state.
+        if (ghost.isFrightened()) stepGhostsEaten++;
+        ghost.setAte(); 
+        ateGhost = true;
+      }
+      else {
+        if(!ateGhost) {
+          //two ghosts at once is still one death.
+          if (!died) stepDeaths++;
+          died = true;
+        }
+      }
+    }
+  }
+
+  /**
+   * Calculates the chase target of a ghost from its personality.
+   *
+   * constant work per ghost, bashful only looks at its partner.
+   * only called while pac is moving.
+   * TODO move this to ghosts AI!!!
+   *
+   * @param ghostIndex lets us know which target we're calculating.
+   * @param out vector the target is written into (so we don't allocate).
+   * @return out, holding the chase target.
+   */
+  private Vector2 getChaseTarget(int ghostIndex, Vector2 out) {
+    float pacX = pac.getX();
+    float pacY = pac.getY();
+
+    //pacs direction, velocities are axis aligned.
+    Direction dir = Direction.of(pac.getVelX(), pac.getVelY());
+    float dirX = dir == null ? 0f : dir.dx;
+    float dirY = dir == null ? 0f : dir.dy;
+    //original arcade overflow bug, facing up also shifts left.
+    if (dir == Direction.UP) dirX -= 1f;
+
+    Ghost ghost = ghosts[ghostIndex];
+    switch (ghost.getPersonality()) {
+      case POKEY: //clyde
+        float dist = Vector2.dst(ghost.getX(), ghost.getY(), pacX, pacY);
+        if (dist < 8f) return ghost.writeScatterTargetTo(out);
+        else return out.set(pacX, pacY);
+      case BASHFUL: //inky
+        //without a partner he flanks from where he is.
+        int partner = specs[ghostIndex].getPartner();
+        Ghost from = partner < 0 ? ghost : ghosts[partner];
+        float blinkyX = from.getX();
+        float blinkyY = from.getY();
+        float intermediateX = pacX + dirX * 2f;
+        float intermediateY = pacY + dirY * 2f;
+        return out.set(
+          blinkyX + (intermediateX - blinkyX) * 2f,
+          blinkyY + (intermediateY - blinkyY) * 2f
+        );
+      case SPEEDY: //pinky
+        return out.set(pacX + dirX * 2f, pacY + dirY * 2f);
+      default: //blinky DEFAULT
+        return out.set(pacX, pacY);
+    }
+  }
+}
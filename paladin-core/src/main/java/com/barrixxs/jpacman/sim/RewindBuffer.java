@@ -0,0 +1,220 @@
+package com.barrixxs.jpacman.sim;
+
+/**
+ * Remembers the last stretch of a game so it can be rewound.
+ *
+ * every keyframeInterval ticks a full snapshot of the game is kept,
+ * for the ticks in between only what went into the step is kept
+ * (the step delta and the direction pac wanted to go), 12 bytes a tick.
+ * The simulation is deterministic so rewinding to a tick means
+ * restoring the keyframe before it and re-running at most
+ * keyframeInterval - 1 steps, well under a frame.
+ *
+ * diffing the whole game state every tick was tried first, it
+ * roughly doubled the cost of a tick, recording this way costs a few
+ * array stores a tick plus a snapshot every keyframe.
+ *
+ * everything is allocated up front (keyframes fill in on first use)
+ * and reused as a ring, the oldest ticks are dropped as new ones come
+ * in so memory stays the same no matter how long the game runs.
+ *
+ * attach it with PacManGame.setRewindBuffer, the game records itself
+ * after every update.
+ */
+public class RewindBuffer {
+
+  public static final int DEFAULT_KEYFRAME_INTERVAL = 60;
+
+  private final int capacity;
+  private final int keyframeInterval;
+
+  //keyframes, a ring of full snapshots.
+  private final GameSnapshot[] keyframes;
+  private final long[] keyframeTicks;
+  private int oldestKeyframe;
+  private int keyframeCount;
+
+  //per tick inputs, ring indexed by tick.
+  private final float[] stepDelta;
+  private final float[] dirX;
+  private final float[] dirY;
+
+  private long newestTick;
+
+  /**
+   * @param capacity ticks to keep, at least.
+   */
+  public RewindBuffer(int capacity) {
+    this(capacity, DEFAULT_KEYFRAME_INTERVAL);
+  }
+
+  /**
+   * @param capacity ticks to keep, at least.
+   * @param keyframeInterval ticks between full snapshots, also the most
+   *   steps a rewind has to re-run.
+   */
+  public RewindBuffer(int capacity, int keyframeInterval) {
+    if (capacity < 1) throw new IllegalArgumentException(
+      "capacity must be at least 1: " + capacity
+    );
+    if (keyframeInterval < 1) throw new IllegalArgumentException(
+      "keyframe interval must be at least 1: " + keyframeInterval
+    );
+    this.capacity = capacity;
+    this.keyframeInterval = keyframeInterval;
+
+    //one extra keyframe so a full window is kept right after the
+    //newest keyframe replaces the oldest.
+    int slots = (capacity + keyframeInterval - 1) / keyframeInterval + 1;
+    this.keyframes = new GameSnapshot[slots];
+    for (int i = 0; i < slots; i++) keyframes[i] = new GameSnapshot();
+    this.keyframeTicks = new long[slots];
+
+    int ticks = slots * keyframeInterval;
+    this.stepDelta = new float[ticks];
+    this.dirX = new float[ticks];
+    this.dirY = new float[ticks];
+    clear();
+  }
+
+  /**
+   * Forgets everything recorded, storage is kept.
+   */
+  public void clear() {
+    oldestKeyframe = 0;
+    keyframeCount = 0;
+    newestTick = -1L;
+  }
+
+  /**
+   * Starts recording from the games current tick (keeps what was
+   * recorded if it carries on from it).
+   */
+  void start(PacManGame game) {
+    if (game.getTick() != newestTick) {
+      clear();
+      writeKeyframe(game);
+    }
+  }
+
+  /**
+   * Records the tick the game just stepped to.
+   *
+   * ticks are expected one after the other, anything else (like the
+   * game being restored from somewhere else) starts over from a keyframe.
+   *
+   * @param game game that just stepped.
+   * @param delta step delta it stepped with.
+   * @param x x of the direction pac wanted during the step.
+   * @param y y of the direction pac wanted during the step.
+   */
+  void record(PacManGame game, float delta, float x, float y) {
+    long tick = game.getTick();
+    if (isEmpty() || tick != newestTick + 1) {
+      clear();
+      writeKeyframe(game);
+      return;
+    }
+
+    int slot = tickSlot(tick);
+    stepDelta[slot] = delta;
+    dirX[slot] = x;
+    dirY[slot] = y;
+    newestTick = tick;
+
+    long keyTick = keyframeTicks[keyframeIndex(keyframeCount - 1)];
+    if (tick - keyTick >= keyframeInterval) writeKeyframe(game);
+  }
+
+  private void writeKeyframe(PacManGame game) {
+    if (keyframeCount == keyframes.length) {
+      oldestKeyframe = (oldestKeyframe + 1) % keyframes.length;
+      keyframeCount--;
+    }
+    int index = keyframeIndex(keyframeCount);
+    game.snapshot(keyframes[index]);
+    keyframeTicks[index] = game.getTick();
+    keyframeCount++;
+    newestTick = game.getTick();
+  }
+
+  /**
+   * Puts the game back to a recorded tick.
+   *
+   * ticks after it are forgotten, recording carries on from there
+   * as the game is updated again.
+   *
+   * @param game game that was recorded.
+   * @param tick tick to go back to, between getOldestTick and getNewestTick.
+   * @return false if the tick isn't in the window, the game is untouched.
+   */
+  public boolean rewindTo(PacManGame game, long tick) {
+    if (isEmpty() || tick < getOldestTick() || tick > newestTick) return false;
+
+    //newest keyframe at or before tick, then step forward to it.
+    int k = keyframeCount - 1;
+    while (keyframeTicks[keyframeIndex(k)] > tick) k--;
+    int index = keyframeIndex(k);
+    game.restore(keyframes[index]);
+    for (long t = keyframeTicks[index] + 1; t <= tick; t++) {
+      int slot = tickSlot(t);
+      game.replayStep(stepDelta[slot], dirX[slot], dirY[slot]);
+    }
+
+    //forget everything newer.
+    keyframeCount = k + 1;
+    newestTick = tick;
+    return true;
+  }
+
+  /**
+   * Rewinds the game by a number of ticks, stopping at the oldest tick.
+   *
+   * @return false if nothing was recorded.
+   */
+  public boolean rewind(PacManGame game, int ticks) {
+    if (isEmpty()) return false;
+    return rewindTo(game, Math.max(getOldestTick(), newestTick - ticks));
+  }
+
+  private int keyframeIndex(int k) {
+    return (oldestKeyframe + k) % keyframes.length;
+  }
+
+  private int tickSlot(long tick) {
+    return (int) (tick % stepDelta.length);
+  }
+
+  public boolean isEmpty() {
+    return keyframeCount == 0;
+  }
+
+  /**
+   * @return oldest tick that can be rewound to, -1 if empty.
+   */
+  public long getOldestTick() {
+    return isEmpty() ? -1L : keyframeTicks[oldestKeyframe];
+  }
+
+  /**
+   * @return newest recorded tick, -1 if empty.
+   */
+  public long getNewestTick() {
+    return isEmpty() ? -1L : newestTick;
+  }
+
+  /**
+   * @return number of ticks that can be rewound to.
+   */
+  public long getWindow() {
+    return isEmpty() ? 0L : newestTick - getOldestTick() + 1;
+  }
+
+  public int getCapacity() {
+    return this.capacity;
+  }
+
+  public int getKeyframeInterval() {
+    return this.keyframeInterval;
+  }
+}
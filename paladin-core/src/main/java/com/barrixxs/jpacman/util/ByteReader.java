@@ -0,0 +1,60 @@
+package com.barrixxs.jpacman.util;
+
+/**
+ * Reads what a ByteWriter wrote.
+ */
+public class ByteReader {
+
+  private final byte[] bytes;
+  private final int end;
+  private int pos;
+
+  public ByteReader(byte[] bytes) {
+    this(bytes, 0, bytes.length);
+  }
+
+  public ByteReader(byte[] bytes, int off, int len) {
+    if (off < 0 || len < 0 || off + len > bytes.length) {
+      throw new IndexOutOfBoundsException(
+        "range " + off + "+" + len + " outside of " + bytes.length
+      );
+    }
+    this.bytes = bytes;
+    this.pos = off;
+    this.end = off + len;
+  }
+
+  public boolean hasRemaining() {
+    return pos < end;
+  }
+
+  public int position() {
+    return this.pos;
+  }
+
+  public int readByte() {
+    if (pos >= end) throw new IllegalStateException("read past the end");
+    return bytes[pos++] & 0xFF;
+  }
+
+  public long readVarLong() {
+    long value = 0L;
+    for (int shift = 0; shift < 64; shift += 7) {
+      int b = readByte();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) return value;
+    }
+    throw new IllegalStateException("varint longer than 10 bytes");
+  }
+
+  public long readZigZagLong() {
+    long raw = readVarLong();
+    return (raw >>> 1) ^ -(raw & 1);
+  }
+
+  public long readLong() {
+    long value = 0L;
+    for (int i = 0; i < 8; i++) value = (value << 8) | readByte();
+    return value;
+  }
+}
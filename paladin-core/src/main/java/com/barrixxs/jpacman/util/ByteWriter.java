@@ -0,0 +1,90 @@
+package com.barrixxs.jpacman.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer with varint encoding.
+ *
+ * varints store 7 bits per byte with the high bit set on every byte
+ * but the last, so small numbers (tick deltas, directions, counts)
+ * take a single byte. Signed values are zig zag encoded first so small
+ * negative numbers stay small too.
+ */
+public class ByteWriter {
+
+  private byte[] bytes;
+  private int size;
+
+  public ByteWriter() {
+    this(64);
+  }
+
+  public ByteWriter(int capacity) {
+    this.bytes = new byte[Math.max(1, capacity)];
+    this.size = 0;
+  }
+
+  public void writeByte(int b) {
+    ensure(1);
+    bytes[size++] = (byte) b;
+  }
+
+  public void writeBytes(byte[] b, int off, int len) {
+    ensure(len);
+    System.arraycopy(b, off, bytes, size, len);
+    size += len;
+  }
+
+  /**
+   * Writes an unsigned varint (treats the value as unsigned).
+   */
+  public void writeVarLong(long value) {
+    ensure(10);
+    while ((value & ~0x7FL) != 0L) {
+      bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    bytes[size++] = (byte) value;
+  }
+
+  /**
+   * Writes a signed value as a zig zag varint.
+   */
+  public void writeZigZagLong(long value) {
+    writeVarLong((value << 1) ^ (value >> 63));
+  }
+
+  /**
+   * Writes 8 bytes big endian.
+   */
+  public void writeLong(long value) {
+    ensure(8);
+    for (int i = 7; i >= 0; i--) bytes[size++] = (byte) (value >>> (i * 8));
+  }
+
+  public int size() {
+    return this.size;
+  }
+
+  public void clear() {
+    size = 0;
+  }
+
+  /**
+   * Writes everything written so far to out.
+   */
+  public void writeTo(OutputStream out) throws IOException {
+    out.write(bytes, 0, size);
+  }
+
+  public byte[] toByteArray() {
+    return Arrays.copyOf(bytes, size);
+  }
+
+  private void ensure(int extra) {
+    if (size + extra <= bytes.length) return;
+    bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+  }
+}
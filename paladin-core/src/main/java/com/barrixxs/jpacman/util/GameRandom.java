@@ -0,0 +1,64 @@
+package com.barrixxs.jpacman.util;
+
+/**
+ * Small seedable, splittable random number generator (SplitMix64).
+ *
+ * same algorithm SplittableRandom uses, but the whole state is one
+ * long we can read and write, so a game snapshot can capture exactly
+ * where every generator is. Not thread safe, each game (and each ghost
+ * in it) owns its own.
+ */
+public final class GameRandom {
+
+  private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+  private long state;
+
+  public GameRandom(long seed) {
+    this.state = seed;
+  }
+
+  public long nextLong() {
+    return mix64(state += GOLDEN_GAMMA);
+  }
+
+  /**
+   * @return uniform float in [0, 1).
+   */
+  public float nextFloat() {
+    return (nextLong() >>> 40) * 0x1.0p-24f;
+  }
+
+  /**
+   * @param bound upper bound (exclusive), must be positive.
+   * @return uniform int in [0, bound).
+   */
+  public int nextInt(int bound) {
+    if (bound <= 0) throw new IllegalArgumentException(
+      "bound must be positive: " + bound
+    );
+    //multiply shift, the bias is too small to matter for a game.
+    return (int) (((nextLong() >>> 32) * bound) >>> 32);
+  }
+
+  /**
+   * Returns a new generator whose stream is independent of this one.
+   */
+  public GameRandom split() {
+    return new GameRandom(mix64(nextLong()));
+  }
+
+  public long getState() {
+    return this.state;
+  }
+
+  public void setState(long state) {
+    this.state = state;
+  }
+
+  private static long mix64(long z) {
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+}
@@ -0,0 +1,104 @@
+package com.barrixxs.jpacman.util;
+
+import java.util.Arrays;
+
+/**
+ * Flat long[] with a cursor, used to snapshot game state.
+ *
+ * every value takes one slot (floats as their raw bits) so saving and
+ * loading is just walking the array, no objects get created. Things
+ * are read back in the order they were written.
+ */
+public final class StateBuffer {
+
+  private long[] slots;
+  private int size;
+  private int pos;
+
+  public StateBuffer() {
+    this(64);
+  }
+
+  public StateBuffer(int capacity) {
+    this.slots = new long[Math.max(1, capacity)];
+  }
+
+  /**
+   * Wraps slots written earlier (a copy is not made).
+   */
+  public StateBuffer(long[] slots, int size) {
+    if (size > slots.length) throw new IllegalArgumentException(
+      "size " + size + " is larger than " + slots.length
+    );
+    this.slots = slots;
+    this.size = size;
+  }
+
+  /**
+   * Empties the buffer for writing.
+   */
+  public void clear() {
+    size = 0;
+    pos = 0;
+  }
+
+  /**
+   * Moves the cursor back to the start for reading.
+   */
+  public void rewind() {
+    pos = 0;
+  }
+
+  public int size() {
+    return this.size;
+  }
+
+  public int position() {
+    return this.pos;
+  }
+
+  /**
+   * @return backing array, only the first size() slots are used.
+   */
+  public long[] getSlots() {
+    return this.slots;
+  }
+
+  public long[] toLongArray() {
+    return Arrays.copyOf(slots, size);
+  }
+
+  public void putLong(long value) {
+    if (size == slots.length) slots = Arrays.copyOf(slots, size * 2);
+    slots[size++] = value;
+  }
+
+  public void putInt(int value) {
+    putLong(value);
+  }
+
+  public void putFloat(float value) {
+    putLong(Float.floatToRawIntBits(value));
+  }
+
+  public void putBoolean(boolean value) {
+    putLong(value ? 1L : 0L);
+  }
+
+  public long getLong() {
+    if (pos >= size) throw new IllegalStateException("read past the end");
+    return slots[pos++];
+  }
+
+  public int getInt() {
+    return (int) getLong();
+  }
+
+  public float getFloat() {
+    return Float.intBitsToFloat((int) getLong());
+  }
+
+  public boolean getBoolean() {
+    return getLong() != 0L;
+  }
+}
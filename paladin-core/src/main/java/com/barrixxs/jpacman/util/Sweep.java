@@ -0,0 +1,132 @@
+package com.barrixxs.jpacman.util;
+
+/**
+ * Swept (continuous) collision tests for axis aligned boxes.
+ *
+ * entities move in straight lines during a step, so instead of only
+ * testing where they ended up we test the whole segment they moved
+ * along. Nothing fast can pass through something small between two
+ * steps this way, however large the step is.
+ *
+ * both tests solve for the part of the step (t in [0, 1]) where the
+ * two things overlap on each axis and check those ranges meet.
+ */
+public final class Sweep {
+
+  private Sweep() {}
+
+  /**
+   * Checks if two moving boxes overlap at any point during a step.
+   *
+   * boxes are anchored at their bottom left corner and don't count
+   * touching edges as overlapping, same as Rectangle.overlaps.
+   *
+   * @return true if the boxes overlapped at some point in the step.
+   */
+  public static boolean boxes(
+    float ax0,
+    float ay0,
+    float ax1,
+    float ay1,
+    float aw,
+    float ah,
+    float bx0,
+    float by0,
+    float bx1,
+    float by1,
+    float bw,
+    float bh
+  ) {
+    //where they ended up is tested exactly (rounding in the sweep
+    //could miss a contact right on the end of the step).
+    if (
+      bx1 < ax1 + aw && bx1 + bw > ax1 && by1 < ay1 + ah && by1 + bh > ay1
+    ) return true;
+
+    //move b relative to a, a stays at the origin.
+    float rx0 = bx0 - ax0;
+    float ry0 = by0 - ay0;
+    float dx = (bx1 - ax1) - rx0;
+    float dy = (by1 - ay1) - ry0;
+
+    //b overlaps a while r is strictly inside (-bw, aw) x (-bh, ah).
+    float enterX, exitX, enterY, exitY;
+    if (dx == 0f) {
+      if (!(rx0 > -bw && rx0 < aw)) return false;
+      enterX = Float.NEGATIVE_INFINITY;
+      exitX = Float.POSITIVE_INFINITY;
+    } else {
+      float t0 = (-bw - rx0) / dx;
+      float t1 = (aw - rx0) / dx;
+      enterX = Math.min(t0, t1);
+      exitX = Math.max(t0, t1);
+    }
+    if (dy == 0f) {
+      if (!(ry0 > -bh && ry0 < ah)) return false;
+      enterY = Float.NEGATIVE_INFINITY;
+      exitY = Float.POSITIVE_INFINITY;
+    } else {
+      float t0 = (-bh - ry0) / dy;
+      float t1 = (ah - ry0) / dy;
+      enterY = Math.min(t0, t1);
+      exitY = Math.max(t0, t1);
+    }
+
+    float enter = Math.max(enterX, enterY);
+    float exit = Math.min(exitX, exitY);
+    return enter < exit && enter < 1f && exit > 0f;
+  }
+
+  /**
+   * Checks if a moving box touches a point at any point during a step.
+   *
+   * the box is anchored at its bottom left corner, the point counts as
+   * touching when it's on an edge.
+   *
+   * @return true if the point was inside (or on) the box at some point.
+   */
+  public static boolean boxPoint(
+    float x0,
+    float y0,
+    float x1,
+    float y1,
+    float w,
+    float h,
+    float px,
+    float py
+  ) {
+    if (px >= x1 && px <= x1 + w && py >= y1 && py <= y1 + h) return true;
+
+    //point relative to the box, touching while in [0, w] x [0, h].
+    float rx0 = px - x0;
+    float ry0 = py - y0;
+    float dx = -(x1 - x0);
+    float dy = -(y1 - y0);
+
+    float enterX, exitX, enterY, exitY;
+    if (dx == 0f) {
+      if (!(rx0 >= 0f && rx0 <= w)) return false;
+      enterX = Float.NEGATIVE_INFINITY;
+      exitX = Float.POSITIVE_INFINITY;
+    } else {
+      float t0 = (0f - rx0) / dx;
+      float t1 = (w - rx0) / dx;
+      enterX = Math.min(t0, t1);
+      exitX = Math.max(t0, t1);
+    }
+    if (dy == 0f) {
+      if (!(ry0 >= 0f && ry0 <= h)) return false;
+      enterY = Float.NEGATIVE_INFINITY;
+      exitY = Float.POSITIVE_INFINITY;
+    } else {
+      float t0 = (0f - ry0) / dy;
+      float t1 = (h - ry0) / dy;
+      enterY = Math.min(t0, t1);
+      exitY = Math.max(t0, t1);
+    }
+
+    float enter = Math.max(enterX, enterY);
+    float exit = Math.min(exitX, exitY);
+    return enter <= exit && enter <= 1f && exit >= 0f;
+  }
+}
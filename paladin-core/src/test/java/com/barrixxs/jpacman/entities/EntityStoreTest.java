@@ -0,0 +1,71 @@
+package com.barrixxs.jpacman.entities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.badlogic.gdx.math.Vector2;
+import com.barrixxs.jpacman.entities.Ghost.GhostState;
+import org.junit.jupiter.api.Test;
+
+public class EntityStoreTest {
+
+  /**
+   * entities are views, writing through one shows up in the arrays
+   * and bulk updates show up in the entities.
+   */
+  @Test
+  public void entitiesAreViewsOfTheirSlot() {
+    TileMapMaze maze = new TileMapMaze();
+    EntityStore store = new EntityStore(2);
+    Pac pac = new Pac(store, 13f, 7f, maze);
+    Ghost ghost = new Ghost(
+      store,
+      12f,
+      19f,
+      maze,
+      GhostState.INPEN,
+      GhostState.SCATTER,
+      new Vector2(),
+      new Vector2()
+    );
+    assertEquals(0, pac.getId());
+    assertEquals(1, ghost.getId());
+    assertEquals(2, store.size());
+
+    ghost.setPos(3.5f, 4.25f);
+    assertEquals(3.5f, store.getX(1));
+    assertEquals(4.25f, store.getY(1));
+    assertEquals(13f, store.getX(0)); //pac untouched.
+    assertEquals(GhostState.INPEN.ordinal(), store.getState(1));
+
+    store.storePrevPositions();
+    assertEquals(3.5f, ghost.getPrevX());
+    assertEquals(7f, pac.getPrevY());
+
+    store.setSpeed(0, 6f);
+    assertEquals(6f, pac.getSpeed());
+
+    ghost.setStart();
+    assertEquals(12f, ghost.getX());
+    assertEquals(19f, ghost.getY());
+  }
+
+  @Test
+  public void tilesClampToTheMaze() {
+    EntityStore store = new EntityStore(3);
+    store.add(2.9f, 1.1f, 1f);
+    store.add(-0.5f, 5f, 1f);
+    store.add(30f, 40f, 1f);
+    store.updateTiles(28, 31);
+    assertEquals(1 * 28 + 2, store.getTile(0));
+    assertEquals(5 * 28, store.getTile(1));
+    assertEquals(30 * 28 + 27, store.getTile(2));
+  }
+
+  @Test
+  public void fullStoreThrows() {
+    EntityStore store = new EntityStore(1);
+    store.add(0f, 0f, 1f);
+    assertThrows(IllegalStateException.class, () -> store.add(1f, 1f, 1f));
+  }
+}
@@ -0,0 +1,86 @@
+package com.barrixxs.jpacman.entities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.badlogic.gdx.math.Vector2;
+import com.barrixxs.jpacman.entities.Ghost.GhostState;
+import java.lang.management.ManagementFactory;
+import org.junit.jupiter.api.Test;
+
+public class GhostTest {
+
+  //a crossing with all four ways open, top left of the classic maze.
+  private static final int CROSS_X = 6;
+  private static final int CROSS_Y = 25;
+
+  //moves half a tile per step, so every distance compared is exact.
+  private static final float SPEED = 4f;
+  private static final float STEP = 0.125f;
+
+  /**
+   * a target on the diagonal is as far from both moves towards it,
+   * the one declared first in Direction wins.
+   */
+  @Test
+  public void tiesGoInDirectionOrder() {
+    for (Movement movement : Movement.values()) {
+      assertEquals(Direction.UP, firstMove(movement, -1, 1), movement.name());
+      assertEquals(Direction.UP, firstMove(movement, 1, 1), movement.name());
+      assertEquals(Direction.LEFT, firstMove(movement, -1, -1), movement.name());
+      assertEquals(Direction.DOWN, firstMove(movement, 1, -1), movement.name());
+    }
+  }
+
+  /**
+   * deciding at a crossing every step doesn't allocate.
+   */
+  @Test
+  public void decidingDoesNotAllocate() {
+    com.sun.management.ThreadMXBean threads =
+      (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    assumeTrue(threads.isThreadAllocatedMemorySupported());
+    threads.setThreadAllocatedMemoryEnabled(true);
+
+    Ghost ghost = ghostAtCross(-1, 1);
+    for (int i = 0; i < 10_000; i++) decide(ghost);
+
+    long id = Thread.currentThread().getId();
+    long before = threads.getThreadAllocatedBytes(id);
+    for (int i = 0; i < 10_000; i++) decide(ghost);
+    long after = threads.getThreadAllocatedBytes(id);
+    assertEquals(0L, after - before);
+  }
+
+  private static Direction firstMove(Movement movement, int offsetX, int offsetY) {
+    Ghost ghost = ghostAtCross(offsetX, offsetY);
+    ghost.setMovement(movement);
+    ghost.logic(STEP);
+    return Direction.of(ghost.getVel().x, ghost.getVel().y);
+  }
+
+  //back on the crossing, standing still, and one step of choosing.
+  private static void decide(Ghost ghost) {
+    ghost.setPos(CROSS_X, CROSS_Y);
+    ghost.setVel(0f, 0f);
+    ghost.logic(STEP);
+  }
+
+  /**
+   * a scattering ghost standing on the crossing, its target a tile off
+   * diagonally.
+   */
+  private static Ghost ghostAtCross(int offsetX, int offsetY) {
+    Ghost ghost = new Ghost(
+      CROSS_X,
+      CROSS_Y,
+      new TileMapMaze(),
+      GhostState.SCATTER,
+      GhostState.SCATTER,
+      new Vector2(CROSS_X + offsetX, CROSS_Y + offsetY),
+      new Vector2()
+    );
+    ghost.setSpeed(SPEED);
+    return ghost;
+  }
+}
@@ -0,0 +1,170 @@
+package com.barrixxs.jpacman.entities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import java.util.Arrays;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The bitboard queries must answer exactly like the old
+ * rectangle based ones (kept here as the reference).
+ */
+public class TileMapMazeTest {
+
+  private static TileMapMaze maze;
+
+  @BeforeAll
+  public static void load() {
+    maze = new TileMapMaze();
+  }
+
+  @Test
+  public void overlapsWallMatchesRectangles() {
+    for (float x = -1f; x <= 29f; x += 0.125f) {
+      for (float y = -1f; y <= 32f; y += 0.125f) {
+        for (boolean ignoreGate : new boolean[] { false, true }) {
+          assertEquals(
+            referenceOverlapsWall(x, y, ignoreGate),
+            maze.overlapsWall(x, y, ignoreGate),
+            "overlapsWall(" + x + ", " + y + ", " + ignoreGate + ")"
+          );
+        }
+      }
+    }
+  }
+
+  @Test
+  public void inTunnelMatchesRectangles() {
+    for (float x = -1f; x <= 29f; x += 0.25f) {
+      for (float y = 13f; y <= 20f; y += 0.25f) {
+        boolean expected =
+          maze.getLeftTunnel().contains(x, y) ||
+          maze.getRightTunnel().contains(x, y);
+        assertEquals(expected, maze.inTunnel(x, y), "inTunnel(" + x + ", " + y + ")");
+      }
+    }
+  }
+
+  @Test
+  public void eatsSameCandyAsRectangles() {
+    for (float x = -1f; x <= 29f; x += 0.25f) {
+      for (float y = -1f; y <= 32f; y += 0.25f) {
+        int expected = referenceTouchedCandy(x, y);
+        TileMapMaze copy = new TileMapMaze(maze);
+        boolean ate = copy.checkAndEatCandy(x, y);
+        assertEquals(expected != -1, ate, "checkAndEatCandy(" + x + ", " + y + ")");
+        if (ate) {
+          assertFalse(copy.isCandy(expected / 31, expected % 31));
+          assertEquals(maze.getCurrentCandyCount() - 1, copy.getCurrentCandyCount());
+        }
+      }
+    }
+  }
+
+  @Test
+  public void pelletIndexTracksEating() {
+    TileMapMaze copy = new TileMapMaze(maze);
+    int[] visited = new int[2];
+    copy.forEachCandy((x, y, isSuper) -> {
+      assertTrue(isSuper ? copy.isSuperCandy(x, y) : copy.isCandy(x, y));
+      visited[isSuper ? 1 : 0]++;
+    });
+    assertEquals(copy.getInitialCandyCount(), visited[0] + visited[1]);
+    assertEquals(4, visited[1]);
+
+    Vector2 nearest = new Vector2();
+    assertTrue(copy.nearestCandy(1f, 1f, nearest));
+    assertEquals(new Vector2(1f, 1f), nearest);
+    assertTrue(copy.checkAndEatCandy(1f, 1f));
+    assertEquals(copy.getInitialCandyCount() - 1, copy.getCurrentCandyCount());
+    assertTrue(copy.nearestCandy(1f, 1f, nearest));
+    assertEquals(1f, nearest.dst(1f, 1f));
+
+    //eat everything.
+    for (int i = 0; i < 28; i++) {
+      for (int j = 0; j < 31; j++) {
+        copy.checkAndEatCandy(i, j);
+        copy.checkAndEatSuperCandy(i, j);
+      }
+    }
+    assertEquals(0, copy.getCurrentCandyCount());
+    assertFalse(copy.nearestCandy(1f, 1f, nearest));
+    copy.forEachCandy((x, y, isSuper) -> visited[0] = -1);
+    assertTrue(visited[0] >= 0);
+  }
+
+  /**
+   * one big step along a corridor eats the same candies as many small
+   * steps ending on every point along it.
+   */
+  @Test
+  public void eatAlongMatchesSmallSteps() {
+    TileMapMaze swept = new TileMapMaze(maze);
+    TileMapMaze stepped = new TileMapMaze(maze);
+
+    int eaten = swept.eatCandiesAlong(1f, 1f, 12f, 1f);
+    int steppedEaten = 0;
+    for (float x = 1f; x <= 12f; x += 0.125f) {
+      if (stepped.checkAndEatCandy(x, 1f)) steppedEaten++;
+      //pac can touch two pellets at once, eat the second one too.
+      if (stepped.checkAndEatCandy(x, 1f)) steppedEaten++;
+    }
+    assertTrue(eaten > 10);
+    assertEquals(steppedEaten, eaten);
+    assertEquals(
+      Arrays.toString(stepped.writeCandyState(null)),
+      Arrays.toString(swept.writeCandyState(null))
+    );
+    assertEquals(stepped.getCurrentCandyCount(), swept.getCurrentCandyCount());
+
+    //going back over it eats nothing.
+    assertEquals(0, swept.eatCandiesAlong(12f, 1f, 1f, 1f));
+  }
+
+  @Test
+  public void penIsBehindTheGate() {
+    assertTrue(maze.isGate(13, 18));
+    assertTrue(maze.inPen(13.5f, 16.5f));
+    assertFalse(maze.inPen(13.5f, 19.5f));
+    assertFalse(maze.inPen(1.5f, 1.5f));
+  }
+
+  private static boolean referenceOverlapsWall(float px, float py, boolean ignoreGate) {
+    Rectangle pointTile = new Rectangle(px, py, 1f, 1f);
+    Rectangle mazeTile = new Rectangle();
+    int x = Math.round(px);
+    int y = Math.round(py);
+    for (int i = x - 2; i < x + 2; i++) {
+      for (int j = y - 2; j < y + 2; j++) {
+        if (i < 0 || j < 0 || i >= 28 || j >= 31) continue;
+        boolean isWall = maze.isWall(i, j) && !(ignoreGate && maze.isGate(i, j));
+        mazeTile.set(i, j, 1f, 1f);
+        if (isWall && pointTile.overlaps(mazeTile)) return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return index (i * 31 + j) of the candy the old code would eat or -1.
+   */
+  private static int referenceTouchedCandy(float px, float py) {
+    Rectangle pointTile = new Rectangle(px, py, 1f, 1f);
+    int x = Math.round(px);
+    int y = Math.round(py);
+    for (int i = x - 2; i < x + 2; i++) {
+      for (int j = y - 2; j < y + 2; j++) {
+        if (i < 0 || j < 0 || i >= 28 || j >= 31) continue;
+        if (maze.isCandy(i, j) && pointTile.contains(i + 0.5f, j + 0.5f)) {
+          return i * 31 + j;
+        }
+      }
+    }
+    return -1;
+  }
+}
@@ -0,0 +1,47 @@
+package com.barrixxs.jpacman.farm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.barrixxs.jpacman.entities.TileMapMaze;
+import org.junit.jupiter.api.Test;
+
+public class SimulationFarmTest {
+
+  private static final long BUDGET = 60 * 60;
+
+  @Test
+  public void everyGameIsCounted() {
+    SimulationFarm farm = new SimulationFarm(new TileMapMaze(), BUDGET);
+    FarmResult result = farm.run(16, 7L, 4);
+
+    assertEquals(16, result.getGames());
+    assertEquals(
+      result.getGames(),
+      result.getWins() + result.getLosses() + result.getTimeouts()
+    );
+    assertTrue(result.getTicks() > 0);
+    assertTrue(result.getTicks() <= BUDGET * result.getGames());
+    assertTrue(result.getCandiesEaten() > 0);
+  }
+
+  @Test
+  public void sameSeedSameTotals() {
+    SimulationFarm farm = new SimulationFarm(new TileMapMaze(), BUDGET);
+    FarmResult serial = farm.run(12, 5L, 1);
+    FarmResult parallel = farm.run(12, 5L, 3);
+
+    assertEquals(serial.getTicks(), parallel.getTicks());
+    assertEquals(serial.getWins(), parallel.getWins());
+    assertEquals(serial.getLosses(), parallel.getLosses());
+    assertEquals(serial.getCandiesEaten(), parallel.getCandiesEaten());
+  }
+
+  @Test
+  public void runsCanBeRepeated() {
+    SimulationFarm farm = new SimulationFarm(new TileMapMaze(), 10);
+    assertEquals(3, farm.run(3, 1L, 2).getGames());
+    assertEquals(5, farm.run(5, 1L, 2).getGames());
+    assertEquals(50, farm.run(5, 1L, 2).getTicks());
+  }
+}
@@ -0,0 +1,89 @@
+package com.barrixxs.jpacman.input;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.barrixxs.jpacman.entities.Direction;
+import com.barrixxs.jpacman.entities.TileMapMaze;
+import com.barrixxs.jpacman.sim.PacManGame;
+import com.barrixxs.jpacman.util.ByteReader;
+import com.barrixxs.jpacman.util.ByteWriter;
+import org.junit.jupiter.api.Test;
+
+public class InputRecordingTest {
+
+  private static final float STEP = 1 / 60f;
+
+  @Test
+  public void replayPlaysTheSameGame() {
+    TileMapMaze template = new TileMapMaze();
+    PacManGame live = new PacManGame(new TileMapMaze(template), 21L);
+    InputRecorder recorder = new InputRecorder(new CandyBotInput(), STEP);
+    live.setInput(recorder);
+    for (int i = 0; i < 60 * 90 && !live.isGameOver(); i++) live.update(STEP);
+
+    byte[] bytes = recorder.getRecording().toByteArray();
+    InputRecording recording = InputRecording.fromByteArray(bytes);
+    assertTrue(recording.getChanges() > 10);
+    //only changes are stored, a minute and a half fits in a few hundred bytes.
+    assertTrue(bytes.length < 1024, "recording is " + bytes.length + " bytes");
+
+    PacManGame replayed = Replayer.replay(template, recording);
+    assertEquals(live.getTick(), replayed.getTick());
+    assertEquals(live.getCandiesEaten(), replayed.getCandiesEaten());
+    assertEquals(live.getLives(), replayed.getLives());
+    assertEquals(live.getPac().getX(), replayed.getPac().getX());
+    assertEquals(live.getPac().getY(), replayed.getPac().getY());
+    for (int i = 0; i < live.getGhosts().length; i++) {
+      assertEquals(live.getGhosts()[i].getX(), replayed.getGhosts()[i].getX());
+      assertEquals(live.getGhosts()[i].getY(), replayed.getGhosts()[i].getY());
+    }
+  }
+
+  @Test
+  public void scriptTurnsOnItsTicks() {
+    ScriptedInput script = new ScriptedInput()
+      .at(0, Direction.LEFT)
+      .at(5, Direction.UP);
+    assertEquals(Direction.LEFT, script.next(null, 0));
+    assertNull(script.next(null, 1));
+    assertEquals(Direction.UP, script.next(null, 5));
+    assertNull(script.next(null, 6));
+    assertThrows(
+      IllegalArgumentException.class,
+      () -> script.at(3, Direction.DOWN)
+    );
+  }
+
+  @Test
+  public void varintsRoundTrip() {
+    long[] values = { 0L, 1L, 127L, 128L, 300L, Long.MAX_VALUE, -1L };
+    ByteWriter out = new ByteWriter(1);
+    for (long v : values) {
+      out.writeVarLong(v);
+      out.writeZigZagLong(v);
+      out.writeLong(v);
+    }
+    ByteReader in = new ByteReader(out.toByteArray());
+    for (long v : values) {
+      assertEquals(v, in.readVarLong());
+      assertEquals(v, in.readZigZagLong());
+      assertEquals(v, in.readLong());
+    }
+    assertTrue(!in.hasRemaining());
+  }
+
+  @Test
+  public void rejectsGarbage() {
+    assertThrows(
+      IllegalArgumentException.class,
+      () -> InputRecording.fromByteArray(new byte[] { 9 })
+    );
+    assertThrows(
+      IllegalArgumentException.class,
+      () -> InputRecording.fromByteArray(new byte[] { 1, (byte) 0x80 })
+    );
+  }
+}
@@ -0,0 +1,62 @@
+package com.barrixxs.jpacman.jfr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.barrixxs.jpacman.entities.TileMapMaze;
+import com.barrixxs.jpacman.input.CandyBotInput;
+import com.barrixxs.jpacman.sim.PacManGame;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+public class FlightEventsTest {
+
+  private static final int TICKS = 60 * 30;
+
+  @Test
+  public void recordsTicksAndGhostStates() throws Exception {
+    Path file = Files.createTempFile("paladin", ".jfr");
+    try (Recording recording = new Recording()) {
+      recording.enable("paladin.Tick");
+      recording.enable("paladin.GhostState");
+      recording.start();
+
+      PacManGame game = new PacManGame(new TileMapMaze(), 11L);
+      game.setInput(new CandyBotInput());
+      for (int i = 0; i < TICKS && !game.isGameOver(); i++) game.update(1 / 60f);
+
+      recording.stop();
+      recording.dump(file);
+
+      List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+      long ticks = events.stream()
+        .filter(e -> e.getEventType().getName().equals("paladin.Tick"))
+        .count();
+      assertEquals(game.getTick(), ticks);
+
+      RecordedEvent last = events.stream()
+        .filter(e -> e.getEventType().getName().equals("paladin.Tick"))
+        .reduce((a, b) -> b.getLong("tick") > a.getLong("tick") ? b : a)
+        .orElseThrow();
+      assertEquals(game.getTick(), last.getLong("tick"));
+      assertEquals(1 + game.getGhosts().length, last.getInt("entities"));
+      assertEquals(game.getMaze().getCurrentCandyCount(), last.getInt("pelletsLeft"));
+
+      //ghosts leave the pen and scatter/chase at the very least.
+      List<RecordedEvent> states = events.stream()
+        .filter(e -> e.getEventType().getName().equals("paladin.GhostState"))
+        .toList();
+      assertTrue(states.size() > 4, "ghost transitions: " + states.size());
+      for (RecordedEvent state : states) {
+        assertTrue(!state.getString("from").equals(state.getString("to")));
+      }
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+}
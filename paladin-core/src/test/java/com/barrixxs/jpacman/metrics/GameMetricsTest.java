@@ -0,0 +1,65 @@
+package com.barrixxs.jpacman.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.barrixxs.jpacman.entities.Ghost.GhostState;
+import com.barrixxs.jpacman.entities.TileMapMaze;
+import com.barrixxs.jpacman.input.CandyBotInput;
+import com.barrixxs.jpacman.sim.PacManGame;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import org.junit.jupiter.api.Test;
+
+public class GameMetricsTest {
+
+  private static final float STEP = 1 / 60f;
+
+  @Test
+  public void countsWhatHappens() {
+    GameMetrics metrics = new GameMetrics();
+    PacManGame game = new PacManGame(new TileMapMaze(), 21L);
+    game.setMetrics(metrics);
+    game.setInput(new CandyBotInput());
+    int ticks = 0;
+    for (; ticks < 60 * 120 && !game.isGameOver(); ticks++) game.update(STEP);
+
+    assertEquals(ticks, metrics.getTicks());
+    assertEquals(ticks, metrics.getTickLatency().getCount());
+    assertEquals(game.getCandiesEaten(), metrics.getPelletsEaten());
+    assertEquals(game.getLives(), metrics.getLives());
+    assertEquals(3 - game.getLives(), metrics.getDeaths() - (game.pacDying() ? 1 : 0));
+
+    //every ghost is in exactly one state every tick.
+    double total = 0.0;
+    for (GhostState state : GhostState.values()) total += metrics.getGhostStateSeconds(state);
+    double expected = ticks * game.getGhosts().length * (long) (STEP * 1e9) / 1e9;
+    assertEquals(expected, total, 1e-6);
+    assertTrue(metrics.getGhostStateSeconds(GhostState.CHASE) > 0.0);
+  }
+
+  @Test
+  public void servesPrometheus() throws Exception {
+    GameMetrics metrics = new GameMetrics();
+    PacManGame game = new PacManGame(new TileMapMaze(), 21L);
+    game.setMetrics(metrics);
+    for (int i = 0; i < 10; i++) game.update(STEP);
+
+    try (PrometheusServer server = PrometheusServer.start(metrics.getRegistry(), 0)) {
+      HttpResponse<String> response = HttpClient.newHttpClient().send(
+        HttpRequest.newBuilder(
+          URI.create("http://127.0.0.1:" + server.getPort() + PrometheusServer.PATH)
+        ).build(),
+        HttpResponse.BodyHandlers.ofString()
+      );
+      assertEquals(200, response.statusCode());
+      assertTrue(response.headers().firstValue("Content-Type").orElse("").startsWith("text/plain"));
+      String body = response.body();
+      assertTrue(body.contains("\npaladin_ticks_total 10\n"), body);
+      assertTrue(body.contains("# TYPE paladin_tick_seconds histogram\n"), body);
+      assertTrue(body.contains("paladin_ghost_state_seconds_total{state=\"scatter\"}"), body);
+    }
+  }
+}
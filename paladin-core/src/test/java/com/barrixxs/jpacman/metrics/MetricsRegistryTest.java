@@ -0,0 +1,99 @@
+package com.barrixxs.jpacman.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import javax.management.Attribute;
+import javax.management.AttributeNotFoundException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+import org.junit.jupiter.api.Test;
+
+public class MetricsRegistryTest {
+
+  @Test
+  public void writesPrometheusText() throws Exception {
+    MetricsRegistry registry = new MetricsRegistry();
+    Counter hits = registry.counter("test_hits_total", "Hits");
+    Counter a = registry.counter("test_time_seconds_total", "Time", "kind=\"a\"", 1e-3);
+    registry.counter("test_time_seconds_total", "Time", "kind=\"b\"", 1e-3);
+    Gauge level = registry.gauge("test_level", "Level");
+    LatencyHistogram latency = registry.histogram(
+      "test_latency_seconds",
+      "Latency",
+      new double[] { 0.001, 0.01 }
+    );
+
+    hits.increment();
+    hits.add(2);
+    a.add(1500);
+    level.set(4);
+    latency.record(500_000L);
+    latency.record(5_000_000L);
+    latency.record(50_000_000L);
+
+    StringBuilder text = new StringBuilder();
+    registry.writePrometheus(text);
+    String expected = String.join(
+      "\n",
+      "# HELP test_hits_total Hits",
+      "# TYPE test_hits_total counter",
+      "test_hits_total 3",
+      "# HELP test_time_seconds_total Time",
+      "# TYPE test_time_seconds_total counter",
+      "test_time_seconds_total{kind=\"a\"} 1.5",
+      "test_time_seconds_total{kind=\"b\"} 0",
+      "# HELP test_level Level",
+      "# TYPE test_level gauge",
+      "test_level 4",
+      "# HELP test_latency_seconds Latency",
+      "# TYPE test_latency_seconds histogram",
+      "test_latency_seconds_bucket{le=\"0.001\"} 1",
+      "test_latency_seconds_bucket{le=\"0.01\"} 2",
+      "test_latency_seconds_bucket{le=\"+Inf\"} 3",
+      "test_latency_seconds_sum 0.0555",
+      "test_latency_seconds_count 3",
+      ""
+    );
+    assertEquals(expected, text.toString());
+  }
+
+  @Test
+  public void rejectsClashes() {
+    MetricsRegistry registry = new MetricsRegistry();
+    registry.counter("test_total", "Test");
+    assertThrows(IllegalArgumentException.class, () -> registry.counter("test_total", "Test"));
+    assertThrows(IllegalArgumentException.class, () -> registry.gauge("test_total", "Test"));
+    assertThrows(IllegalArgumentException.class, () -> registry.gauge("bad name", "Test"));
+    Counter counter = registry.counter("other_total", "Other");
+    assertThrows(IllegalArgumentException.class, () -> counter.add(-1));
+  }
+
+  @Test
+  public void publishesOverJmx() throws Exception {
+    MetricsRegistry registry = new MetricsRegistry();
+    registry.counter("test_jmx_total", "Test").add(7);
+    registry.counter("test_jmx_seconds_total", "Test", "state=\"chase\"", 1.0).add(2);
+    ObjectName name = registry.registerMBean("com.barrixxs.jpacman:type=MetricsTest");
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    try {
+      assertEquals(7.0, server.getAttribute(name, "test_jmx_total"));
+      assertEquals(2.0, server.getAttribute(name, "test_jmx_seconds_total{state=chase}"));
+      assertTrue(server.getMBeanInfo(name).getAttributes().length == 2);
+      //read only, and nothing to invoke.
+      assertThrows(
+        AttributeNotFoundException.class,
+        () -> server.setAttribute(name, new Attribute("test_jmx_total", 0.0))
+      );
+      assertThrows(
+        ReflectionException.class,
+        () -> server.invoke(name, "reset", new Object[0], new String[0])
+      );
+    } finally {
+      server.unregisterMBean(name);
+    }
+  }
+}
@@ -0,0 +1,87 @@
+package com.barrixxs.jpacman.nav;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.barrixxs.jpacman.entities.Direction;
+import com.barrixxs.jpacman.entities.TileMapMaze;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class DistanceFieldTest {
+
+  private static TileMapMaze maze;
+  private static DistanceField field;
+
+  @BeforeAll
+  public static void build() {
+    maze = new TileMapMaze();
+    field = new DistanceField(new MazeGraph(maze));
+  }
+
+  @Test
+  public void distancesAreSymmetric() {
+    MazeGraph graph = field.getGraph();
+    for (int a = 0; a < 28 * 31; a += 7) {
+      for (int b = 0; b < 28 * 31; b += 5) {
+        assertEquals(field.distance(a, b), field.distance(b, a));
+      }
+    }
+    assertEquals(0, field.distance(graph.tile(1, 1), graph.tile(1, 1)));
+    assertEquals(DistanceField.UNREACHABLE, field.distance(0, graph.tile(1, 1)));
+  }
+
+  @Test
+  public void tunnelIsAShortcut() {
+    assertEquals(1, field.distance(0, 16, 27, 16));
+    assertEquals(Direction.LEFT, field.nextStep(0, 16, 27, 16));
+  }
+
+  /**
+   * a coordinate off the side of the grid (pac rounding to x = 28 in the
+   * tunnel) is nowhere, not the start of the next row.
+   */
+  @Test
+  public void offTheGridIsUnreachable() {
+    MazeGraph graph = field.getGraph();
+    assertEquals(-1, graph.tile(28, 16));
+    assertEquals(-1, graph.tile(-1, 16));
+    assertEquals(-1, graph.tile(1, 31));
+    assertEquals(DistanceField.UNREACHABLE, field.distance(28, 16, 28, 16));
+    assertEquals(DistanceField.UNREACHABLE, field.distance(28, 16, 0, 17));
+    assertEquals(DistanceField.UNREACHABLE, field.distance(-1, 16, 27, 16));
+    assertNull(field.nextStep(28, 16, 28, 16));
+    assertNull(field.nextStep(28, 16, 1, 16));
+    assertNull(field.nextStep(1, 16, -1, 16));
+    //the tunnel ends themselves are still on the grid.
+    assertEquals(0, field.distance(27, 16, 27, 16));
+    assertEquals(Direction.RIGHT, field.nextStep(27, 16, 0, 16));
+  }
+
+  @Test
+  public void followingNextStepTakesDistanceSteps() {
+    MazeGraph graph = field.getGraph();
+    int from = graph.tile(1, 1);
+    int to = graph.tile(26, 29);
+    int steps = 0;
+    int at = from;
+    while (at != to) {
+      Direction dir = field.nextStep(at, to);
+      assertNotNull(dir);
+      at = graph.step(at % 28, at / 28, dir);
+      steps++;
+    }
+    assertEquals(field.distance(from, to), steps);
+    assertNull(field.nextStep(to, to));
+  }
+
+  @Test
+  public void gateDecidesIfThePenIsReachable() {
+    DistanceField open = new DistanceField(new MazeGraph(maze, true));
+    assertEquals(DistanceField.UNREACHABLE, field.distance(13, 19, 13, 16));
+    assertNotEquals(DistanceField.UNREACHABLE, open.distance(13, 19, 13, 16));
+    assertEquals(Direction.DOWN, open.nextStep(13, 19, 13, 16));
+  }
+}
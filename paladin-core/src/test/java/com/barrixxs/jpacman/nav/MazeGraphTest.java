@@ -0,0 +1,71 @@
+package com.barrixxs.jpacman.nav;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.barrixxs.jpacman.entities.Direction;
+import com.barrixxs.jpacman.entities.Ghost;
+import com.barrixxs.jpacman.entities.TileMapMaze;
+import com.barrixxs.jpacman.sim.PacManGame;
+import org.junit.jupiter.api.Test;
+
+public class MazeGraphTest {
+
+  @Test
+  public void edgesGoBothWays() {
+    MazeGraph graph = new MazeGraph(new TileMapMaze());
+    assertTrue(graph.getNodeCount() > 0);
+    for (int node = 0; node < graph.getNodeCount(); node++) {
+      for (Direction dir : Direction.ALL) {
+        int target = graph.getEdgeTarget(node, dir);
+        if (target == -1) continue;
+        assertTrue(graph.getEdgeLength(node, dir) > 0);
+
+        //some edge from target has to lead back with the same length.
+        boolean back = false;
+        for (Direction d : Direction.ALL) {
+          back |=
+            graph.getEdgeTarget(target, d) == node &&
+            graph.getEdgeLength(target, d) == graph.getEdgeLength(node, dir);
+        }
+        assertTrue(back, "edge " + node + " " + dir + " has no way back");
+      }
+    }
+  }
+
+  @Test
+  public void tunnelWraps() {
+    TileMapMaze maze = new TileMapMaze();
+    MazeGraph graph = new MazeGraph(maze);
+    assertEquals(16 * 28 + 27, graph.step(0, 16, Direction.LEFT));
+    assertEquals(16 * 28, graph.step(27, 16, Direction.RIGHT));
+    assertTrue(graph.isStraight(0, 16, Direction.LEFT));
+    assertNotEquals(-1, graph.nodeAt(6, 16));
+    assertEquals(graph.nodeAt(21, 16), graph.getEdgeTarget(graph.nodeAt(6, 16), Direction.LEFT));
+  }
+
+  /**
+   * skipping decisions in corridors must not change where ghosts go.
+   */
+  @Test
+  public void ghostsMoveTheSameWithAndWithoutGraph() {
+    TileMapMaze template = new TileMapMaze();
+    PacManGame withGraph = new PacManGame(new TileMapMaze(template), 3L);
+    PacManGame without = new PacManGame(new TileMapMaze(template), 3L);
+    for (Ghost ghost : without.getGhosts()) ghost.setGraph(null);
+
+    withGraph.setPacDirection(-1f, 0f);
+    without.setPacDirection(-1f, 0f);
+    for (int tick = 0; tick < 3000; tick++) {
+      withGraph.update(1 / 60f);
+      without.update(1 / 60f);
+      for (int i = 0; i < withGraph.getGhosts().length; i++) {
+        Ghost a = withGraph.getGhosts()[i];
+        Ghost b = without.getGhosts()[i];
+        assertEquals(b.getX(), a.getX(), "ghost " + i + " x at tick " + tick);
+        assertEquals(b.getY(), a.getY(), "ghost " + i + " y at tick " + tick);
+      }
+    }
+  }
+}
@@ -0,0 +1,71 @@
+package com.barrixxs.jpacman.prof;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class HistogramTest {
+
+  @Test
+  public void smallValuesAreExact() {
+    Histogram histogram = new Histogram();
+    for (long v = 1; v <= 100; v++) histogram.record(v);
+    assertEquals(100L, histogram.getCount());
+    assertEquals(50L, histogram.getValueAtPercentile(50.0));
+    assertEquals(99L, histogram.getValueAtPercentile(99.0));
+    assertEquals(100L, histogram.getValueAtPercentile(100.0));
+    assertEquals(1L, histogram.getMin());
+    assertEquals(100L, histogram.getMax());
+    assertEquals(50.5, histogram.getMean(), 1e-9);
+  }
+
+  @Test
+  public void largeValuesStayWithinPrecision() {
+    Histogram histogram = new Histogram();
+    //1us .. 1s in nanoseconds.
+    for (long v = 1_000L; v <= 1_000_000_000L; v = v * 11 / 10) {
+      histogram.reset();
+      histogram.record(v);
+      histogram.record(2 * v);
+      long p50 = histogram.getValueAtPercentile(50.0);
+      assertTrue(p50 >= v && p50 <= v + v / 60, v + " came out as " + p50);
+    }
+  }
+
+  @Test
+  public void bucketsCoverEveryValue() {
+    //every bucket starts right after the previous one ends.
+    long end = -1L;
+    for (int i = 0; i < 3000; i++) {
+      long highest = Histogram.highestInBucket(i);
+      assertEquals(i, Histogram.index(end + 1));
+      assertEquals(i, Histogram.index(highest));
+      end = highest;
+    }
+    assertEquals(Long.MAX_VALUE, Histogram.highestInBucket(Histogram.index(Long.MAX_VALUE)));
+  }
+
+  @Test
+  public void addMergesCounts() {
+    Histogram a = new Histogram();
+    Histogram b = new Histogram();
+    a.record(10L);
+    b.record(20L);
+    b.record(30L);
+    a.add(b);
+    assertEquals(3L, a.getCount());
+    assertEquals(10L, a.getMin());
+    assertEquals(30L, a.getMax());
+    assertEquals(20L, a.getValueAtPercentile(50.0));
+  }
+
+  @Test
+  public void emptyAndBadPercentiles() {
+    Histogram histogram = new Histogram();
+    assertEquals(0L, histogram.getValueAtPercentile(99.0));
+    assertEquals(0L, histogram.getMin());
+    assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtPercentile(101.0));
+  }
+}
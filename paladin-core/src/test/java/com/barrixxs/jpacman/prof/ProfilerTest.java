@@ -0,0 +1,64 @@
+package com.barrixxs.jpacman.prof;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.barrixxs.jpacman.entities.TileMapMaze;
+import com.barrixxs.jpacman.sim.PacManGame;
+import com.barrixxs.jpacman.sim.PacManGame.Phase;
+import org.junit.jupiter.api.Test;
+
+public class ProfilerTest {
+
+  private enum Section {
+    A,
+    B,
+  }
+
+  @Test
+  public void offRecordsNothing() {
+    Profiler<Section> profiler = new Profiler<>("test", Section.class);
+    long t = profiler.start();
+    assertEquals(0L, t);
+    assertEquals(0L, profiler.lap(Section.A, t));
+    assertNull(profiler.get(Section.A));
+  }
+
+  @Test
+  public void lapsChain() {
+    Profiler<Section> profiler = new Profiler<>("test", Section.class);
+    profiler.setEnabled(true);
+    long t = profiler.start();
+    t = profiler.lap(Section.A, t);
+    profiler.lap(Section.B, t);
+    //turned on between start and lap, nothing to measure.
+    profiler.lap(Section.A, 0L);
+    assertEquals(1L, profiler.get(Section.A).getCount());
+    assertEquals(1L, profiler.get(Section.B).getCount());
+
+    profiler.reset();
+    assertEquals(0L, profiler.get(Section.A).getCount());
+  }
+
+  @Test
+  public void timesTheSimulation() throws Exception {
+    PacManGame game = new PacManGame(new TileMapMaze(), 5L);
+    game.getProfiler().setEnabled(true);
+    game.setPacDirection(-1f, 0f);
+    for (int i = 0; i < 600; i++) game.update(1 / 60f);
+
+    Profiler<Phase> profiler = game.getProfiler();
+    long ticks = profiler.get(Phase.GAME_STATE).getCount();
+    assertTrue(ticks > 0L);
+    //every phase after the intro ran as often as the others.
+    assertEquals(profiler.get(Phase.ENTITIES).getCount(), profiler.get(Phase.COLLIDE).getCount());
+
+    StringBuilder csv = new StringBuilder();
+    Profiler.writeCsvHeader(csv);
+    profiler.writeCsv(csv);
+    String[] lines = csv.toString().split("\n");
+    assertEquals(1 + Phase.values().length, lines.length);
+    assertTrue(lines[1].startsWith("sim,game_state," + ticks + ","), lines[1]);
+  }
+}
@@ -0,0 +1,130 @@
+package com.barrixxs.jpacman.replay;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.barrixxs.jpacman.entities.TileMapMaze;
+import com.barrixxs.jpacman.input.CandyBotInput;
+import com.barrixxs.jpacman.sim.GameSnapshot;
+import com.barrixxs.jpacman.sim.PacManGame;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ReplayFileTest {
+
+  private static final float STEP = 1 / 60f;
+  private static final long SEED = 5L;
+  private static final int INTERVAL = 120;
+
+  @TempDir
+  Path dir;
+
+  /**
+   * seeking to a tick gives the exact game the live session had on it.
+   */
+  @Test
+  public void seekMatchesLiveGame() throws IOException {
+    TileMapMaze template = new TileMapMaze();
+    PacManGame live = new PacManGame(new TileMapMaze(template), SEED);
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    ReplayWriter writer =
+      new ReplayWriter(bytes, new CandyBotInput(), STEP, INTERVAL);
+    live.setInput(writer);
+
+    long[] seekTo = { 0L, 1L, INTERVAL, INTERVAL + 1, 60 * 40 + 7, 60 * 50 + 11 };
+    Map<Long, GameSnapshot> expected = new HashMap<>();
+    expected.put(0L, live.snapshot());
+    for (int i = 0; i < 60 * 90 && !live.isGameOver(); i++) {
+      live.update(STEP);
+      for (long tick : seekTo) {
+        if (tick == live.getTick()) expected.put(tick, live.snapshot());
+      }
+    }
+    writer.close();
+
+    Path file = dir.resolve("session.replay");
+    Files.write(file, bytes.toByteArray());
+    assertTrue(ReplayFile.isReplayFile(file));
+    ReplayFile replay = ReplayFile.open(file);
+    assertEquals(SEED, replay.getSeed());
+    assertEquals(1, replay.getLevel());
+    assertEquals(STEP, replay.getStep());
+    assertEquals(live.getTick(), replay.getTicks());
+    assertEquals(writer.getKeyframeCount(), replay.getKeyframeCount());
+    assertEquals(ReplayFile.mazeHash(template), replay.getMazeHash());
+
+    //seek out of order, every seek only depends on its own keyframe.
+    for (long tick : new long[] { 60 * 50 + 11, 1L, 60 * 40 + 7, INTERVAL + 1, 0L, INTERVAL }) {
+      PacManGame game = replay.seek(template, tick);
+      assertEquals(tick, game.getTick());
+      GameSnapshot snap = game.snapshot();
+      assertArrayEquals(expected.get(tick).getState(), snap.getState(), "tick " + tick);
+      assertArrayEquals(expected.get(tick).getCandies(), snap.getCandies(), "tick " + tick);
+    }
+
+    PacManGame end = replay.play(template);
+    assertArrayEquals(live.snapshot().getState(), end.snapshot().getState());
+  }
+
+  /**
+   * after a seek the game keeps playing the recorded inputs.
+   */
+  @Test
+  public void playsOnAfterSeek() throws IOException {
+    TileMapMaze template = new TileMapMaze();
+    byte[] bytes = record(template, 60 * 60);
+    ReplayFile replay = ReplayFile.wrap(bytes);
+
+    PacManGame game = replay.seek(template, 60 * 10 + 3);
+    while (game.getTick() < replay.getTicks() && !game.isGameOver()) {
+      game.update(replay.getStep());
+    }
+    assertArrayEquals(
+      replay.play(template).snapshot().getState(),
+      game.snapshot().getState()
+    );
+  }
+
+  @Test
+  public void rejectsBadFiles() throws IOException {
+    TileMapMaze template = new TileMapMaze();
+    byte[] bytes = record(template, 60 * 5);
+    ReplayFile replay = ReplayFile.wrap(bytes);
+
+    assertThrows(
+      IllegalArgumentException.class,
+      () -> replay.seek(template, replay.getTicks() + 1)
+    );
+    byte[] truncated = java.util.Arrays.copyOf(bytes, bytes.length - 3);
+    assertThrows(IllegalArgumentException.class, () -> ReplayFile.wrap(truncated));
+    assertThrows(
+      IllegalArgumentException.class,
+      () -> ReplayFile.wrap(new byte[] { 1, 2, 3 })
+    );
+
+    Path other = dir.resolve("other");
+    Files.write(other, new byte[] { 'n', 'o', 'p', 'e', 0 });
+    assertFalse(ReplayFile.isReplayFile(other));
+  }
+
+  private static byte[] record(TileMapMaze template, int ticks)
+    throws IOException {
+    PacManGame game = new PacManGame(new TileMapMaze(template), SEED);
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    ReplayWriter writer =
+      new ReplayWriter(bytes, new CandyBotInput(), STEP, INTERVAL);
+    game.setInput(writer);
+    for (int i = 0; i < ticks && !game.isGameOver(); i++) game.update(STEP);
+    writer.close();
+    return bytes.toByteArray();
+  }
+}
@@ -0,0 +1,121 @@
+package com.barrixxs.jpacman.sim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.barrixxs.jpacman.entities.TileMapMaze;
+import com.barrixxs.jpacman.metrics.GameMetrics;
+import java.lang.management.ManagementFactory;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A steady state simulation step must not allocate.
+ *
+ * garbage from the step turns into gc pauses, which show up as stutter.
+ * only the update calls are measured, new games (after a game over)
+ * are built outside the measurement.
+ */
+public class AllocationTest {
+
+  private static final int TICKS = 10_000;
+  private static final float STEP = 1 / 60f;
+  private static final int WARMUP_RUNS = 5;
+  private static final long SEED = 1234L;
+
+  @Test
+  public void updateDoesNotAllocate() {
+    com.sun.management.ThreadMXBean threads =
+      (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    assumeTrue(threads.isThreadAllocatedMemorySupported());
+    threads.setThreadAllocatedMemoryEnabled(true);
+
+    TileMapMaze template = new TileMapMaze();
+
+    //warm up, lets classes load, the jit settle and the mx bean settle.
+    //games are seeded so the warm up plays the same games as the
+    //measured run, a few rounds give the jit time to finish compiling.
+    for (int i = 0; i < WARMUP_RUNS; i++) run(template, null, TICKS, game -> {});
+
+    long allocated = run(template, threads, TICKS, game -> {});
+    assertEquals(0L, allocated, "bytes allocated over " + TICKS + " ticks");
+  }
+
+  /**
+   * same with the phase profiler on, the overlay shouldn't cause the
+   * stutter it's there to find.
+   */
+  @Test
+  public void profiledUpdateDoesNotAllocate() {
+    com.sun.management.ThreadMXBean threads =
+      (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    assumeTrue(threads.isThreadAllocatedMemorySupported());
+    threads.setThreadAllocatedMemoryEnabled(true);
+
+    TileMapMaze template = new TileMapMaze();
+    Consumer<PacManGame> profiled = game -> game.getProfiler().setEnabled(true);
+    for (int i = 0; i < WARMUP_RUNS; i++) run(template, null, TICKS, profiled);
+
+    long allocated = run(template, threads, TICKS, profiled);
+    assertEquals(0L, allocated, "bytes allocated over " + TICKS + " ticks");
+  }
+
+  /**
+   * same with metrics reported, they're meant to be left on in the
+   * field.
+   */
+  @Test
+  public void meteredUpdateDoesNotAllocate() {
+    com.sun.management.ThreadMXBean threads =
+      (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    assumeTrue(threads.isThreadAllocatedMemorySupported());
+    threads.setThreadAllocatedMemoryEnabled(true);
+
+    TileMapMaze template = new TileMapMaze();
+    GameMetrics metrics = new GameMetrics();
+    Consumer<PacManGame> metered = game -> game.setMetrics(metrics);
+    for (int i = 0; i < WARMUP_RUNS; i++) run(template, null, TICKS, metered);
+
+    long allocated = run(template, threads, TICKS, metered);
+    assertEquals(0L, allocated, "bytes allocated over " + TICKS + " ticks");
+  }
+
+  private static long run(
+    TileMapMaze template,
+    com.sun.management.ThreadMXBean threads,
+    int ticks,
+    Consumer<PacManGame> setup
+  ) {
+    long allocated = 0L;
+    PacManGame game = newGame(template, setup);
+    for (int i = 0; i < ticks; i++) {
+      if (game.isGameOver()) game = newGame(template, setup);
+
+      //turn every couple of seconds so pac covers more of the maze.
+      switch ((i / 120) % 4) {
+        case 0 -> game.setPacDirection(-1f, 0f);
+        case 1 -> game.setPacDirection(0f, 1f);
+        case 2 -> game.setPacDirection(1f, 0f);
+        default -> game.setPacDirection(0f, -1f);
+      }
+
+      if (threads == null) {
+        game.update(STEP);
+        continue;
+      }
+      long before = threads.getCurrentThreadAllocatedBytes();
+      game.update(STEP);
+      allocated += threads.getCurrentThreadAllocatedBytes() - before;
+    }
+    return allocated;
+  }
+
+  private static PacManGame newGame(
+    TileMapMaze template,
+    Consumer<PacManGame> setup
+  ) {
+    PacManGame game = new PacManGame(new TileMapMaze(template), SEED);
+    setup.accept(game);
+    return game;
+  }
+}
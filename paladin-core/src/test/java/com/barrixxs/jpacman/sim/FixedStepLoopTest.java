@@ -0,0 +1,34 @@
+package com.barrixxs.jpacman.sim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+public class FixedStepLoopTest {
+
+  @Test
+  public void stepCountIndependentOfFrameRate() {
+    FixedStepLoop at60 = new FixedStepLoop();
+    FixedStepLoop at240 = new FixedStepLoop();
+    int steps60 = 0;
+    int steps240 = 0;
+    for (int i = 0; i < 60; i++) steps60 += at60.advance(1 / 60f);
+    for (int i = 0; i < 240; i++) steps240 += at240.advance(1 / 240f);
+    assertEquals(60, steps60, 1);
+    assertEquals(60, steps240, 1);
+  }
+
+  @Test
+  public void clampsHitchesAndCatchUp() {
+    FixedStepLoop loop = new FixedStepLoop(60f, 0.25f, 5);
+    assertEquals(5, loop.advance(10f));
+    assertEquals(0f, loop.getAlpha());
+  }
+
+  @Test
+  public void alphaTracksRemainder() {
+    FixedStepLoop loop = new FixedStepLoop(10f, 1f, 5);
+    assertEquals(1, loop.advance(0.15f));
+    assertEquals(0.5f, loop.getAlpha(), 0.001f);
+  }
+}
@@ -0,0 +1,118 @@
+package com.barrixxs.jpacman.sim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.badlogic.gdx.math.Vector2;
+import com.barrixxs.jpacman.entities.EntityStore;
+import com.barrixxs.jpacman.entities.Ghost;
+import com.barrixxs.jpacman.entities.Ghost.GhostState;
+import com.barrixxs.jpacman.entities.TileMapMaze;
+import com.barrixxs.jpacman.util.GameRandom;
+import com.barrixxs.jpacman.util.Sweep;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+public class GhostGridTest {
+
+  private static final float PAC_SIZE = 1f;
+  private static final float GHOST_SIZE = 0.8f;
+
+  /**
+   * every ghost the exact sweep says touched pac has to be a candidate,
+   * candidates come out in index order.
+   */
+  @Test
+  public void findsEveryGhostTheLinearScanFinds() {
+    TileMapMaze maze = new TileMapMaze();
+    GameRandom random = new GameRandom(7L);
+    int count = 600;
+    EntityStore store = new EntityStore(count);
+    Ghost[] ghosts = new Ghost[count];
+    for (int i = 0; i < count; i++) {
+      ghosts[i] = new Ghost(
+        store,
+        0f,
+        0f,
+        maze,
+        GhostState.SCATTER,
+        GhostState.SCATTER,
+        new Vector2(),
+        new Vector2()
+      );
+    }
+    GhostGrid grid = new GhostGrid(maze.getWidth(), maze.getHeight(), count);
+    int[] candidates = new int[count];
+
+    for (int round = 0; round < 200; round++) {
+      //ghosts all over (and a bit outside) the maze, moving up to a tile.
+      for (Ghost ghost : ghosts) {
+        float x = random.nextFloat() * 30f - 1f;
+        float y = random.nextFloat() * 33f - 1f;
+        ghost.setPos(x, y);
+        ghost.storePrevPos();
+        ghost.setPos(
+          x + random.nextFloat() * 2f - 1f,
+          y + random.nextFloat() * 2f - 1f
+        );
+      }
+      float px0 = random.nextFloat() * 28f;
+      float py0 = random.nextFloat() * 31f;
+      float px1 = px0 + random.nextFloat() * 4f - 2f;
+      float py1 = py0 + random.nextFloat() * 4f - 2f;
+
+      store.updateTiles(maze.getWidth(), maze.getHeight());
+      grid.build(store, 0, count);
+      int found = grid.query(
+        Math.min(px0, px1) - GHOST_SIZE,
+        Math.min(py0, py1) - GHOST_SIZE,
+        Math.max(px0, px1) + PAC_SIZE,
+        Math.max(py0, py1) + PAC_SIZE,
+        candidates
+      );
+      int[] sorted = Arrays.copyOf(candidates, found);
+      for (int k = 1; k < found; k++) assertTrue(sorted[k - 1] < sorted[k]);
+
+      for (int i = 0; i < count; i++) {
+        Ghost ghost = ghosts[i];
+        boolean touched = Sweep.boxes(
+          px0,
+          py0,
+          px1,
+          py1,
+          PAC_SIZE,
+          PAC_SIZE,
+          ghost.getPrevX(),
+          ghost.getPrevY(),
+          ghost.getX(),
+          ghost.getY(),
+          GHOST_SIZE,
+          GHOST_SIZE
+        );
+        if (touched) assertTrue(
+          Arrays.binarySearch(sorted, i) >= 0,
+          "round " + round + " missed ghost " + i
+        );
+      }
+      //and it is actually narrowing things down.
+      assertTrue(found < count / 4, "round " + round + " found " + found);
+    }
+  }
+
+  @Test
+  public void bucketsEveryGhostOnce() {
+    TileMapMaze maze = new TileMapMaze();
+    GhostSpec[] specs = GhostSpec.arena(maze, 1000);
+    EntityStore store = new EntityStore(specs.length);
+    for (GhostSpec spec : specs) spec.build(store, maze);
+
+    GhostGrid grid = new GhostGrid(maze.getWidth(), maze.getHeight(), 1000);
+    store.updateTiles(maze.getWidth(), maze.getHeight());
+    grid.build(store, 0, specs.length);
+    int[] all = new int[1000];
+    //a box over the whole maze returns every ghost.
+    int found = grid.query(-5f, -5f, 40f, 40f, all);
+    assertEquals(1000, found);
+    for (int i = 0; i < found; i++) assertEquals(i, all[i]);
+  }
+}
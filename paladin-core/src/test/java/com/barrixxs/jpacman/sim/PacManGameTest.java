@@ -0,0 +1,195 @@
+package com.barrixxs.jpacman.sim;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.barrixxs.jpacman.entities.Ghost;
+import com.barrixxs.jpacman.entities.Ghost.Personality;
+import com.barrixxs.jpacman.entities.TileMapMaze;
+import com.barrixxs.jpacman.metrics.GameMetrics;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs the simulation on a plain jvm (no gdx backend).
+ */
+public class PacManGameTest {
+
+  @Test
+  public void mazeLoadsWithoutBackend() {
+    TileMapMaze maze = new TileMapMaze();
+    assertEquals(244, maze.getInitialCandyCount());
+    assertEquals(maze.getInitialCandyCount(), maze.getCurrentCandyCount());
+    assertTrue(maze.isWall(0, 0));
+  }
+
+  @Test
+  public void updatesHeadless() {
+    TileMapMaze maze = new TileMapMaze();
+    PacManGame game = new PacManGame(maze);
+    game.setPacDirection(-1f, 0f);
+    for (int i = 0; i < 60 * 30 && !game.isGameOver(); i++) {
+      game.update(1 / 60f);
+    }
+    assertTrue(maze.getCurrentCandyCount() < maze.getInitialCandyCount());
+  }
+
+  /**
+   * same seed and same inputs must play out bit for bit the same.
+   */
+  @Test
+  public void sameSeedSameGame() {
+    TileMapMaze template = new TileMapMaze();
+    PacManGame a = new PacManGame(new TileMapMaze(template), 99L);
+    PacManGame b = new PacManGame(new TileMapMaze(template), 99L);
+
+    for (int tick = 0; tick < 60 * 60 && !a.isGameOver(); tick++) {
+      //turn every couple of seconds so pac eats super candies.
+      float dx = (tick / 90) % 2 == 0 ? -1f : 1f;
+      float dy = (tick / 150) % 2 == 0 ? 1f : -1f;
+      if ((tick / 45) % 2 == 0) dy = 0f;
+      else dx = 0f;
+      a.setPacDirection(dx, dy);
+      b.setPacDirection(dx, dy);
+      a.update(1 / 60f);
+      b.update(1 / 60f);
+
+      assertEquals(bits(a.getPac().getX()), bits(b.getPac().getX()));
+      assertEquals(bits(a.getPac().getY()), bits(b.getPac().getY()));
+      for (int i = 0; i < a.getGhosts().length; i++) {
+        Ghost ga = a.getGhosts()[i];
+        Ghost gb = b.getGhosts()[i];
+        assertEquals(bits(ga.getX()), bits(gb.getX()), "ghost " + i);
+        assertEquals(bits(ga.getY()), bits(gb.getY()), "ghost " + i);
+      }
+    }
+    assertEquals(a.getCandiesEaten(), b.getCandiesEaten());
+    assertEquals(a.getLives(), b.getLives());
+  }
+
+  /**
+   * the classic specs are the arcade four, in order.
+   */
+  @Test
+  public void classicGhostsByDefault() {
+    PacManGame game = new PacManGame(new TileMapMaze(), 1L);
+    Ghost[] ghosts = game.getGhosts();
+    assertEquals(4, ghosts.length);
+    assertEquals(Personality.SHADOW, ghosts[0].getPersonality());
+    assertEquals(Personality.SPEEDY, ghosts[1].getPersonality());
+    assertEquals(Personality.BASHFUL, ghosts[2].getPersonality());
+    assertEquals(Personality.POKEY, ghosts[3].getPersonality());
+    assertEquals(0, game.getGhostSpec(2).getPartner());
+    assertTrue(game.getGhostSpec(0).isAngry());
+    assertEquals(32, game.getGhostSpec(3).getDotLimit());
+  }
+
+  /**
+   * hundreds of ghosts (through the broadphase) still play out the
+   * same for the same seed, and pac gets caught.
+   */
+  @Test
+  public void arenaIsDeterministic() {
+    TileMapMaze template = new TileMapMaze();
+    int count = 512;
+    PacManGame a = new PacManGame(
+      new TileMapMaze(template),
+      5L,
+      GhostSpec.arena(template, count)
+    );
+    PacManGame b = new PacManGame(
+      new TileMapMaze(template),
+      5L,
+      GhostSpec.arena(template, count)
+    );
+    assertEquals(count, a.getGhosts().length);
+    a.setPacDirection(-1f, 0f);
+    b.setPacDirection(-1f, 0f);
+
+    for (int tick = 0; tick < 60 * 20 && !a.isGameOver(); tick++) {
+      a.update(1 / 60f);
+      b.update(1 / 60f);
+    }
+    assertTrue(a.getLives() < 3);
+    assertEquals(a.getLives(), b.getLives());
+    for (int i = 0; i < count; i++) {
+      assertEquals(bits(a.getGhosts()[i].getX()), bits(b.getGhosts()[i].getX()));
+      assertEquals(bits(a.getGhosts()[i].getY()), bits(b.getGhosts()[i].getY()));
+    }
+  }
+
+  /**
+   * pac going round a loop eats the same candies at a quarter of the
+   * tick rate, the sweep doesn't let him skip any.
+   */
+  @Test
+  public void sameCandiesAtAQuarterOfTheRate() {
+    //ghosts catch pac on this loop a little later, their paths depend
+    //on the step size so stop before they get there.
+    PacManGame fast = play(60, 9f, true);
+    PacManGame slow = play(15, 9f, true);
+    assertTrue(fast.getCandiesEaten() > 10);
+    assertEquals(fast.getCandiesEaten(), slow.getCandiesEaten());
+    assertArrayEquals(
+      fast.getMaze().writeCandyState(null),
+      slow.getMaze().writeCandyState(null)
+    );
+    assertEquals(0L, fast.getMetrics().getDeaths());
+    assertEquals(0L, slow.getMetrics().getDeaths());
+  }
+
+  /**
+   * pac stuck against a wall gets caught the same number of times at
+   * either tick rate, in the same place, until the game is over.
+   */
+  @Test
+  public void sameCollisionsAtAQuarterOfTheRate() {
+    PacManGame fast = play(60, 60f, false);
+    PacManGame slow = play(15, 60f, false);
+    assertTrue(fast.isGameOver());
+    assertTrue(slow.isGameOver());
+    assertEquals(fast.getCandiesEaten(), slow.getCandiesEaten());
+    assertEquals(3L, fast.getMetrics().getDeaths());
+    assertEquals(3L, slow.getMetrics().getDeaths());
+    assertEquals(fast.getMetrics().getGhostsEaten(), slow.getMetrics().getGhostsEaten());
+    assertEquals(0, fast.getLives());
+    assertEquals(0, slow.getLives());
+    assertEquals(bits(fast.getPac().getX()), bits(slow.getPac().getX()));
+    assertEquals(bits(fast.getPac().getY()), bits(slow.getPac().getY()));
+  }
+
+  @Test
+  public void partnerHasToExist() {
+    GhostSpec[] specs = {
+      new GhostSpec.Builder(Personality.BASHFUL).partner(1).build(),
+    };
+    assertThrows(
+      IllegalArgumentException.class,
+      () -> new PacManGame(new TileMapMaze(), 1L, specs)
+    );
+  }
+
+  /**
+   * plays a seeded game for some game time at a tick rate, pac either
+   * holds left or goes round a loop turning every second and a half.
+   */
+  private static PacManGame play(int hz, float seconds, boolean loop) {
+    PacManGame game = new PacManGame(new TileMapMaze(), 31L);
+    game.setMetrics(new GameMetrics());
+    int ticks = Math.round(seconds * hz);
+    for (int tick = 0; tick < ticks && !game.isGameOver(); tick++) {
+      int turn = loop ? (int) (tick / (1.5f * hz)) % 4 : 0;
+      if (turn == 0) game.setPacDirection(-1f, 0f);
+      else if (turn == 1) game.setPacDirection(0f, 1f);
+      else if (turn == 2) game.setPacDirection(1f, 0f);
+      else game.setPacDirection(0f, -1f);
+      game.update(1f / hz);
+    }
+    return game;
+  }
+
+  private static int bits(float f) {
+    return Float.floatToRawIntBits(f);
+  }
+}
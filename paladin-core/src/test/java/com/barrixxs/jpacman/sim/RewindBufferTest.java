@@ -0,0 +1,141 @@
+package com.barrixxs.jpacman.sim;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.barrixxs.jpacman.entities.TileMapMaze;
+import com.barrixxs.jpacman.input.CandyBotInput;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class RewindBufferTest {
+
+  private static final float STEP = 1 / 60f;
+  private static final long SEED = 31L;
+  private static final int CAPACITY = 60 * 10;
+
+  /**
+   * rewinding to any tick in the window gives back exactly the game
+   * as it was on that tick.
+   */
+  @Test
+  public void rewindsToAnyTickInWindow() {
+    RewindBuffer rewind = new RewindBuffer(CAPACITY);
+    PacManGame game = botGame(rewind);
+
+    Map<Long, long[]> states = new HashMap<>();
+    Map<Long, long[]> candies = new HashMap<>();
+    for (int i = 0; i < 60 * 40 && !game.isGameOver(); i++) {
+      game.update(STEP);
+      GameSnapshot snap = game.snapshot();
+      states.put(game.getTick(), snap.getState());
+      candies.put(game.getTick(), snap.getCandies().clone());
+    }
+    assertTrue(rewind.getWindow() >= CAPACITY);
+
+    long newest = rewind.getNewestTick();
+    long oldest = rewind.getOldestTick();
+    for (long tick : new long[] { newest, newest - 1, newest - 59, oldest + 61, oldest }) {
+      //rewinding forgets newer ticks, so go newest to oldest.
+      assertTrue(rewind.rewindTo(game, tick));
+      assertEquals(tick, game.getTick());
+      GameSnapshot snap = game.snapshot();
+      assertArrayEquals(states.get(tick), snap.getState(), "tick " + tick);
+      assertArrayEquals(candies.get(tick), snap.getCandies(), "tick " + tick);
+    }
+    assertFalse(rewind.rewindTo(game, oldest - 1));
+  }
+
+  /**
+   * after a rewind the game plays on the same as it did the first time.
+   */
+  @Test
+  public void playsOnAfterRewind() {
+    RewindBuffer rewind = new RewindBuffer(CAPACITY);
+    PacManGame game = botGame(rewind);
+    run(game, 60 * 30);
+    long[] before = game.snapshot().getState();
+
+    assertTrue(rewind.rewind(game, 60 * 5));
+    run(game, 60 * 5);
+    assertArrayEquals(before, game.snapshot().getState());
+    assertEquals(game.getTick(), rewind.getNewestTick());
+  }
+
+  /**
+   * the window never grows past the capacity plus one keyframe.
+   */
+  @Test
+  public void windowStaysBounded() {
+    RewindBuffer rewind = new RewindBuffer(CAPACITY, 30);
+    PacManGame game = botGame(rewind);
+    for (int i = 0; i < 60 * 60 && !game.isGameOver(); i++) {
+      game.update(STEP);
+      assertTrue(rewind.getWindow() <= CAPACITY + 30);
+      if (game.getTick() > CAPACITY) {
+        assertTrue(rewind.getWindow() >= CAPACITY);
+      }
+    }
+  }
+
+  /**
+   * a game restored from somewhere else starts the buffer over.
+   */
+  @Test
+  public void restoreElsewhereStartsOver() {
+    RewindBuffer rewind = new RewindBuffer(CAPACITY);
+    PacManGame game = botGame(rewind);
+    run(game, 120);
+    GameSnapshot early = game.snapshot();
+    run(game, 600);
+
+    game.restore(early);
+    game.update(STEP);
+    assertEquals(game.getTick(), rewind.getOldestTick());
+    assertEquals(1L, rewind.getWindow());
+  }
+
+  @Test
+  public void recordDoesNotAllocate() {
+    com.sun.management.ThreadMXBean threads =
+      (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    assumeTrue(threads.isThreadAllocatedMemorySupported());
+    threads.setThreadAllocatedMemoryEnabled(true);
+
+    RewindBuffer rewind = new RewindBuffer(CAPACITY);
+    PacManGame game = new PacManGame(new TileMapMaze(), SEED);
+    game.setPacDirection(-1f, 0f);
+    game.setRewindBuffer(rewind);
+    run(game, 60 * 10);
+
+    //play the same tick over and over by rewinding one tick back.
+    for (int i = 0; i < 20_000; i++) {
+      rewind.rewind(game, 1);
+      game.update(STEP);
+    }
+    long id = Thread.currentThread().getId();
+    long before = threads.getThreadAllocatedBytes(id);
+    for (int i = 0; i < 1_000; i++) {
+      rewind.rewind(game, 1);
+      game.update(STEP);
+    }
+    long after = threads.getThreadAllocatedBytes(id);
+    assertEquals(0L, after - before);
+  }
+
+  private static PacManGame botGame(RewindBuffer rewind) {
+    PacManGame game = new PacManGame(new TileMapMaze(), SEED);
+    game.setInput(new CandyBotInput());
+    game.setRewindBuffer(rewind);
+    return game;
+  }
+
+  private static void run(PacManGame game, int ticks) {
+    for (int i = 0; i < ticks && !game.isGameOver(); i++) game.update(STEP);
+  }
+}
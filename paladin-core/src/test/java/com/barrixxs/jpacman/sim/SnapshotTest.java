@@ -0,0 +1,98 @@
+package com.barrixxs.jpacman.sim;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.barrixxs.jpacman.entities.TileMapMaze;
+import com.barrixxs.jpacman.input.CandyBotInput;
+import java.lang.management.ManagementFactory;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Restoring a snapshot and replaying the same inputs must land on the
+ * exact same game.
+ */
+public class SnapshotTest {
+
+  private static final float STEP = 1 / 60f;
+  private static final long SEED = 77L;
+
+  @Test
+  public void restoreReplaysBitForBit() {
+    PacManGame game = new PacManGame(new TileMapMaze(), SEED);
+    game.setInput(new CandyBotInput());
+    run(game, 60 * 20);
+
+    GameSnapshot saved = game.snapshot();
+    run(game, 60 * 30);
+    GameSnapshot first = game.snapshot();
+
+    game.restore(saved);
+    assertEquals(saved.getTick(), game.getTick());
+    run(game, 60 * 30);
+    GameSnapshot second = game.snapshot();
+
+    assertArrayEquals(first.getState(), second.getState());
+    assertArrayEquals(first.getCandies(), second.getCandies());
+  }
+
+  /**
+   * a fresh game (own maze copy) restored from a snapshot plays on
+   * exactly like the game the snapshot came from.
+   */
+  @Test
+  public void restoreIntoAnotherGame() {
+    TileMapMaze template = new TileMapMaze();
+    PacManGame a = new PacManGame(new TileMapMaze(template), SEED);
+    a.setInput(new CandyBotInput());
+    run(a, 60 * 25);
+
+    PacManGame b = new PacManGame(new TileMapMaze(template), 0L);
+    b.setInput(new CandyBotInput());
+    b.restore(
+      new GameSnapshot(a.snapshot().getState(), a.snapshot().getCandies())
+    );
+    assertEquals(
+      a.getMaze().getCurrentCandyCount(),
+      b.getMaze().getCurrentCandyCount()
+    );
+
+    run(a, 60 * 30);
+    run(b, 60 * 30);
+    assertArrayEquals(a.snapshot().getState(), b.snapshot().getState());
+    assertArrayEquals(a.snapshot().getCandies(), b.snapshot().getCandies());
+  }
+
+  @Test
+  public void snapshotIntoReusedDoesNotAllocate() {
+    com.sun.management.ThreadMXBean threads =
+      (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    assumeTrue(threads.isThreadAllocatedMemorySupported());
+    threads.setThreadAllocatedMemoryEnabled(true);
+
+    PacManGame game = new PacManGame(new TileMapMaze(), SEED);
+    GameSnapshot reuse = game.snapshot();
+    for (int i = 0; i < 10_000; i++) game.snapshot(reuse);
+
+    long id = Thread.currentThread().getId();
+    long before = threads.getThreadAllocatedBytes(id);
+    for (int i = 0; i < 1_000; i++) game.snapshot(reuse);
+    long after = threads.getThreadAllocatedBytes(id);
+    assertEquals(0L, after - before);
+  }
+
+  @Test
+  public void rejectsMismatchedSnapshot() {
+    PacManGame game = new PacManGame(new TileMapMaze(), SEED);
+    long[] state = game.snapshot().getState();
+    state[0] = 2; //ghost count header.
+    GameSnapshot bad = new GameSnapshot(state, game.snapshot().getCandies());
+    assertThrows(IllegalArgumentException.class, () -> game.restore(bad));
+  }
+
+  private static void run(PacManGame game, int ticks) {
+    for (int i = 0; i < ticks && !game.isGameOver(); i++) game.update(STEP);
+  }
+}
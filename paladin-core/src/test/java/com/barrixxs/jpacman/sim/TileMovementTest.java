@@ -0,0 +1,106 @@
+package com.barrixxs.jpacman.sim;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.barrixxs.jpacman.entities.Entity;
+import com.barrixxs.jpacman.entities.Ghost;
+import com.barrixxs.jpacman.entities.Movement;
+import com.barrixxs.jpacman.entities.TileMapMaze;
+import com.barrixxs.jpacman.input.CandyBotInput;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Movement.TILE keeps everyone on the grid without snapping.
+ */
+public class TileMovementTest {
+
+  private static final float STEP = 1 / 60f;
+
+  /**
+   * every entity is always on a line between two tile centres (one of
+   * its coordinates is whole), never inside a wall, and every ghost
+   * gets out of the pen.
+   */
+  @Test
+  public void staysOnTheGrid() {
+    TileMapMaze maze = new TileMapMaze();
+    PacManGame game = new PacManGame(maze, 7L);
+    game.setMovement(Movement.TILE);
+    game.setInput(new CandyBotInput());
+
+    boolean[] left = new boolean[game.getGhosts().length];
+    for (int tick = 0; tick < 60 * 60 && !game.isGameOver(); tick++) {
+      game.update(STEP);
+      assertOnGrid(game.getPac(), tick);
+      assertFalse(
+        maze.overlapsWall(game.getPac().getX(), game.getPac().getY(), false),
+        "pac in a wall on tick " + tick
+      );
+      Ghost[] ghosts = game.getGhosts();
+      for (int i = 0; i < ghosts.length; i++) {
+        assertOnGrid(ghosts[i], tick);
+        assertFalse(
+          maze.overlapsWall(ghosts[i].getX(), ghosts[i].getY(), true),
+          "ghost " + i + " in a wall on tick " + tick
+        );
+        if (!maze.inPen(ghosts[i].getX(), ghosts[i].getY())) left[i] = true;
+      }
+    }
+    for (int i = 0; i < left.length; i++) assertTrue(left[i], "ghost " + i);
+    assertTrue(game.getCandiesEaten() > 0);
+  }
+
+  private static void assertOnGrid(Entity entity, int tick) {
+    float x = entity.getX();
+    float y = entity.getY();
+    assertTrue(
+      x == Math.round(x) || y == Math.round(y),
+      "off the grid on tick " + tick + ": " + x + ", " + y
+    );
+  }
+
+  /**
+   * the mode goes along with the snapshot.
+   */
+  @Test
+  public void snapshotKeepsTheMode() {
+    TileMapMaze template = new TileMapMaze();
+    PacManGame a = new PacManGame(new TileMapMaze(template), 3L);
+    a.setMovement(Movement.TILE);
+    a.setInput(new CandyBotInput());
+    for (int i = 0; i < 60 * 20; i++) a.update(STEP);
+
+    PacManGame b = new PacManGame(new TileMapMaze(template), 3L);
+    b.setInput(new CandyBotInput());
+    b.restore(a.snapshot());
+    assertEquals(Movement.TILE, b.getMovement());
+
+    for (int i = 0; i < 60 * 20; i++) {
+      a.update(STEP);
+      b.update(STEP);
+    }
+    assertArrayEquals(a.snapshot().getState(), b.snapshot().getState());
+  }
+
+  /**
+   * pac runs straight at his speed and stops dead on the tile centre
+   * in front of a wall.
+   */
+  @Test
+  public void stopsOnTheCentreBeforeAWall() {
+    PacManGame game = new PacManGame(new TileMapMaze(), 1L);
+    game.setMovement(Movement.TILE);
+    game.setPacDirection(-1f, 0f);
+    while (game.isStarting()) game.update(STEP);
+    for (int i = 0; i < 60 * 3; i++) game.update(STEP);
+
+    Entity pac = game.getPac();
+    assertEquals(0f, pac.getVelX());
+    assertEquals(Math.round(pac.getX()), pac.getX());
+    assertEquals(7f, pac.getY());
+    assertTrue(game.getMaze().isWall(Math.round(pac.getX()) - 1, 7));
+  }
+}
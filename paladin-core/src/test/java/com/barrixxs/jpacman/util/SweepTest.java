@@ -0,0 +1,57 @@
+package com.barrixxs.jpacman.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.badlogic.gdx.math.Rectangle;
+import org.junit.jupiter.api.Test;
+
+public class SweepTest {
+
+  /**
+   * boxes that swap places in one step never overlap at either end,
+   * but they went through each other.
+   */
+  @Test
+  public void catchesPassThrough() {
+    assertTrue(Sweep.boxes(0f, 0f, 5f, 0f, 1f, 1f, 5f, 0f, 0f, 0f, 0.8f, 0.8f));
+    //one standing still, the other jumping over it.
+    assertTrue(Sweep.boxes(3f, 0f, 3f, 0f, 1f, 1f, 0f, 0.5f, 9f, 0.5f, 0.8f, 0.8f));
+    //moving side by side never touches.
+    assertFalse(Sweep.boxes(0f, 0f, 5f, 0f, 1f, 1f, 0f, 2f, 5f, 2f, 0.8f, 0.8f));
+    //heading towards each other but stopping short.
+    assertFalse(Sweep.boxes(0f, 0f, 1f, 0f, 1f, 1f, 4f, 0f, 3f, 0f, 0.8f, 0.8f));
+  }
+
+  /**
+   * at the end of the step the sweep agrees with Rectangle.overlaps,
+   * touching edges don't count.
+   */
+  @Test
+  public void matchesRectanglesAtTheEnd() {
+    Rectangle a = new Rectangle(0f, 0f, 1f, 1f);
+    Rectangle b = new Rectangle(0f, 0f, 0.8f, 0.8f);
+    for (float x = -2f; x <= 2f; x += 0.1f) {
+      for (float y = -2f; y <= 2f; y += 0.1f) {
+        b.setPosition(x, y);
+        //b doesn't move, so only the end position matters.
+        assertEquals(
+          a.overlaps(b),
+          Sweep.boxes(0f, 0f, 0f, 0f, 1f, 1f, x, y, x, y, 0.8f, 0.8f),
+          "(" + x + ", " + y + ")"
+        );
+      }
+    }
+    assertFalse(Sweep.boxes(0f, 0f, 0f, 0f, 1f, 1f, 1f, 0f, 1f, 0f, 0.8f, 0.8f));
+  }
+
+  @Test
+  public void boxPointAlongPath() {
+    assertTrue(Sweep.boxPoint(0f, 0f, 10f, 0f, 1f, 1f, 5.5f, 0.5f));
+    assertFalse(Sweep.boxPoint(0f, 0f, 10f, 0f, 1f, 1f, 5.5f, 1.5f));
+    //edges count for points.
+    assertTrue(Sweep.boxPoint(0f, 0f, 0f, 0f, 1f, 1f, 1f, 1f));
+    assertFalse(Sweep.boxPoint(0f, 0f, 4f, 0f, 1f, 1f, 5.5f, 0.5f));
+  }
+}
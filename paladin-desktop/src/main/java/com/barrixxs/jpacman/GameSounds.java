@@ -0,0 +1,82 @@
+package com.barrixxs.jpacman;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.audio.Sound;
+import com.barrixxs.jpacman.sim.PacManGame;
+
+/**
+ * Plays the games sound effects.
+ *
+ * The simulation doesn't know anything about audio, so every frame
+ * we look at what the game is doing and start/stop sounds to match.
+ */
+public class GameSounds {
+
+  private Sound pacChomp;
+  private long pacChompID;
+  private Sound pacDeath;
+  private boolean pacDeathPlaying;
+  private Sound pacEatGhostSound;
+  private boolean pacEatGhostPlaying;
+
+  public GameSounds() {
+    this.pacChomp = Gdx.audio.newSound(
+      Gdx.files.internal("sounds/pacman_chomp.wav")
+    );
+    this.pacChompID = -1;
+    this.pacDeath = Gdx.audio.newSound(
+      Gdx.files.internal("sounds/pacman_death.mp3")
+    );
+    this.pacDeathPlaying = false;
+
+    this.pacEatGhostSound = Gdx.audio.newSound(
+      Gdx.files.internal("sounds/pacman_eat.mp3")
+    );
+    this.pacEatGhostPlaying = false;
+  }
+
+  /**
+   * Syncs the sounds with the current state of the game.
+   *
+   * call once per frame after the game has been updated.
+   *
+   * @param game the game we are playing sounds for.
+   */
+  public void update(PacManGame game) {
+    if (game.pacDying()) {
+      if (pacChompID != -1) pacChomp.pause(pacChompID);
+
+      if (!pacDeathPlaying) {
+        pacDeath.play();
+        pacDeathPlaying = true;
+      }
+      return;
+    } else if (pacDeathPlaying) {
+      pacDeathPlaying = false;
+      pacDeath.stop();
+    }
+
+    if (game.pacAteGhost()) {
+      if (!pacEatGhostPlaying) {
+        pacEatGhostSound.play();
+        pacEatGhostPlaying = true;
+      }
+    } else if (pacEatGhostPlaying) {
+      pacEatGhostPlaying = false;
+      pacEatGhostSound.stop();
+    }
+
+    if (game.isStarting()) return;
+
+    if (pacChompID == -1 && game.pacIsEating()) pacChompID = pacChomp.loop();
+
+    if (game.pacIsEating()) pacChomp.resume(pacChompID);
+    else if (pacChompID != -1) pacChomp.pause(pacChompID);
+  }
+
+  public void dispose() {
+    if (pacChomp != null) pacChomp.dispose();
+    if (pacDeath != null) pacDeath.dispose();
+    if (pacEatGhostSound != null) pacEatGhostSound.dispose();
+  }
+}
@@ -0,0 +1,50 @@
+package com.barrixxs.jpacman;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input.Keys;
+import com.barrixxs.jpacman.entities.Direction;
+import com.barrixxs.jpacman.input.InputSource;
+import com.barrixxs.jpacman.sim.PacManGame;
+
+/**
+ * Keyboard controls for pac.
+ *
+ * Really basic we just check standard four directional
+ * movement and pass it on to the game, once per tick.
+ *
+ * keys are ignored while pac can't move (starting, dying or frozen
+ * after eating a ghost), like when pac read them himself.
+ */
+public class KeyboardInput implements InputSource {
+
+  @Override
+  public Direction next(PacManGame game, long tick) {
+    if (game.isStarting() || game.pacDying() || game.pacFrozen()) return null;
+
+    //later checks win when more than one key is held.
+    Direction dir = null;
+    if (Gdx.input.isKeyPressed(Keys.W)) dir = Direction.UP;
+
+    if (Gdx.input.isKeyPressed(Keys.S)) dir = Direction.DOWN;
+
+    if (Gdx.input.isKeyPressed(Keys.A)) dir = Direction.LEFT;
+
+    if (Gdx.input.isKeyPressed(Keys.D)) dir = Direction.RIGHT;
+
+    return dir;
+  }
+
+  /**
+   * Returns true while the rewind key (backspace) is held.
+   */
+  public boolean rewinding() {
+    return Gdx.input.isKeyPressed(Keys.BACKSPACE);
+  }
+
+  /**
+   * Returns true on the frame the profiler overlay key (F3) goes down.
+   */
+  public boolean toggleProfiler() {
+    return Gdx.input.isKeyJustPressed(Keys.F3);
+  }
+}
@@ -0,0 +1,194 @@
+package com.barrixxs.jpacman;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.Texture.TextureFilter;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapLayers;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
+import com.badlogic.gdx.maps.tiled.tiles.AnimatedTiledMapTile;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.ScreenUtils;
+
+/**
+ * Draws the maze map, with the static layers baked into a texture.
+ *
+ * the walls never change so re-submitting every tile each frame is
+ * wasted work. Static tile layers are rendered once into a FrameBuffer
+ * (on load and whenever the window is resized, so it stays sharp) and
+ * then drawn as one quad. Layers that can change (animated tiles,
+ * layers with a "dynamic" property, anything that isn't a tile layer)
+ * are still drawn by the tiled renderer every frame.
+ *
+ * if the frame buffer can't be made, or -Dpaladin.bakemaze=false is
+ * set, everything falls back to the tiled renderer.
+ */
+public class MazeRenderer {
+
+  private final TiledMap map;
+  private final OrthogonalTiledMapRenderer tiledRenderer;
+  private final float worldWidth;
+  private final float worldHeight;
+
+  private final int[] staticLayers;
+  private final int[] dynamicLayers;
+  private final int[] allLayers;
+
+  private boolean bake;
+  private boolean dirty;
+  private float pixelsPerUnit;
+  private FrameBuffer frameBuffer;
+  private TextureRegion baked;
+  private final OrthographicCamera bakeCamera;
+
+  /**
+   * @param map the tiled map to draw.
+   * @param unitScale world units per map pixel.
+   */
+  public MazeRenderer(TiledMap map, float unitScale) {
+    this.map = map;
+    this.tiledRenderer = new OrthogonalTiledMapRenderer(map, unitScale);
+
+    int tilesWide = map.getProperties().get("width", Integer.class);
+    int tilesHigh = map.getProperties().get("height", Integer.class);
+    int tileWidth = map.getProperties().get("tilewidth", Integer.class);
+    int tileHeight = map.getProperties().get("tileheight", Integer.class);
+    this.worldWidth = tilesWide * tileWidth * unitScale;
+    this.worldHeight = tilesHigh * tileHeight * unitScale;
+
+    IntArray statics = new IntArray();
+    IntArray dynamics = new IntArray();
+    MapLayers layers = map.getLayers();
+    allLayers = new int[layers.size()];
+    for (int i = 0; i < layers.size(); i++) {
+      allLayers[i] = i;
+      if (isStatic(layers.get(i))) statics.add(i);
+      else dynamics.add(i);
+    }
+    this.staticLayers = statics.toArray();
+    this.dynamicLayers = dynamics.toArray();
+
+    this.bake = !"false".equals(System.getProperty("paladin.bakemaze"));
+    this.dirty = true;
+    this.pixelsPerUnit = 1f / unitScale; //map pixels until first resize.
+    this.bakeCamera = new OrthographicCamera();
+    this.bakeCamera.setToOrtho(false, worldWidth, worldHeight);
+  }
+
+  private static boolean isStatic(MapLayer layer) {
+    if (!(layer instanceof TiledMapTileLayer)) return false;
+    if (layer.getProperties().get("dynamic", false, Boolean.class)) {
+      return false;
+    }
+
+    TiledMapTileLayer tiles = (TiledMapTileLayer) layer;
+    for (int x = 0; x < tiles.getWidth(); x++) {
+      for (int y = 0; y < tiles.getHeight(); y++) {
+        TiledMapTileLayer.Cell cell = tiles.getCell(x, y);
+        if (cell == null || cell.getTile() == null) continue;
+        if (cell.getTile() instanceof AnimatedTiledMapTile) return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Re-bakes the static layers at the new screen resolution.
+   *
+   * @param pixelsPerUnit screen pixels per world unit.
+   */
+  public void resize(float pixelsPerUnit) {
+    if (pixelsPerUnit <= 0f) return;
+    this.pixelsPerUnit = pixelsPerUnit;
+    this.dirty = true;
+  }
+
+  /**
+   * Bakes the static layers if they are out of date.
+   *
+   * binding the frame buffer resets the gl viewport, so call this before
+   * applying the viewport for the frame.
+   */
+  public void bakeIfNeeded() {
+    if (bake && dirty) rebake();
+  }
+
+  /**
+   * Draws the maze.
+   *
+   * @param camera camera to draw through.
+   * @param batch batch used for the baked quad, must not be drawing.
+   */
+  public void render(OrthographicCamera camera, SpriteBatch batch) {
+    if (!bake) {
+      tiledRenderer.setView(camera);
+      tiledRenderer.render(allLayers);
+      return;
+    }
+
+    if (baked != null) {
+      batch.setProjectionMatrix(camera.combined);
+      batch.begin();
+      batch.draw(baked, 0f, 0f, worldWidth, worldHeight);
+      batch.end();
+    }
+
+    if (dynamicLayers.length > 0) {
+      tiledRenderer.setView(camera);
+      tiledRenderer.render(dynamicLayers);
+    }
+  }
+
+  private void rebake() {
+    dirty = false;
+    if (staticLayers.length == 0) return;
+
+    int width = Math.max(1, Math.round(worldWidth * pixelsPerUnit));
+    int height = Math.max(1, Math.round(worldHeight * pixelsPerUnit));
+
+    if (
+      frameBuffer == null ||
+      frameBuffer.getWidth() != width ||
+      frameBuffer.getHeight() != height
+    ) {
+      if (frameBuffer != null) frameBuffer.dispose();
+      frameBuffer = null;
+      baked = null;
+      try {
+        frameBuffer =
+          new FrameBuffer(Pixmap.Format.RGBA8888, width, height, false);
+      } catch (RuntimeException e) {
+        Gdx.app.error("MazeRenderer", "can't bake maze, not baking", e);
+        bake = false;
+        return;
+      }
+      Texture texture = frameBuffer.getColorBufferTexture();
+      texture.setFilter(TextureFilter.Nearest, TextureFilter.Nearest);
+      //frame buffer textures are upside down.
+      baked = new TextureRegion(texture);
+      baked.flip(false, true);
+    }
+
+    frameBuffer.begin();
+    ScreenUtils.clear(0, 0, 0, 0);
+    tiledRenderer.setView(bakeCamera);
+    tiledRenderer.render(staticLayers);
+    frameBuffer.end();
+  }
+
+  public TiledMap getMap() {
+    return this.map;
+  }
+
+  public void dispose() {
+    if (frameBuffer != null) frameBuffer.dispose();
+    tiledRenderer.dispose();
+  }
+}
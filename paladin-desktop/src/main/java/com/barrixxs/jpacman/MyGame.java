@@ -0,0 +1,432 @@
+package com.barrixxs.jpacman;
+
+import com.badlogic.gdx.Game;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TmxMapLoader;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.ScreenUtils;
+import com.badlogic.gdx.utils.viewport.ExtendViewport;
+import com.barrixxs.jpacman.jfr.HitchEvent;
+import com.barrixxs.jpacman.metrics.GameMetrics;
+import com.barrixxs.jpacman.metrics.PrometheusServer;
+import com.barrixxs.jpacman.prof.Profiler;
+import com.barrixxs.jpacman.replay.ReplayWriter;
+import com.barrixxs.jpacman.sim.FixedStepLoop;
+import com.barrixxs.jpacman.sim.GhostSpec;
+import com.barrixxs.jpacman.sim.PacManGame;
+import com.barrixxs.jpacman.sim.RewindBuffer;
+import com.barrixxs.jpacman.entities.Direction;
+import com.barrixxs.jpacman.entities.Entity;
+import com.barrixxs.jpacman.entities.Ghost;
+import com.barrixxs.jpacman.entities.Movement;
+import com.barrixxs.jpacman.entities.TileMapMaze;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+public class MyGame extends Game {
+
+  //game utilities
+  private SpriteBatch batch;
+  private ExtendViewport viewport;
+  private OrthographicCamera camera;
+  private MazeRenderer mazeRenderer;
+
+  private ShapeRenderer shapeRenderer; //DEBUG.
+
+  //game sprites, all on one atlas.
+  private Sprites sprites;
+
+  //game enviornment
+  private TileMapMaze maze;
+  private TiledMap mazeMap; //only used for drawing.
+  private PelletLayer pellets;
+
+  private PacManGame game;
+  private FixedStepLoop loop;
+  private KeyboardInput keyboard;
+  private ReplayWriter recorder; //only with -Dpaladin.record=<file>.
+  private RewindBuffer rewind; //null while recording or if turned off.
+  private GameSounds sounds;
+
+  //where the entity being rendered is drawn, reused every frame.
+  private final Vector2 drawPos = new Vector2();
+
+  /**
+   * Passes of a frame, as timed by the render profiler.
+   */
+  enum RenderPass {
+    SIM,
+    MAP,
+    PELLETS,
+    ENTITIES,
+  }
+
+  //both profilers run while the overlay is up, or all along with
+  //-Dpaladin.profile=<file.csv> which gets their numbers on exit.
+  private final Profiler<RenderPass> renderProfiler =
+    new Profiler<>("render", RenderPass.class);
+  private ProfilerOverlay overlay;
+  private boolean showOverlay;
+
+  //-Dpaladin.metrics=true publishes metrics over JMX, adding
+  //-Dpaladin.metrics.port=<port> serves them to prometheus too.
+  private GameMetrics metrics;
+  private ObjectName metricsMBean;
+  private PrometheusServer metricsServer;
+
+  //ticks scrubbed back per frame while rewinding.
+  private static final int REWIND_TICKS_PER_FRAME = 2;
+  private static final float DEFAULT_REWIND_SECONDS = 10f;
+
+  //frames longer than this are flight recorded as hitches.
+  private static final long HITCH_NANOS =
+    Long.getLong("paladin.hitchms", 50L) * 1_000_000L;
+
+  public MyGame() {
+    this(new FixedStepLoop());
+  }
+
+  /**
+   * @param loop fixed step loop used to drive the simulation.
+   */
+  public MyGame(FixedStepLoop loop) {
+    this.loop = loop;
+  }
+
+  @Override
+  public void create() {
+    // map width : 28
+    // map height: 31
+    // tile units 20x20
+
+    batch = new SpriteBatch();
+
+    camera = new OrthographicCamera();
+    camera.setToOrtho(false, 28, 31);
+
+    viewport = new ExtendViewport(28, 31, camera);
+
+    maze = new TileMapMaze();
+    mazeMap = new TmxMapLoader().load(TileMapMaze.DEFAULT_MAZE);
+    mazeRenderer = new MazeRenderer(mazeMap, maze.getUnitScale());
+
+    shapeRenderer = new ShapeRenderer();
+    //setup sprites (or assets ig?)
+    sprites = new Sprites();
+    pellets = new PelletLayer(
+      maze,
+      sprites.getCandy(),
+      sprites.getSuperCandy()
+    );
+
+    this.game = newGame(maze, Integer.getInteger("paladin.ghosts", 0));
+    game.setMovement(Movement.valueOf(
+      System.getProperty("paladin.movement", "float").toUpperCase(Locale.ROOT)
+    ));
+    this.keyboard = new KeyboardInput();
+    this.recorder = openRecording(System.getProperty("paladin.record"));
+    if (recorder != null) {
+      game.setInput(recorder);
+    } else {
+      game.setInput(keyboard);
+
+      //recordings are by tick, rewinding would scramble them.
+      float seconds = Float.parseFloat(System.getProperty(
+        "paladin.rewind",
+        Float.toString(DEFAULT_REWIND_SECONDS)
+      ));
+      int ticks = Math.round(seconds * loop.getTickRate());
+      if (ticks > 0) {
+        this.rewind = new RewindBuffer(ticks);
+        game.setRewindBuffer(rewind);
+      }
+    }
+    this.sounds = new GameSounds();
+
+    this.overlay = new ProfilerOverlay();
+    if (System.getProperty("paladin.profile") != null) setProfiling(true);
+    openMetrics();
+  }
+
+  /**
+   * Starts reporting metrics, if asked to.
+   */
+  private void openMetrics() {
+    Integer port = Integer.getInteger("paladin.metrics.port");
+    if (!Boolean.getBoolean("paladin.metrics") && port == null) return;
+    metrics = new GameMetrics();
+    game.setMetrics(metrics);
+    try {
+      metricsMBean =
+        metrics.getRegistry().registerMBean("com.barrixxs.jpacman:type=Metrics");
+    } catch (JMException e) {
+      Gdx.app.error("MyGame", "couldn't publish metrics over JMX", e);
+    }
+    if (port == null) return;
+    try {
+      metricsServer = PrometheusServer.start(metrics.getRegistry(), port);
+      Gdx.app.log(
+        "MyGame",
+        "metrics on http://localhost:" + metricsServer.getPort() + PrometheusServer.PATH
+      );
+    } catch (IOException e) {
+      Gdx.app.error("MyGame", "couldn't serve metrics on port " + port, e);
+    }
+  }
+
+  /**
+   * Game loop.
+   *
+   * we perform 3 general tasks: input, update, and draw.
+   * delta is retrieved here and fed into a fixed step loop, the game
+   * is updated zero or more times with a constant step and entities
+   * are drawn interpolated between the last two steps.
+   *
+   * this loop is responsible for clearing the screen,
+   * updating the camera, starting and ending any
+   * batches and renderers.
+   */
+  @Override
+  public void render() {
+    super.render();
+
+    final float delta = Gdx.graphics.getDeltaTime();
+
+    if(game.isGameOver())
+    {
+      Gdx.app.exit();
+      return;
+    }
+
+    if (keyboard.toggleProfiler()) {
+      showOverlay = !showOverlay;
+      boolean saving = System.getProperty("paladin.profile") != null;
+      //the overlay starts from scratch each time it's shown, unless the
+      //whole run is being profiled to a file.
+      if (showOverlay && !saving) {
+        game.getProfiler().reset();
+        renderProfiler.reset();
+      }
+      setProfiling(showOverlay || saving);
+    }
+
+    long t = renderProfiler.start();
+    if (rewind != null && keyboard.rewinding()) {
+      //scrub back instead of stepping, time doesn't build up meanwhile.
+      rewind.rewind(game, REWIND_TICKS_PER_FRAME);
+      loop.reset();
+    } else {
+      int steps = loop.advance(delta);
+      long frameNanos = (long) (delta * 1e9);
+      if (frameNanos > HITCH_NANOS) HitchEvent.emit(frameNanos, HITCH_NANOS, steps);
+      for (int i = 0; i < steps && !game.isGameOver(); i++) {
+        game.update(loop.getStepDelta());
+      }
+    }
+    sounds.update(game);
+    t = renderProfiler.lap(RenderPass.SIM, t);
+    long renderStart = metrics != null ? System.nanoTime() : 0L;
+    final float alpha = loop.getAlpha();
+
+    //r g b a clearDepthBuffer
+    ScreenUtils.clear(0, 0, 0, 1, true);
+
+    camera.position.set(28f / 2f, 31f / 2f, 0);
+    camera.update();
+
+    //render maze (static layers are baked once, see MazeRenderer).
+    mazeRenderer.bakeIfNeeded();
+    viewport.apply();
+    mazeRenderer.render(camera, batch);
+    t = renderProfiler.lap(RenderPass.MAP, t);
+
+    //render pellets (cached, one draw call).
+    pellets.draw(camera.combined);
+    t = renderProfiler.lap(RenderPass.PELLETS, t);
+
+    /* batch draw order
+     * - ghosts BOTTOM LAYER
+     * - pac
+     * - hud (ready screen only rn) TOP LAYER
+     */
+    batch.setProjectionMatrix(camera.combined);
+    batch.begin();
+
+    Ghost[] ghosts = game.getGhosts();
+    for (Ghost ghost : ghosts) renderGhost(ghost, alpha);
+
+    renderPac(game.getPac(), alpha);
+
+    if (game.isStarting()) batch.draw(sprites.getReady(), 11, 12, 7, 2);
+
+    batch.end();
+    renderProfiler.lap(RenderPass.ENTITIES, t);
+    if (metrics != null) metrics.frame(System.nanoTime() - renderStart);
+
+    if (showOverlay) overlay.draw(batch, delta, game.getProfiler(), renderProfiler);
+  }
+
+  /**
+   * Turns both the simulation and render profilers on or off.
+   */
+  private void setProfiling(boolean on) {
+    game.getProfiler().setEnabled(on);
+    renderProfiler.setEnabled(on);
+  }
+
+  private void renderPac(Entity pac, float alpha) {
+    //define draw data.
+    Vector2 pos = pac.getInterpolatedPos(alpha, drawPos);
+    float drawW = 1.5f;
+    float drawH = 1.5f;
+
+    //shrink pac as he dies
+    if (game.pacDying()) {
+      drawW -= game.getDiedTime();
+      drawH -= game.getDiedTime();
+      if (drawW < 0f) drawW = 0f;
+      if (drawH < 0f) drawH = 0f;
+    }
+
+    //center the drawing.
+    float drawX = pos.x - (drawW - 1f) / 2;
+    float drawY = pos.y - (drawH - 1f) / 2;
+
+    Direction dir = Direction.of(pac.getVelX(), pac.getVelY());
+    TextureRegion frame = sprites.pacFrame(dir, pac.getStateTime());
+    batch.draw(frame, drawX, drawY, drawW, drawH);
+  }
+
+  private void renderGhost(Ghost ghost, float alpha) {
+    float drawW = 1.75f;
+    float drawH = 1.75f;
+    Vector2 pos = ghost.getInterpolatedPos(alpha, drawPos);
+    float drawX = pos.x - (drawW - 1f) / 2;
+    float drawY = pos.y - (drawH - 1f) / 2;
+
+    Direction dir = Direction.of(ghost.getVelX(), ghost.getVelY());
+    TextureRegion frame = sprites.ghostFrame(ghost, dir);
+    batch.draw(frame, drawX, drawY, drawW, drawH);
+  }
+
+  @Override
+  public void resize(int width, int height) {
+    super.resize(width, height);
+    viewport.update(width, height, true);
+    if (viewport.getWorldWidth() > 0f) {
+      mazeRenderer.resize(viewport.getScreenWidth() / viewport.getWorldWidth());
+    }
+    if (overlay != null) overlay.resize(width, height);
+  }
+
+  /**
+   * Builds the classic game, or an arena full of ghosts.
+   *
+   * @param ghosts number of arena ghosts, 0 for the classic four.
+   */
+  private static PacManGame newGame(TileMapMaze maze, int ghosts) {
+    if (ghosts <= 0) return new PacManGame(maze);
+    return new PacManGame(
+      maze,
+      new SplittableRandom().nextLong(),
+      GhostSpec.arena(maze, ghosts)
+    );
+  }
+
+  /**
+   * Starts streaming the session to a replay file.
+   *
+   * @param path file to write, null to not record.
+   * @return the writer, or null if not recording.
+   */
+  private ReplayWriter openRecording(String path) {
+    if (path == null) return null;
+    if (game.getGhosts().length != GhostSpec.classic().length) {
+      //replays are always played back with the classic ghosts.
+      Gdx.app.error("MyGame", "arena games can't be recorded");
+      return null;
+    }
+    Path file = Path.of(path);
+    try {
+      return new ReplayWriter(
+        Files.newOutputStream(file),
+        keyboard,
+        loop.getStepDelta()
+      );
+    } catch (IOException e) {
+      Gdx.app.error("MyGame", "couldn't record to " + file, e);
+      return null;
+    }
+  }
+
+  /**
+   * Finishes the replay file, if we were recording.
+   *
+   * replay it headless with input.ReplayMain.
+   */
+  private void saveRecording() {
+    if (recorder == null) return;
+    String file = System.getProperty("paladin.record");
+    try {
+      recorder.close();
+      Gdx.app.log("MyGame", "recorded " + game.getTick() + " ticks to " + file);
+    } catch (IOException e) {
+      Gdx.app.error("MyGame", "couldn't write recording to " + file, e);
+    }
+  }
+
+  /**
+   * Writes the profilers numbers, if asked to with -Dpaladin.profile.
+   */
+  private void saveProfile() {
+    String file = System.getProperty("paladin.profile");
+    if (file == null || game == null) return;
+    try (Writer out = Files.newBufferedWriter(Path.of(file))) {
+      Profiler.writeCsvHeader(out);
+      game.getProfiler().writeCsv(out);
+      renderProfiler.writeCsv(out);
+      Gdx.app.log("MyGame", "wrote profile to " + file);
+    } catch (IOException e) {
+      Gdx.app.error("MyGame", "couldn't write profile to " + file, e);
+    }
+  }
+
+  @Override
+  public void dispose() {
+    super.dispose();
+    saveRecording();
+    saveProfile();
+    if (batch != null) batch.dispose();
+    if (shapeRenderer != null) shapeRenderer.dispose();
+    if (sprites != null) sprites.dispose();
+    if (pellets != null) pellets.dispose();
+    if (mazeRenderer != null) mazeRenderer.dispose();
+    if (mazeMap != null) mazeMap.dispose();
+    if (sounds != null) sounds.dispose();
+    if (overlay != null) overlay.dispose();
+    if (metricsServer != null) metricsServer.close();
+    closeMetricsMBean();
+  }
+
+  private void closeMetricsMBean() {
+    if (metricsMBean == null) return;
+    try {
+      ManagementFactory.getPlatformMBeanServer().unregisterMBean(metricsMBean);
+    } catch (JMException e) {
+      Gdx.app.error("MyGame", "couldn't unpublish metrics from JMX", e);
+    }
+    metricsMBean = null;
+  }
+}
@@ -0,0 +1,165 @@
+package com.barrixxs.jpacman;
+
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Matrix4;
+import com.barrixxs.jpacman.entities.Maze;
+import java.util.Arrays;
+
+/**
+ * Draws the mazes pellets from cached vertex buffers.
+ *
+ * the maze is cut into bands of BAND_ROWS rows and each band's pellets
+ * are one cache in a SpriteCache, so the layer is a handful of draw
+ * calls. When a pellet is eaten only the band it was in is redefined,
+ * every other band (and every frame nothing was eaten) just re-submits
+ * the cached vertices.
+ *
+ * a band can't grow past the pellets it had when the layer was made
+ * (that's how SpriteCache redefines a cache), so the layer should be
+ * made from a full maze. If a band ever needs more, everything is
+ * rebuilt from scratch.
+ */
+public class PelletLayer {
+
+  //rows per band, smaller bands rebuild less but draw in more calls.
+  private static final int BAND_ROWS = 4;
+
+  private final Maze maze;
+  private final TextureRegion candySprite;
+  private final TextureRegion superCandySprite;
+  private final SpriteCache cache;
+
+  //per band, cache id (-1 for none), most pellets it can hold, and
+  //the pellet count and position sum it was last built with.
+  private final int[] bandIDs;
+  private final int[] bandCapacity;
+  private final int[] bandCount;
+  private final long[] bandSum;
+  private final int[] tallyCount;
+  private final long[] tallySum;
+  private final Maze.CandyVisitor tally;
+  private final Maze.CandyVisitor addCandy;
+  private int rebuildBand;
+  private int cachedCount;
+
+  /**
+   * @param maze maze whose candies are drawn, should still be full.
+   * @param candySprite sprite for a regular candy.
+   * @param superCandySprite sprite for a super candy.
+   */
+  public PelletLayer(
+    Maze maze,
+    TextureRegion candySprite,
+    TextureRegion superCandySprite
+  ) {
+    this.maze = maze;
+    this.candySprite = candySprite;
+    this.superCandySprite = superCandySprite;
+    this.cache = new SpriteCache(Math.max(1, maze.getInitialCandyCount()), false);
+
+    int bands = (maze.getHeight() + BAND_ROWS - 1) / BAND_ROWS;
+    this.bandIDs = new int[bands];
+    this.bandCapacity = new int[bands];
+    this.bandCount = new int[bands];
+    this.bandSum = new long[bands];
+    this.tallyCount = new int[bands];
+    this.tallySum = new long[bands];
+    this.tally = (x, y, isSuper) -> {
+      int band = y / BAND_ROWS;
+      tallyCount[band]++;
+      tallySum[band] += key(x, y);
+    };
+    this.addCandy = (x, y, isSuper) -> {
+      if (y / BAND_ROWS != rebuildBand) return;
+      TextureRegion sprite = isSuper ? this.superCandySprite : this.candySprite;
+      cache.add(sprite, x, y, 1, 1);
+    };
+    rebuildAll();
+  }
+
+  /**
+   * Redefines the bands whose candies changed since the last draw and
+   * draws the layer.
+   *
+   * @param projection camera projection to draw with.
+   */
+  public void draw(Matrix4 projection) {
+    int count = maze.getCurrentCandyCount();
+    if (count != cachedCount) update(count);
+    if (count == 0) return;
+
+    cache.setProjectionMatrix(projection);
+    cache.begin();
+    for (int band = 0; band < bandIDs.length; band++) {
+      if (bandCount[band] > 0) cache.draw(bandIDs[band]);
+    }
+    cache.end();
+  }
+
+  /**
+   * Forces the next draw to look at every band again.
+   */
+  public void invalidate() {
+    cachedCount = -1;
+    Arrays.fill(bandSum, -1L);
+  }
+
+  private void update(int count) {
+    tally();
+    for (int band = 0; band < bandIDs.length; band++) {
+      if (tallyCount[band] > bandCapacity[band]) {
+        //more pellets than the band was made for, start over.
+        rebuildAll();
+        return;
+      }
+    }
+    for (int band = 0; band < bandIDs.length; band++) {
+      if (tallyCount[band] == bandCount[band] && tallySum[band] == bandSum[band]) {
+        continue;
+      }
+      if (bandIDs[band] >= 0) {
+        rebuildBand = band;
+        cache.beginCache(bandIDs[band]);
+        maze.forEachCandy(addCandy);
+        bandIDs[band] = cache.endCache();
+      }
+      bandCount[band] = tallyCount[band];
+      bandSum[band] = tallySum[band];
+    }
+    cachedCount = count;
+  }
+
+  private void rebuildAll() {
+    tally();
+    cache.clear();
+    for (int band = 0; band < bandIDs.length; band++) {
+      bandCapacity[band] = tallyCount[band];
+      bandCount[band] = tallyCount[band];
+      bandSum[band] = tallySum[band];
+      //a band with nothing in it never gets a cache (or anything to draw).
+      bandIDs[band] = -1;
+      if (tallyCount[band] == 0) continue;
+      rebuildBand = band;
+      cache.beginCache();
+      maze.forEachCandy(addCandy);
+      bandIDs[band] = cache.endCache();
+    }
+    cachedCount = maze.getCurrentCandyCount();
+  }
+
+  private void tally() {
+    Arrays.fill(tallyCount, 0);
+    Arrays.fill(tallySum, 0L);
+    maze.forEachCandy(tally);
+  }
+
+  //tells apart which pellets a band has, not just how many.
+  private long key(int x, int y) {
+    return (long) y * maze.getWidth() + x + 1;
+  }
+
+  public void dispose() {
+    cache.dispose();
+  }
+}
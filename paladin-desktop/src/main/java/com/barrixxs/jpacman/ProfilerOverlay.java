@@ -0,0 +1,100 @@
+package com.barrixxs.jpacman;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.viewport.ScreenViewport;
+import com.barrixxs.jpacman.prof.Histogram;
+import com.barrixxs.jpacman.prof.JvmStats;
+import com.barrixxs.jpacman.prof.Profiler;
+import java.util.Locale;
+
+/**
+ * Debug overlay with the profilers numbers (F3 toggles it).
+ *
+ * shows p50/p99/max per section since the profilers were last reset
+ * (MyGame resets them when F3 shows the overlay, unless -Dpaladin.profile
+ * is recording the whole run), garbage collections and how fast the
+ * game thread allocates. The
+ * text is only rebuilt a couple of times a second, so reading it
+ * doesn't cost much more than drawing it.
+ */
+public class ProfilerOverlay {
+
+  private static final float REFRESH_SECONDS = 0.5f;
+  private static final float MARGIN = 8f;
+
+  private final BitmapFont font;
+  private final ScreenViewport viewport;
+  private final StringBuilder text;
+  private final JvmStats jvm;
+  private float sinceRefresh;
+
+  public ProfilerOverlay() {
+    this.font = new BitmapFont();
+    font.setColor(Color.WHITE);
+    this.viewport = new ScreenViewport();
+    this.text = new StringBuilder(1024);
+    this.jvm = new JvmStats();
+    this.sinceRefresh = REFRESH_SECONDS;
+  }
+
+  public void resize(int width, int height) {
+    viewport.update(width, height, true);
+  }
+
+  /**
+   * Draws the overlay in screen pixels, top left.
+   *
+   * @param batch batch to draw with, not drawing yet.
+   * @param delta time since the last frame.
+   */
+  public void draw(SpriteBatch batch, float delta, Profiler<?>... profilers) {
+    sinceRefresh += delta;
+    if (sinceRefresh >= REFRESH_SECONDS) {
+      sinceRefresh = 0f;
+      jvm.sample();
+      rebuild(profilers);
+    }
+    viewport.apply();
+    batch.setProjectionMatrix(viewport.getCamera().combined);
+    batch.begin();
+    font.draw(batch, text, MARGIN, viewport.getWorldHeight() - MARGIN);
+    batch.end();
+  }
+
+  private void rebuild(Profiler<?>[] profilers) {
+    text.setLength(0);
+    text.append("us          p50     p99     max\n");
+    for (Profiler<?> profiler : profilers) row(profiler);
+    text.append("gc ").append(jvm.getGcCount())
+      .append(" (").append(jvm.getGcMillis()).append("ms)  alloc ");
+    fixed(jvm.getAllocationRate() / (1024.0 * 1024.0));
+    text.append(" MB/s");
+  }
+
+  private <E extends Enum<E>> void row(Profiler<E> profiler) {
+    for (E section : profiler.getSections()) {
+      Histogram h = profiler.get(section);
+      if (h == null) continue;
+      text.append(profiler.getName()).append('.')
+        .append(section.name().toLowerCase(Locale.ROOT)).append("  ");
+      fixed(h.getValueAtPercentile(50.0) / 1e3);
+      text.append("  ");
+      fixed(h.getValueAtPercentile(99.0) / 1e3);
+      text.append("  ");
+      fixed(h.getMax() / 1e3);
+      text.append('\n');
+    }
+  }
+
+  //one decimal, without going through String.format.
+  private void fixed(double value) {
+    long tenths = Math.round(value * 10.0);
+    text.append(tenths / 10).append('.').append(tenths % 10);
+  }
+
+  public void dispose() {
+    font.dispose();
+  }
+}
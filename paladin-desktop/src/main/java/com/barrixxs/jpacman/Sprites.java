@@ -0,0 +1,167 @@
+package com.barrixxs.jpacman;
+
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.barrixxs.jpacman.entities.Direction;
+import com.barrixxs.jpacman.entities.Ghost;
+
+/**
+ * Every sprite the game draws, looked up from tables.
+ *
+ * all sprites live on one atlas page (sprites/sprites.atlas, packed
+ * from assets-raw/sprites with the pack-sprites profile) so drawing
+ * every entity binds a single texture. The sheets are 20x20 frames
+ * stacked vertically, they are split back into frames here and stored
+ * by entity, state and direction (Direction.ordinal()).
+ */
+public class Sprites {
+
+  public static final String ATLAS = "sprites/sprites.atlas";
+
+  /**
+   * Atlas region of each ghosts sheet, by Personality ordinal.
+   */
+  private static final String[] GHOST_SHEETS = {
+    "blinky",
+    "pinky",
+    "inky",
+    "clyde",
+  };
+
+  private static final int FRAME = 20; //frame size in pixels.
+  private static final float PAC_INTERVAL = 0.25f;
+  private static final float GHOST_INTERVAL = 0.15f;
+
+  private final TextureAtlas atlas;
+
+  private final TextureRegion[][] pac; //[direction][frame]
+  private final TextureRegion pacSolid;
+  private final TextureRegion[][][] ghosts; //[ghost][direction][frame]
+  private final TextureRegion[] ate; //[direction]
+  private final TextureRegion[] fright; //[frame]
+
+  private final TextureRegion candy;
+  private final TextureRegion superCandy;
+  private final TextureRegion ready;
+
+  public Sprites() {
+    this(new TextureAtlas(ATLAS));
+  }
+
+  /**
+   * @param atlas atlas holding the sprite sheets, owned by this object.
+   */
+  public Sprites(TextureAtlas atlas) {
+    this.atlas = atlas;
+
+    //pac sheet rows: 0-1 down, 2-3 left, 4-5 right, 7-8 up, 15 solid.
+    TextureRegion[] pacRows = frames("pac");
+    pacSolid = pacRows[15];
+    pac = new TextureRegion[Direction.ALL.length][];
+    pac[Direction.DOWN.ordinal()] =
+      new TextureRegion[] { pacSolid, pacRows[0], pacRows[1] };
+    pac[Direction.LEFT.ordinal()] =
+      new TextureRegion[] { pacSolid, pacRows[2], pacRows[3] };
+    pac[Direction.RIGHT.ordinal()] =
+      new TextureRegion[] { pacSolid, pacRows[4], pacRows[5] };
+    pac[Direction.UP.ordinal()] =
+      new TextureRegion[] { pacSolid, pacRows[7], pacRows[8] };
+
+    //ghost sheet rows: 0-1 down, 2-3 left, 4-5 right, 6-7 up.
+    ghosts = new TextureRegion[GHOST_SHEETS.length][][];
+    for (int i = 0; i < GHOST_SHEETS.length; i++) {
+      TextureRegion[] rows = frames(GHOST_SHEETS[i]);
+      ghosts[i] = new TextureRegion[Direction.ALL.length][];
+      ghosts[i][Direction.DOWN.ordinal()] =
+        new TextureRegion[] { rows[0], rows[1] };
+      ghosts[i][Direction.LEFT.ordinal()] =
+        new TextureRegion[] { rows[2], rows[3] };
+      ghosts[i][Direction.RIGHT.ordinal()] =
+        new TextureRegion[] { rows[4], rows[5] };
+      ghosts[i][Direction.UP.ordinal()] =
+        new TextureRegion[] { rows[6], rows[7] };
+    }
+
+    //ate sheet rows: down, left, right, up.
+    TextureRegion[] ateRows = frames("ate");
+    ate = new TextureRegion[Direction.ALL.length];
+    ate[Direction.DOWN.ordinal()] = ateRows[0];
+    ate[Direction.LEFT.ordinal()] = ateRows[1];
+    ate[Direction.RIGHT.ordinal()] = ateRows[2];
+    ate[Direction.UP.ordinal()] = ateRows[3];
+
+    //first two are regular blue frightened, last 2 are lightly
+    // colored (for flashes). this sheet isn't direction specific.
+    TextureRegion[] frightRows = frames("fright");
+    fright = new TextureRegion[] {
+      frightRows[2],
+      frightRows[3],
+      frightRows[0],
+      frightRows[1],
+    };
+
+    candy = atlas.findRegion("pellet");
+    superCandy = atlas.findRegion("super-pellet");
+    ready = atlas.findRegion("ready");
+  }
+
+  /**
+   * Splits a vertical sheet into its 20x20 frames, top to bottom.
+   */
+  private TextureRegion[] frames(String sheet) {
+    TextureRegion region = atlas.findRegion(sheet);
+    if (region == null) {
+      throw new IllegalStateException("missing sprite sheet: " + sheet);
+    }
+    TextureRegion[][] grid = region.split(FRAME, FRAME);
+    TextureRegion[] rows = new TextureRegion[grid.length];
+    for (int i = 0; i < grid.length; i++) rows[i] = grid[i][0];
+    return rows;
+  }
+
+  /**
+   * @param dir direction pac is moving in, null if he is standing still.
+   * @param stateTime pacs state time.
+   */
+  public TextureRegion pacFrame(Direction dir, float stateTime) {
+    if (dir == null) return pacSolid;
+    TextureRegion[] frames = pac[dir.ordinal()];
+    return frames[(int) (stateTime / PAC_INTERVAL) % frames.length];
+  }
+
+  /**
+   * @param ghost the ghost, its personality picks the colors.
+   * @param dir direction the ghost is moving in, null if it isn't.
+   */
+  public TextureRegion ghostFrame(Ghost ghost, Direction dir) {
+    int frame = (int) (ghost.getStateTime() / GHOST_INTERVAL);
+    if (ghost.isFrightened()) return fright[frame % fright.length];
+
+    //draw a still up sprite if it isn't moving.
+    if (dir == null) {
+      dir = Direction.UP;
+      frame = 0;
+    }
+    if (ghost.isAte()) return ate[dir.ordinal()];
+
+    TextureRegion[] frames =
+      ghosts[ghost.getPersonality().ordinal()][dir.ordinal()];
+    return frames[frame % frames.length];
+  }
+
+  public TextureRegion getCandy() {
+    return this.candy;
+  }
+
+  public TextureRegion getSuperCandy() {
+    return this.superCandy;
+  }
+
+  public TextureRegion getReady() {
+    return this.ready;
+  }
+
+  public void dispose() {
+    atlas.dispose();
+  }
+}